@@ -0,0 +1,194 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.cache;
+
+import org.keycloak.models.KeycloakSession;
+import org.keycloak.models.cache.CacheRealmProvider;
+
+import io.micrometer.core.instrument.Metrics;
+
+import java.lang.reflect.Field;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.CustomLog;
+import lombok.Getter;
+
+/**
+ * Accounts cache invalidation events caused by the forming. Every write to a cached model (realm, client, client
+ * scope, role, group) registers an invalidation event in the realm cache session, and the events are sent across
+ * the cluster when the transaction is committed. A forming of an unchanged definition is expected to cause no
+ * invalidation at all, hence the counts are a direct indicator of unnecessary writes.
+ * The tracker reads the number of pending events of the realm cache session before and after a former is executed.
+ * Counts of formers are exclusive (nested formers are not counted to their parent), counts of realms are inclusive.
+ * When the realm cache is not available (disabled cache, different implementation), the tracker counts nothing.
+ *
+ * @author Majlanky
+ */
+@CustomLog
+public class InvalidationTracker {
+
+    private static final String INVALIDATION_EVENTS_FIELD = "invalidationEvents";
+    private static final String METRIC_NAME = "keycloakform.cache.invalidations";
+    private static final boolean MICROMETER_PRESENT = isClassPresent("io.micrometer.core.instrument.Metrics");
+
+    private final Collection<?> invalidationEvents;
+    private final long initialCount;
+    private final Deque<Frame> formers = new ArrayDeque<>();
+    private final Deque<Frame> realms = new ArrayDeque<>();
+    @Getter
+    private final Map<String, Long> byFormer = new LinkedHashMap<>();
+    @Getter
+    private final Map<String, Long> byRealm = new LinkedHashMap<>();
+    private final Map<String, Map<String, Long>> byRealmAndFormer = new LinkedHashMap<>();
+
+    InvalidationTracker(Collection<?> invalidationEvents) {
+        this.invalidationEvents = invalidationEvents;
+        this.initialCount = currentCount();
+    }
+
+    /**
+     * Creates a tracker of invalidations of the given session.
+     *
+     * @param session session the forming is running in
+     * @return tracker, never null. The tracker does not count anything when the realm cache is not available.
+     */
+    public static InvalidationTracker of(KeycloakSession session) {
+        //not typed to avoid checked cast of whatever the provider is
+        Object provider = session.getProvider(CacheRealmProvider.class);
+        Collection<?> events = provider == null ? null : readInvalidationEvents(provider);
+        if (events == null) {
+            log.debug("Realm cache session is not available, cache invalidations will not be counted");
+        }
+        return new InvalidationTracker(events);
+    }
+
+    public boolean isActive() {
+        return invalidationEvents != null;
+    }
+
+    public void enterFormer(String former) {
+        formers.push(new Frame(former, currentCount()));
+    }
+
+    public void exitFormer() {
+        Frame frame = formers.pop();
+        long total = currentCount() - frame.start;
+        long exclusive = total - frame.nested;
+        if (!formers.isEmpty()) {
+            formers.peek().nested += total;
+        }
+        if (exclusive > 0) {
+            byFormer.merge(frame.name, exclusive, Long::sum);
+            String realm = realms.isEmpty() ? "" : realms.peek().name;
+            byRealmAndFormer.computeIfAbsent(realm, r -> new LinkedHashMap<>()).merge(frame.name, exclusive, Long::sum);
+        }
+    }
+
+    public void enterRealm(String realm) {
+        realms.push(new Frame(realm, currentCount()));
+    }
+
+    public void exitRealm() {
+        Frame frame = realms.pop();
+        byRealm.merge(frame.name, currentCount() - frame.start, Long::sum);
+    }
+
+    /**
+     * @return number of invalidation events registered since the tracker creation
+     */
+    public long getTotal() {
+        return currentCount() - initialCount;
+    }
+
+    /**
+     * Logs the summary of the counted invalidations.
+     */
+    public void report() {
+        if (!isActive()) {
+            return;
+        }
+        log.infof("Forming caused %d cache invalidation events, by realm %s, by former %s", getTotal(), byRealm, byFormer);
+    }
+
+    /**
+     * Publishes counted invalidations as Micrometer counter tagged by realm and former. Nothing is published when
+     * Micrometer is not on the classpath.
+     */
+    public void publish() {
+        if (!isActive() || !MICROMETER_PRESENT) {
+            return;
+        }
+        byRealmAndFormer.forEach((realm, counts) -> counts.forEach(
+            (former, count) -> MicrometerPublisher.increment(realm, former, count)));
+    }
+
+    private long currentCount() {
+        return invalidationEvents == null ? 0 : invalidationEvents.size();
+    }
+
+    private static Collection<?> readInvalidationEvents(Object provider) {
+        for (Class<?> clazz = provider.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
+            try {
+                Field field = clazz.getDeclaredField(INVALIDATION_EVENTS_FIELD);
+                field.setAccessible(true);
+                return field.get(provider) instanceof Collection<?> events ? events : null;
+            } catch (NoSuchFieldException e) {
+                //field can be declared by a superclass
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                log.debugf(e, "Unable to read invalidation events of %s", provider.getClass().getName());
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isClassPresent(String className) {
+        try {
+            Class.forName(className, false, InvalidationTracker.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static class Frame {
+
+        private final String name;
+        private final long start;
+        private long nested;
+
+        private Frame(String name, long start) {
+            this.name = name;
+            this.start = start;
+        }
+    }
+
+    /**
+     * Isolates Micrometer classes, so they are loaded only when Micrometer is present.
+     */
+    private static class MicrometerPublisher {
+
+        private static void increment(String realm, String former, long count) {
+            Metrics.counter(METRIC_NAME, "realm", realm, "former", former).increment(count);
+        }
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.checkpoint;
+
+import com.groocraft.keycloakform.exception.DefinitionFileReadingException;
+
+import org.keycloak.util.JsonSerialization;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import lombok.CustomLog;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Progress of the forming persisted to a file, so a forming interrupted by a failure resumes where it stopped. The
+ * checkpoint holds the key of the forming, the hash of the definition file and of the scope (the effective filter),
+ * and the realms formed and committed so far; it is written after every commit and removed once the forming is
+ * completed. A checkpoint of a different definition or scope is ignored, hence the forming starts from scratch
+ * whenever the definition or the filter changes.
+ *
+ * @author Majlanky
+ */
+@CustomLog
+public class FormingCheckpoint {
+
+    private final Path file;
+    @Getter
+    private final String formingKey;
+    private final Set<String> formedRealms = new LinkedHashSet<>();
+
+    private FormingCheckpoint(Path file, String formingKey) {
+        this.file = file;
+        this.formingKey = formingKey;
+    }
+
+    /**
+     * Loads the checkpoint of the definition, previously formed realms are taken over only when the checkpoint was
+     * written for the same definition and scope.
+     *
+     * @param file           checkpoint file, it does not need to exist
+     * @param definitionFile definition the forming follows
+     * @param scope          textual form of the effective filter of the forming
+     * @return checkpoint of the definition
+     */
+    public static FormingCheckpoint load(Path file, Path definitionFile, String scope) {
+        FormingCheckpoint checkpoint = new FormingCheckpoint(file, hash(definitionFile, scope));
+        if (Files.exists(file)) {
+            try (InputStream is = Files.newInputStream(file)) {
+                State state = JsonSerialization.readValue(is, State.class);
+                if (checkpoint.formingKey.equals(state.getFormingKey())) {
+                    checkpoint.formedRealms.addAll(state.getFormedRealms());
+                    log.infof("Forming resumes from the checkpoint %s, already formed realms %s", file,
+                        checkpoint.formedRealms);
+                } else {
+                    log.infof("Checkpoint %s belongs to another definition or filter, forming starts from scratch", file);
+                }
+            } catch (IOException e) {
+                log.warnf("Unable to read checkpoint %s, forming starts from scratch: %s", file, e.getMessage());
+            }
+        }
+        return checkpoint;
+    }
+
+    public boolean isFormed(String realm) {
+        return formedRealms.contains(realm);
+    }
+
+    public Set<String> getFormedRealms() {
+        return Set.copyOf(formedRealms);
+    }
+
+    /**
+     * Records the committed realm. The file is replaced at once, so the checkpoint is never read partially written.
+     */
+    public void realmFormed(String realm) {
+        formedRealms.add(realm);
+        State state = new State();
+        state.setFormingKey(formingKey);
+        state.setFormedRealms(new ArrayList<>(formedRealms));
+        try {
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temporary, JsonSerialization.writeValueAsBytes(state));
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write checkpoint " + file, e);
+        }
+    }
+
+    /**
+     * Removes the checkpoint, the next start forms everything again.
+     */
+    public void completed() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warnf("Unable to remove checkpoint %s: %s", file, e.getMessage());
+        }
+    }
+
+    static String hash(Path definitionFile, String scope) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        try (InputStream is = new DigestInputStream(Files.newInputStream(definitionFile), digest)) {
+            is.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new DefinitionFileReadingException("Unable to hash " + definitionFile.toAbsolutePath(), e);
+        }
+        digest.update(scope.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    static class State {
+
+        private String formingKey;
+        private List<String> formedRealms = new ArrayList<>();
+
+    }
+}
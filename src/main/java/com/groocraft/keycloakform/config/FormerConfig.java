@@ -27,5 +27,21 @@ public class FormerConfig {
 
     private boolean dryRun;
     private String sourceFile;
+    private boolean nativeImport;
+    private boolean bulkMode;
+    private int bulkBatchSize;
+    private int bulkFlushInterval;
+    private boolean tracing;
+    private String tracingFile;
+    private boolean async;
+    private boolean asyncPerRealm;
+    private long driftInterval;
+    private long driftCpuBudget;
+    private String driftReportFile;
+    private long incrementalInterval;
+    private String checkpointFile;
+    private int keyGenerationThreads;
+    @Builder.Default
+    private ResourceFilter filter = ResourceFilter.ALL;
 
 }
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.groocraft.keycloakform.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Include and exclude filters narrowing the forming to a part of the definition. A filter is written as entries
+ * separated by semicolons, every entry is {@code kind=pattern[,pattern]}, e.g. {@code realm=tenant-*;type=flows,idps}.
+ * Kinds {@link #REALM} and {@link #CLIENT} are matched against realm names and client ids, patterns can use {@code *}
+ * and {@code ?} wildcards. Kind {@link #TYPE} lists sections of a realm ({@link #TYPES}). A resource is skipped when
+ * includes of its kind exist and none matches it, or when any exclude matches it. Skipped resources are neither formed
+ * nor deleted, including everything nested in them.
+ *
+ * @author Majlanky
+ */
+public class ResourceFilter {
+
+    public static final String REALM = "realm";
+    public static final String CLIENT = "client";
+    public static final String TYPE = "type";
+
+    public static final String SETTINGS = "settings";
+    public static final String REQUIRED_ACTIONS = "requiredActions";
+    public static final String COMPONENTS = "components";
+    public static final String AUTHENTICATOR_CONFIGS = "authenticatorConfigs";
+    public static final String FLOWS = "flows";
+    public static final String ROLES = "roles";
+    public static final String CLIENT_SCOPES = "clientScopes";
+    public static final String CLIENTS = "clients";
+    public static final String IDPS = "idps";
+    public static final String IDP_MAPPERS = "idpMappers";
+    public static final String GROUPS = "groups";
+    public static final String SCOPE_MAPPINGS = "scopeMappings";
+    public static final String ORGANIZATIONS = "organizations";
+
+    public static final Set<String> TYPES = Set.of(SETTINGS, REQUIRED_ACTIONS, COMPONENTS, AUTHENTICATOR_CONFIGS, FLOWS,
+        ROLES, CLIENT_SCOPES, CLIENTS, IDPS, IDP_MAPPERS, GROUPS, SCOPE_MAPPINGS, ORGANIZATIONS);
+
+    private static final Set<String> KINDS = Set.of(REALM, CLIENT, TYPE);
+
+    public static final ResourceFilter ALL = new ResourceFilter(Map.of(), Map.of());
+
+    private final Map<String, List<Pattern>> includes;
+    private final Map<String, List<Pattern>> excludes;
+
+    private ResourceFilter(Map<String, List<Pattern>> includes, Map<String, List<Pattern>> excludes) {
+        this.includes = includes;
+        this.excludes = excludes;
+    }
+
+    /**
+     * Parses the filter from include and exclude expressions.
+     *
+     * @param include expression of included resources, blank or null when everything is included
+     * @param exclude expression of excluded resources, blank or null when nothing is excluded
+     * @return parsed filter
+     * @throws IllegalArgumentException when an expression uses unknown kind or type
+     */
+    public static ResourceFilter parse(String include, String exclude) {
+        Map<String, List<Pattern>> includes = parse(include);
+        Map<String, List<Pattern>> excludes = parse(exclude);
+        if (includes.isEmpty() && excludes.isEmpty()) {
+            return ALL;
+        }
+        return new ResourceFilter(includes, excludes);
+    }
+
+    /**
+     * Decides if the resource is out of the scope of the filter.
+     *
+     * @param kind kind of the resource, {@link #REALM}, {@link #CLIENT} or {@link #TYPE}
+     * @param name name of the resource, realm name, client id or one of {@link #TYPES}
+     * @return true when the resource and everything nested in it must be skipped
+     */
+    public boolean skips(String kind, String name) {
+        List<Pattern> included = includes.get(kind);
+        if (included != null && included.stream().noneMatch(p -> matches(p, name))) {
+            return true;
+        }
+        List<Pattern> excluded = excludes.get(kind);
+        return excluded != null && excluded.stream().anyMatch(p -> matches(p, name));
+    }
+
+    /**
+     * Narrows the filter to the single resource of the kind, the resource is matched literally. The resource stays
+     * skipped when this filter skips it.
+     *
+     * @param kind kind of the resource, {@link #REALM} or {@link #CLIENT}
+     * @param name name of the only included resource
+     * @return new filter including nothing else of the kind
+     */
+    public ResourceFilter withOnly(String kind, String name) {
+        return withOnly(kind, List.of(name));
+    }
+
+    /**
+     * Narrows the filter to the resources of the kind, the resources are matched literally. The narrowed filter is the
+     * intersection with this filter, hence resources skipped by this filter stay skipped and excludes still apply.
+     *
+     * @param kind  kind of the resources, {@link #REALM}, {@link #CLIENT} or {@link #TYPE}
+     * @param names names of the only included resources
+     * @return new filter including nothing else of the kind
+     */
+    public ResourceFilter withOnly(String kind, Collection<String> names) {
+        Map<String, List<Pattern>> narrowedIncludes = new HashMap<>(includes);
+        narrowedIncludes.put(kind, names.stream().filter(name -> !skips(kind, name)).map(ResourceFilter::literal).toList());
+        return new ResourceFilter(narrowedIncludes, excludes);
+    }
+
+    /**
+     * Extends the filter by excludes of resources of the kind, the resources are matched literally.
+     *
+     * @param kind  kind of the resources, {@link #REALM} or {@link #CLIENT}
+     * @param names names of the excluded resources
+     * @return new filter excluding also the given resources
+     */
+    public ResourceFilter withExcluded(String kind, Collection<String> names) {
+        Map<String, List<Pattern>> extendedExcludes = new HashMap<>(excludes);
+        List<Pattern> patterns = new ArrayList<>(extendedExcludes.getOrDefault(kind, List.of()));
+        names.forEach(name -> patterns.add(literal(name)));
+        extendedExcludes.put(kind, patterns);
+        return new ResourceFilter(includes, extendedExcludes);
+    }
+
+    public boolean isEmpty() {
+        return includes.isEmpty() && excludes.isEmpty();
+    }
+
+    /**
+     * @return the filter with kinds in a stable order, equal filters have the same textual form
+     */
+    @Override
+    public String toString() {
+        return "include " + new TreeMap<>(includes) + ", exclude " + new TreeMap<>(excludes);
+    }
+
+    private static boolean matches(Pattern pattern, String name) {
+        return name != null && pattern.matcher(name).matches();
+    }
+
+    private static Pattern literal(String name) {
+        return Pattern.compile(Pattern.quote(name));
+    }
+
+    private static Map<String, List<Pattern>> parse(String expression) {
+        Map<String, List<Pattern>> result = new HashMap<>();
+        if (expression == null || expression.isBlank()) {
+            return result;
+        }
+        for (String entry : expression.split(";")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] kindAndPatterns = entry.split("=", 2);
+            String kind = kindAndPatterns[0].trim();
+            if (kindAndPatterns.length != 2 || !KINDS.contains(kind)) {
+                throw new IllegalArgumentException(
+                    "Invalid filter entry " + entry + ", expected kind=pattern[,pattern] where kind is one of " + KINDS);
+            }
+            List<Pattern> patterns = result.computeIfAbsent(kind, k -> new ArrayList<>());
+            Arrays.stream(kindAndPatterns[1].split(","))
+                .map(String::trim)
+                .filter(p -> !p.isEmpty())
+                .forEach(p -> patterns.add(toPattern(kind, p)));
+        }
+        return result;
+    }
+
+    private static Pattern toPattern(String kind, String glob) {
+        if (TYPE.equals(kind) && !TYPES.contains(glob)) {
+            throw new IllegalArgumentException("Unknown filter type " + glob + ", possible types are " + TYPES);
+        }
+        StringBuilder regex = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            switch (c) {
+                case '*' -> regex.append(".*");
+                case '?' -> regex.append('.');
+                default -> regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+}
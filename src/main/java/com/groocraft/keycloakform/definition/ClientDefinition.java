@@ -16,6 +16,7 @@
 
 package com.groocraft.keycloakform.definition;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.groocraft.keycloakform.former.SyncMode;
 
 import org.keycloak.representations.idm.ClientRepresentation;
@@ -28,5 +29,10 @@ import lombok.Setter;
 public class ClientDefinition extends ClientRepresentation implements Definition {
 
     private SyncMode syncMode = SyncMode.FULL;
+    /**
+     * Name of the template in {@link TemplatesDefinition} the definition is expanded from during forming
+     */
+    @JsonProperty("extends")
+    private String template;
 
 }
@@ -30,18 +30,20 @@ import org.keycloak.representations.idm.ComponentExportRepresentation;
 import org.keycloak.representations.idm.GroupRepresentation;
 import org.keycloak.representations.idm.IdentityProviderMapperRepresentation;
 import org.keycloak.representations.idm.IdentityProviderRepresentation;
+import org.keycloak.representations.idm.OrganizationRepresentation;
 import org.keycloak.representations.idm.ProtocolMapperRepresentation;
 import org.keycloak.representations.idm.RealmRepresentation;
 import org.keycloak.representations.idm.RequiredActionProviderRepresentation;
 import org.keycloak.representations.idm.RoleRepresentation;
 import org.keycloak.representations.idm.RolesRepresentation;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
 
+import lombok.Getter;
+
 @SuppressWarnings("unchecked")
 public enum DefinitionMapping {
 
@@ -58,11 +60,14 @@ public enum DefinitionMapping {
     REQUIRED_ACTION(RequiredActionProviderRepresentation.class, RequiredActionDefinition.class),
     IDENTITY_PROVIDER(IdentityProviderRepresentation.class, IdentityProviderDefinition.class),
     IDENTITY_PROVIDER_MAPPER(IdentityProviderMapperRepresentation.class, IdentityProviderMapperDefinition.class),
-    GROUP(GroupRepresentation.class, GroupDefinition.class);
+    GROUP(GroupRepresentation.class, GroupDefinition.class),
+    ORGANIZATION(OrganizationRepresentation.class, OrganizationDefinition.class);
 
     private static final HashMap<Class<?>, Class<?>> map = new HashMap<>();
 
+    @Getter
     private final Class<?> originalType;
+    @Getter
     private final Class<?> definitionType;
 
     static {
@@ -89,47 +94,49 @@ public enum DefinitionMapping {
         }
     }
 
+    /**
+     * Hands the collection over typed as definitions. Definition types are created already by the deserialization
+     * (see {@link #init(ObjectMapper)}), hence the collection is not copied, only its first element is checked.
+     *
+     * @param original collection of representations deserialized as definitions
+     * @param <T>      definition type
+     * @return the same collection, empty list when the original is null
+     */
     public static <T> Collection<T> cast(Collection<?> original) {
         if (original == null) {
             return List.of();
         }
 
-        Object first;
-        if (original.isEmpty() || (first = original.stream().filter(Objects::nonNull).findFirst().orElse(null)) == null) {
-            return (Collection<T>) original;
-        }
-
-        if (map.containsKey(first.getClass())) {
-            return (List<T>) original.stream().map(DefinitionMapping::cast).toList();
-        } else {
+        Object first = original.stream().filter(Objects::nonNull).findFirst().orElse(null);
+        if (first != null && !map.containsKey(first.getClass())) {
             throw new IllegalArgumentException(
                 "Object of " + first.getClass() + " can not be cast to any definition");
         }
+        return (Collection<T>) original;
     }
 
+    /**
+     * Hands the map over typed as definitions without copying, see {@link #cast(Collection)}.
+     *
+     * @param original map of representations deserialized as definitions
+     * @param <T>      definition type
+     * @return the same map, empty map when the original is null
+     */
     public static <T> MultivaluedHashMap<String, T> cast(MultivaluedHashMap<String, ?> original) {
         if (original == null) {
             return new MultivaluedHashMap<>();
         }
 
-        List<?> firstList;
-        Object first;
-        if (original.isEmpty()
-            || (firstList = original.values().iterator().next()) == null
-            || (first = firstList.stream().filter(Objects::nonNull).findFirst().orElse(null)) == null) {
-            return (MultivaluedHashMap<String, T>) original;
-        }
-
-        if (map.containsKey(first.getClass())) {
-            return original.entrySet().stream()
-                .collect(
-                    MultivaluedHashMap::new,
-                    (m, e) -> m.put(e.getKey(), new ArrayList<>(DefinitionMapping.cast(e.getValue()))),
-                    HashMap::putAll);
-        } else {
+        Object first = original.values().stream()
+            .filter(Objects::nonNull)
+            .flatMap(List::stream)
+            .filter(Objects::nonNull)
+            .findFirst().orElse(null);
+        if (first != null && !map.containsKey(first.getClass())) {
             throw new IllegalArgumentException(
                 "Object of " + first.getClass() + " can not be cast to any definition");
         }
+        return (MultivaluedHashMap<String, T>) original;
     }
 
     public static void init(ObjectMapper mapper) {
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.definition;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.groocraft.keycloakform.definition.deserialization.Deserialization;
+import com.groocraft.keycloakform.exception.DefinitionTemplateException;
+
+import org.keycloak.representations.idm.ClientRepresentation;
+import org.keycloak.representations.idm.ClientScopeRepresentation;
+import org.keycloak.util.JsonSerialization;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Expands client and client scope definitions from the templates of their realm ({@link TemplatesDefinition}). The
+ * definition is laid over its template: objects (attributes, config) are merged entry by entry, every other field
+ * (values, lists as redirect URIs or protocol mappers) set in the definition replaces the one of the template. Template
+ * can extend another template, the identifier, id and sync mode of a template are never inherited.
+ * Templates are resolved lazily, every template only once, so the expansion of a definition costs a copy and a merge
+ * of the resolved tree regardless of the length of the template chain. The class is not thread-safe.
+ *
+ * @author Majlanky
+ */
+public class DefinitionTemplates {
+
+    private static final ObjectMapper MAPPER = Deserialization.getObjectMapper(JsonSerialization.mapper);
+    private static final Set<String> NOT_INHERITED = Set.of("id", "syncMode", "extends");
+
+    private final Templates<ClientDefinition> clients;
+    private final Templates<ClientScopeDefinition> clientScopes;
+
+    private DefinitionTemplates(TemplatesDefinition templates) {
+        this.clients = new Templates<>("client", "clientId", ClientDefinition.class, ClientDefinition::getClientId,
+            ClientDefinition::getTemplate, templates == null ? null : templates.getClients());
+        this.clientScopes = new Templates<>("client scope", "name", ClientScopeDefinition.class,
+            ClientScopeDefinition::getName, ClientScopeDefinition::getTemplate,
+            templates == null ? null : templates.getClientScopes());
+    }
+
+    public static DefinitionTemplates of(RealmDefinition definition) {
+        return new DefinitionTemplates(definition.getTemplates());
+    }
+
+    /**
+     * @param definition client definition
+     * @return the definition itself when it does not extend any template, new expanded definition otherwise
+     */
+    public ClientDefinition expand(ClientDefinition definition) {
+        return clients.expand(definition);
+    }
+
+    /**
+     * @param definition client scope definition
+     * @return the definition itself when it does not extend any template, new expanded definition otherwise
+     */
+    public ClientScopeDefinition expand(ClientScopeDefinition definition) {
+        return clientScopes.expand(definition);
+    }
+
+    /**
+     * Expands all the client definitions of a realm, e.g. before they are handed over to a consumer not aware of the
+     * templates.
+     */
+    public List<ClientRepresentation> expandClients(List<ClientRepresentation> definitions) {
+        return definitions == null ? null : definitions.stream()
+            .map(d -> (ClientRepresentation) expand((ClientDefinition) d))
+            .toList();
+    }
+
+    /**
+     * Expands all the client scope definitions of a realm, e.g. before they are handed over to a consumer not aware of
+     * the templates.
+     */
+    public List<ClientScopeRepresentation> expandClientScopes(List<ClientScopeRepresentation> definitions) {
+        return definitions == null ? null : definitions.stream()
+            .map(d -> (ClientScopeRepresentation) expand((ClientScopeDefinition) d))
+            .toList();
+    }
+
+    private static void merge(ObjectNode target, JsonNode source) {
+        Iterator<Map.Entry<String, JsonNode>> fields = source.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode existing = target.get(field.getKey());
+            if (existing != null && existing.isObject() && field.getValue().isObject()) {
+                merge((ObjectNode) existing, field.getValue());
+            } else {
+                target.set(field.getKey(), field.getValue());
+            }
+        }
+    }
+
+    private static class Templates<T> {
+
+        private final String type;
+        private final String identifier;
+        private final Class<T> definitionClass;
+        private final Function<T, String> templateOf;
+        private final Map<String, T> templates;
+        private final Map<String, ObjectNode> resolved = new HashMap<>();
+
+        Templates(String type, String identifier, Class<T> definitionClass, Function<T, String> identifierOf,
+                  Function<T, String> templateOf, List<T> templates) {
+            this.type = type;
+            this.identifier = identifier;
+            this.definitionClass = definitionClass;
+            this.templateOf = templateOf;
+            this.templates = templates == null ? Map.of() : templates.stream()
+                .collect(Collectors.toMap(identifierOf, Function.identity(), (first, second) -> {
+                    throw new DefinitionTemplateException("Duplicate " + type + " template " + identifierOf.apply(first));
+                }));
+        }
+
+        T expand(T definition) {
+            String template = templateOf.apply(definition);
+            if (template == null) {
+                return definition;
+            }
+            ObjectNode expanded = resolve(template, new LinkedHashSet<>()).deepCopy();
+            merge(expanded, MAPPER.valueToTree(definition));
+            try {
+                return MAPPER.treeToValue(expanded, definitionClass);
+            } catch (JsonProcessingException e) {
+                throw new DefinitionTemplateException("Unable to expand " + type + " from template " + template, e);
+            }
+        }
+
+        private ObjectNode resolve(String name, Set<String> visiting) {
+            ObjectNode cached = resolved.get(name);
+            if (cached != null) {
+                return cached;
+            }
+            T template = templates.get(name);
+            if (template == null) {
+                throw new DefinitionTemplateException("Unknown " + type + " template " + name);
+            }
+            if (!visiting.add(name)) {
+                throw new DefinitionTemplateException("Cyclic " + type + " templates " + visiting);
+            }
+            String parent = templateOf.apply(template);
+            ObjectNode tree = parent == null ? MAPPER.createObjectNode() : resolve(parent, visiting).deepCopy();
+            ObjectNode own = MAPPER.valueToTree(template);
+            own.remove(identifier);
+            own.remove(NOT_INHERITED);
+            merge(tree, own);
+            resolved.put(name, tree);
+            return tree;
+        }
+    }
+}
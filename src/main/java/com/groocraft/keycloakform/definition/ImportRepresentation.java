@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.definition;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.groocraft.keycloakform.former.SyncMode;
+
+import org.keycloak.representations.idm.RealmRepresentation;
+import org.keycloak.util.JsonSerialization;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Converts definitions to plain Keycloak representations that can be passed to the native Keycloak import. Objects
+ * with {@link SyncMode#IGNORE} are removed because formers would skip them and {@code syncMode} attributes are removed
+ * because they are not known to Keycloak. Free-form maps (config, attributes) are kept untouched as they can contain
+ * {@code syncMode} keys with a different meaning (e.g. sync mode of identity providers). Clients and client scopes
+ * extending templates are imported expanded.
+ *
+ * @author Majlanky
+ */
+public final class ImportRepresentation {
+
+    private static final String SYNC_MODE = "syncMode";
+    private static final String TEMPLATES = "templates";
+    private static final List<String> NOT_IMPORTED = List.of(SYNC_MODE, "extends");
+    private static final Set<String> FREE_FORM_FIELDS = Set.of("config", "attributes");
+
+    private ImportRepresentation() {
+    }
+
+    public static RealmRepresentation of(RealmDefinition definition) {
+        ObjectNode tree = JsonSerialization.mapper.valueToTree(definition);
+        expandTemplates(tree, definition);
+        strip(tree);
+        try {
+            return JsonSerialization.mapper.treeToValue(tree, RealmRepresentation.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to convert definition of realm " + definition.getRealm()
+                                            + " to representation", e);
+        }
+    }
+
+    /**
+     * Templates are known only to formers, hence clients and client scopes are imported expanded
+     */
+    private static void expandTemplates(ObjectNode tree, RealmDefinition definition) {
+        if (definition.getTemplates() != null) {
+            DefinitionTemplates templates = DefinitionTemplates.of(definition);
+            tree.set("clients", JsonSerialization.mapper.valueToTree(templates.expandClients(definition.getClients())));
+            tree.set("clientScopes",
+                JsonSerialization.mapper.valueToTree(templates.expandClientScopes(definition.getClientScopes())));
+        }
+        tree.remove(TEMPLATES);
+    }
+
+    private static void strip(JsonNode node) {
+        if (node.isObject()) {
+            ((ObjectNode) node).remove(NOT_IMPORTED);
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (isIgnored(field.getValue())) {
+                    fields.remove();
+                } else if (!FREE_FORM_FIELDS.contains(field.getKey())) {
+                    strip(field.getValue());
+                }
+            }
+        } else if (node.isArray()) {
+            Iterator<JsonNode> elements = node.elements();
+            while (elements.hasNext()) {
+                JsonNode element = elements.next();
+                if (isIgnored(element)) {
+                    elements.remove();
+                } else {
+                    strip(element);
+                }
+            }
+        }
+    }
+
+    private static boolean isIgnored(JsonNode node) {
+        return node.isObject() && SyncMode.IGNORE.name().equals(node.path(SYNC_MODE).asText());
+    }
+
+}
@@ -16,20 +16,26 @@
 
 package com.groocraft.keycloakform.definition;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.groocraft.keycloakform.former.SyncMode;
 
 import org.keycloak.representations.idm.RealmRepresentation;
 
+import java.util.List;
+
 import lombok.Getter;
 import lombok.Setter;
 
 /**
- * Realm is identified by id or name when the id unspecified
+ * Realm is identified by id or name when the id unspecified. Realm declaring tenants is a template of the realms of the
+ * tenants, see {@link RealmTemplate}.
  */
 @Getter
 @Setter
 public class RealmDefinition extends RealmRepresentation implements Definition {
 
     private SyncMode syncMode = SyncMode.FULL;
+    private TemplatesDefinition templates;
+    private List<ObjectNode> tenants;
 
 }
\ No newline at end of file
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.definition;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.groocraft.keycloakform.definition.deserialization.Deserialization;
+import com.groocraft.keycloakform.exception.DefinitionTemplateException;
+
+import org.keycloak.util.JsonSerialization;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+
+/**
+ * Realm definition declaring {@code tenants} is a template of the realms of the tenants. Every tenant is a set of
+ * parameters, the mandatory {@code realm} parameter is the name of the realm of the tenant. The template is bound as a
+ * realm definition first, hence {@code {{parameter}}} placeholders can be used only in string values. Placeholders are
+ * replaced by the parameters of the tenant, a list item consisting of a single placeholder of a list parameter is
+ * replaced by the items of the parameter (e.g. redirect URIs). Ids of the template (and the references
+ * to them in {@code containerId}, {@code parentId} and authentication flow binding overrides) are replaced by ids
+ * derived from the realm of the tenant, so the realms of tenants never share an id and the same ids are derived by
+ * every forming.
+ * The template is parsed once. Sections of the realm without placeholders and ids (e.g. roles and scope mappings) are
+ * shared by all the realms of the tenants, including the items of lists as clients, only the remaining ones are
+ * created for every tenant. Components are never shared as formers set their parents to the realm being formed.
+ *
+ * @author Majlanky
+ */
+public class RealmTemplate {
+
+    private static final ObjectMapper MAPPER = Deserialization.getObjectMapper(JsonSerialization.mapper);
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{([\\w.-]+)}}");
+    private static final String REALM = "realm";
+    private static final String TENANTS = "tenants";
+    private static final Set<String> ID_FIELDS = Set.of("id", "_id", "containerId", "parentId");
+    private static final String FLOW_OVERRIDES = "authenticationFlowBindingOverrides";
+    private static final Set<String> NOT_SHARED = Set.of("components");
+    private static final Map<String, BeanPropertyDefinition> PROPERTIES = MAPPER.getDeserializationConfig()
+        .introspect(MAPPER.constructType(RealmDefinition.class))
+        .findProperties().stream()
+        .filter(p -> p.hasGetter() && p.hasSetter())
+        .collect(Collectors.toMap(BeanPropertyDefinition::getName, Function.identity()));
+
+    private final RealmDefinition template;
+    private final Map<String, JsonNode> perTenant = new LinkedHashMap<>();
+    private final Map<String, BitSet> sharedItems = new LinkedHashMap<>();
+    @Getter
+    private final List<String> shared = new ArrayList<>();
+
+    private RealmTemplate(RealmDefinition template) {
+        this.template = template;
+        ObjectNode tree = MAPPER.valueToTree(template);
+        tree.remove(List.of(REALM, TENANTS));
+        Iterator<Map.Entry<String, JsonNode>> fields = tree.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = field.getKey();
+            JsonNode value = field.getValue();
+            if (PROPERTIES.containsKey(name) && !NOT_SHARED.contains(name) && isShared(name, value)) {
+                shared.add(name);
+            } else {
+                perTenant.put(name, value);
+                if (PROPERTIES.containsKey(name) && !NOT_SHARED.contains(name) && isListOfObjects(value)) {
+                    BitSet items = new BitSet();
+                    for (int i = 0; i < value.size(); i++) {
+                        items.set(i, isShared(null, value.get(i)));
+                    }
+                    sharedItems.put(name, items);
+                }
+            }
+        }
+    }
+
+    public static boolean isTemplate(RealmDefinition definition) {
+        return definition.getTenants() != null;
+    }
+
+    public static RealmTemplate of(RealmDefinition definition) {
+        return new RealmTemplate(definition);
+    }
+
+    /**
+     * @return realm definitions of all the tenants in the order of the tenants
+     */
+    public List<RealmDefinition> expand() {
+        return template.getTenants().stream().map(this::expand).toList();
+    }
+
+    /**
+     * @param tenant parameters of the tenant
+     * @return realm definition of the tenant
+     */
+    @SuppressWarnings("unchecked")
+    public RealmDefinition expand(ObjectNode tenant) {
+        JsonNode realmNode = tenant.get(REALM);
+        if (realmNode == null || !realmNode.isTextual() || realmNode.asText().isBlank()) {
+            throw new DefinitionTemplateException("Tenant of realm template " + template.getRealm()
+                                                  + " does not declare the name of its realm");
+        }
+        Tenant parameters = new Tenant(realmNode.asText(), tenant);
+        ObjectNode tree = MAPPER.createObjectNode();
+        perTenant.forEach((name, value) -> tree.set(name, resolve(name, value, sharedItems.get(name), parameters)));
+        RealmDefinition definition;
+        try {
+            definition = MAPPER.treeToValue(tree, RealmDefinition.class);
+        } catch (JsonProcessingException e) {
+            throw new DefinitionTemplateException("Realm template " + template.getRealm()
+                                                  + " does not form a valid realm for tenant " + parameters.realm, e);
+        }
+        for (String name : shared) {
+            set(name, definition, get(name, template));
+        }
+        sharedItems.forEach((name, items) -> {
+            if (get(name, template) instanceof List<?> templateItems && get(name, definition) instanceof List<?> tenantItems) {
+                items.stream().forEach(i -> ((List<Object>) tenantItems).set(i, templateItems.get(i)));
+            }
+        });
+        definition.setRealm(parameters.realm);
+        return definition;
+    }
+
+    /**
+     * Shared sections must be the same for all tenants, hence they can contain neither placeholders nor ids
+     */
+    private static boolean isShared(String name, JsonNode node) {
+        if (name != null && (ID_FIELDS.contains(name) || FLOW_OVERRIDES.equals(name))) {
+            return false;
+        }
+        if (node.isTextual()) {
+            return !PLACEHOLDER.matcher(node.asText()).find();
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!isShared(field.getKey(), field.getValue())) {
+                return false;
+            }
+        }
+        if (node.isArray()) {
+            for (JsonNode element : node) {
+                if (!isShared(null, element)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Items of lists of strings can be replaced by the items of list parameters, only items of lists of objects keep
+     * their positions, hence they can be shared
+     */
+    private static boolean isListOfObjects(JsonNode node) {
+        if (!node.isArray()) {
+            return false;
+        }
+        for (JsonNode element : node) {
+            if (!element.isObject()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private JsonNode resolve(String name, JsonNode node, BitSet sharedItems, Tenant tenant) {
+        if (name != null && ID_FIELDS.contains(name) && node.isTextual()) {
+            return TextNode.valueOf(tenant.id(node.asText()));
+        }
+        if (FLOW_OVERRIDES.equals(name) && node.isObject()) {
+            ObjectNode overrides = MAPPER.createObjectNode();
+            node.fields().forEachRemaining(e -> overrides.set(e.getKey(),
+                e.getValue().isTextual() ? TextNode.valueOf(tenant.id(e.getValue().asText())) : e.getValue()));
+            return overrides;
+        }
+        if (node.isTextual()) {
+            return substitute(node.asText(), tenant);
+        }
+        if (node.isObject()) {
+            ObjectNode resolved = MAPPER.createObjectNode();
+            node.fields().forEachRemaining(e -> resolved.set(e.getKey(), resolve(e.getKey(), e.getValue(), null, tenant)));
+            return resolved;
+        }
+        if (node.isArray()) {
+            ArrayNode resolved = MAPPER.createArrayNode();
+            for (int i = 0; i < node.size(); i++) {
+                JsonNode element = node.get(i);
+                if (sharedItems != null && sharedItems.get(i)) {
+                    //replaced by the item of the template once bound
+                    resolved.addNull();
+                    continue;
+                }
+                JsonNode value = resolve(null, element, null, tenant);
+                if (element.isTextual() && value.isArray()) {
+                    resolved.addAll((ArrayNode) value);
+                } else {
+                    resolved.add(value);
+                }
+            }
+            return resolved;
+        }
+        return node;
+    }
+
+    private JsonNode substitute(String text, Tenant tenant) {
+        Matcher matcher = PLACEHOLDER.matcher(text);
+        if (matcher.matches()) {
+            return tenant.parameter(matcher.group(1)).deepCopy();
+        }
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            JsonNode parameter = tenant.parameter(matcher.group(1));
+            if (!parameter.isValueNode()) {
+                throw new DefinitionTemplateException("Parameter " + matcher.group(1) + " of tenant " + tenant.realm
+                                                      + " is not a value, it cannot be a part of " + text);
+            }
+            matcher.appendReplacement(result, Matcher.quoteReplacement(parameter.asText()));
+        }
+        matcher.appendTail(result);
+        return TextNode.valueOf(result.toString());
+    }
+
+    private static Object get(String name, RealmDefinition definition) {
+        return PROPERTIES.get(name).getGetter().getValue(definition);
+    }
+
+    private static void set(String name, RealmDefinition definition, Object value) {
+        try {
+            PROPERTIES.get(name).getSetter().callOnWith(definition, value);
+        } catch (Exception e) {
+            throw new DefinitionTemplateException("Unable to share " + name + " of the realm template", e);
+        }
+    }
+
+    private class Tenant {
+
+        private final String realm;
+        private final ObjectNode parameters;
+
+        Tenant(String realm, ObjectNode parameters) {
+            this.realm = realm;
+            this.parameters = parameters;
+        }
+
+        JsonNode parameter(String name) {
+            JsonNode parameter = parameters.get(name);
+            if (parameter == null) {
+                throw new DefinitionTemplateException("Parameter " + name + " of realm template " + template.getRealm()
+                                                      + " is not declared by tenant " + realm);
+            }
+            return parameter;
+        }
+
+        String id(String templateId) {
+            return UUID.nameUUIDFromBytes((realm + "/" + templateId).getBytes(StandardCharsets.UTF_8)).toString();
+        }
+    }
+
+}
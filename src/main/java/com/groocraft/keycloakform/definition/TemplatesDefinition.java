@@ -0,0 +1,37 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.definition;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Templates of a realm. Client template is identified by its clientId, client scope template by its name, the
+ * identifier is not inherited by the definitions extending the template.
+ *
+ * @author Majlanky
+ */
+@Getter
+@Setter
+public class TemplatesDefinition {
+
+    private List<ClientDefinition> clients;
+    private List<ClientScopeDefinition> clientScopes;
+
+}
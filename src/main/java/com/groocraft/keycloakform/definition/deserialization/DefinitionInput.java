@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.definition.deserialization;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import lombok.CustomLog;
+
+/**
+ * Input of definitions that transparently decompresses gzip and zstd sources. The compression is detected by the magic
+ * bytes at the beginning of the stream, so the name of the source does not matter, and the decompressed data are
+ * streamed directly to the parser without any temporary file. Zstd requires zstd-jni to be present on the classpath.
+ *
+ * @author Majlanky
+ */
+@CustomLog
+public final class DefinitionInput {
+
+    static final byte[] GZIP_MAGIC = {(byte) 0x1f, (byte) 0x8b};
+    static final byte[] ZSTD_MAGIC = {(byte) 0x28, (byte) 0xb5, (byte) 0x2f, (byte) 0xfd};
+
+    private static final String ZSTD_INPUT_STREAM = "com.github.luben.zstd.ZstdInputStream";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private DefinitionInput() {
+    }
+
+    /**
+     * Wraps the given stream to a stream of uncompressed definition data. Uncompressed stream is returned as it is
+     * (buffered).
+     *
+     * @param is stream of plain, gzip or zstd compressed definition
+     * @return stream of uncompressed definition
+     * @throws IOException when the stream can not be read or zstd compressed stream is given without zstd-jni present
+     */
+    public static InputStream decompress(InputStream is) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(is, BUFFER_SIZE);
+        buffered.mark(ZSTD_MAGIC.length);
+        byte[] head = buffered.readNBytes(ZSTD_MAGIC.length);
+        buffered.reset();
+
+        if (startsWith(head, GZIP_MAGIC)) {
+            log.debug("Definition is gzip compressed");
+            return new GZIPInputStream(buffered, BUFFER_SIZE);
+        } else if (startsWith(head, ZSTD_MAGIC)) {
+            log.debug("Definition is zstd compressed");
+            return new BufferedInputStream(zstd(buffered), BUFFER_SIZE);
+        }
+        return buffered;
+    }
+
+    private static InputStream zstd(InputStream is) throws IOException {
+        try {
+            return (InputStream) Class.forName(ZSTD_INPUT_STREAM).getConstructor(InputStream.class).newInstance(is);
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new IOException("Definition is zstd compressed but zstd-jni is not present on the classpath", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("Unable to open zstd compressed definition", e);
+        }
+    }
+
+    private static boolean startsWith(byte[] head, byte[] magic) {
+        return head.length >= magic.length && Arrays.equals(head, 0, magic.length, magic, 0, magic.length);
+    }
+}
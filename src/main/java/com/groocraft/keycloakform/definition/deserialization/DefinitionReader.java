@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.groocraft.keycloakform.definition.deserialization;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.groocraft.keycloakform.definition.RealmDefinition;
+import com.groocraft.keycloakform.definition.RealmTemplate;
+
+import org.keycloak.Config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.CustomLog;
+
+/**
+ * Parsing pipeline of definitions. The mapper is copied, configured and the reader of {@link RealmDefinition} resolved
+ * once during the construction, so the instance is meant to be reused for all the parsed streams. When asked for, the
+ * pipeline registers Jackson Blackbird (or Afterburner as a fallback) if present on the classpath. Realm templates are
+ * expanded to the realms of their tenants by {@link RealmTemplate}.
+ *
+ * @author Majlanky
+ */
+@CustomLog
+public class DefinitionReader {
+
+    private static final List<String> ACCELERATION_MODULES = List.of(
+        "com.fasterxml.jackson.module.blackbird.BlackbirdModule",
+        "com.fasterxml.jackson.module.afterburner.AfterburnerModule");
+
+    private final ObjectReader realmReader;
+
+    public DefinitionReader(ObjectMapper originalMapper, boolean accelerated) {
+        ObjectMapper mapper = Deserialization.getObjectMapper(originalMapper);
+        if (accelerated) {
+            accelerate(mapper);
+        }
+        this.realmReader = mapper.readerFor(RealmDefinition.class);
+    }
+
+    public List<RealmDefinition> read(InputStream is) throws IOException {
+        List<RealmDefinition> result = new ArrayList<>();
+
+        try (JsonParser parser = realmReader.createParser(is)) {
+            parser.nextToken();
+
+            if (parser.currentToken() == JsonToken.START_ARRAY) {
+                // Case with more realms in stream
+                parser.nextToken();
+
+                while (parser.currentToken() == JsonToken.START_OBJECT) {
+                    RealmDefinition realmRep = realmReader.readValue(parser);
+                    parser.nextToken();
+                    add(result, realmRep);
+                }
+
+            } else if (parser.currentToken() == JsonToken.START_OBJECT) {
+                // Case with single realm in stream
+                RealmDefinition realmDefinition = realmReader.readValue(parser);
+                add(result, realmDefinition);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Realm templates are expanded to the realms of their tenants right away, formers see only plain realms
+     */
+    private static void add(List<RealmDefinition> result, RealmDefinition definition) {
+        if (RealmTemplate.isTemplate(definition)) {
+            RealmTemplate template = RealmTemplate.of(definition);
+            List<RealmDefinition> tenants = template.expand();
+            log.infof("Realm template %s expanded to %d realms of tenants sharing %s", definition.getRealm(),
+                tenants.size(), template.getShared());
+            tenants.forEach(tenant -> add(result, tenant));
+            return;
+        }
+        // Ensure that master realm is imported first
+        if (Config.getAdminRealm().equals(definition.getRealm())) {
+            result.addFirst(definition);
+        } else {
+            result.add(definition);
+        }
+    }
+
+    private static void accelerate(ObjectMapper mapper) {
+        for (String moduleClass : ACCELERATION_MODULES) {
+            try {
+                mapper.registerModule((Module) Class.forName(moduleClass).getDeclaredConstructor().newInstance());
+                log.debugf("Definitions are parsed with %s", moduleClass);
+                return;
+            } catch (ClassNotFoundException e) {
+                //module not present, trying the next one
+            } catch (ReflectiveOperationException | LinkageError e) {
+                log.warnf("Unable to register %s, definitions are parsed without it: %s", moduleClass, e.getMessage());
+            }
+        }
+    }
+}
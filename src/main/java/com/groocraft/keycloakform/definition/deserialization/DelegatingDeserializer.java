@@ -17,21 +17,49 @@
 package com.groocraft.keycloakform.definition.deserialization;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanProperty;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
 
 import java.io.IOException;
 
-public class DelegatingDeserializer<OriginalT, NewSubType extends OriginalT> extends JsonDeserializer<OriginalT> {
+/**
+ * Deserializer binding the original Keycloak representation type to its definition subtype. The deserializer of the
+ * subtype is resolved once, when Jackson contextualizes this deserializer, and the parsing is delegated to it directly.
+ *
+ * @author Majlanky
+ */
+public class DelegatingDeserializer<OriginalT, NewSubType extends OriginalT> extends JsonDeserializer<OriginalT>
+    implements ContextualDeserializer {
 
     private final Class<NewSubType> targetClass;
+    private final JsonDeserializer<Object> targetDeserializer;
 
     public DelegatingDeserializer(Class<NewSubType> targetClass) {
+        this(targetClass, null);
+    }
+
+    private DelegatingDeserializer(Class<NewSubType> targetClass, JsonDeserializer<Object> targetDeserializer) {
         this.targetClass = targetClass;
+        this.targetDeserializer = targetDeserializer;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) throws JsonMappingException {
+        if (targetDeserializer != null) {
+            return this;
+        }
+        return new DelegatingDeserializer<>(targetClass, ctxt.findRootValueDeserializer(ctxt.constructType(targetClass)));
     }
 
     @Override
     public OriginalT deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        return p.readValueAs(targetClass);
+        if (targetDeserializer == null) {
+            //not contextualized, the subtype deserializer is looked up per value
+            return p.readValueAs(targetClass);
+        }
+        return targetClass.cast(targetDeserializer.deserialize(p, ctxt));
     }
-}
\ No newline at end of file
+}
@@ -16,19 +16,15 @@
 
 package com.groocraft.keycloakform.definition.deserialization;
 
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.groocraft.keycloakform.definition.DefinitionMapping;
 import com.groocraft.keycloakform.definition.RealmDefinition;
 
-import org.keycloak.Config;
+import org.keycloak.representations.idm.RealmRepresentation;
 import org.keycloak.util.JsonSerialization;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
 import java.util.List;
 
 public class Deserialization {
@@ -42,36 +38,22 @@ public class Deserialization {
     }
 
     public static List<RealmDefinition> getRealmsFromStream(InputStream is) throws IOException {
-        List<RealmDefinition> result = new ArrayList<>();
-
-        JsonFactory factory = getObjectMapper(JsonSerialization.mapper).getFactory();
-        try (JsonParser parser = factory.createParser(is)) {
-            parser.nextToken();
-
-            if (parser.getCurrentToken() == JsonToken.START_ARRAY) {
-                // Case with more realms in stream
-                parser.nextToken();
-
-                while (parser.getCurrentToken() == JsonToken.START_OBJECT) {
-                    RealmDefinition realmRep = parser.readValueAs(RealmDefinition.class);
-                    parser.nextToken();
-
-                    // Ensure that master realm is imported first
-                    if (Config.getAdminRealm().equals(realmRep.getRealm())) {
-                        result.addFirst(realmRep);
-                    } else {
-                        result.add(realmRep);
-                    }
-                }
+        return Pipeline.READER.read(is);
+    }
 
-            } else if (parser.getCurrentToken() == JsonToken.START_OBJECT) {
-                // Case with single realm in stream
-                RealmDefinition realmDefinition = parser.readValueAs(RealmDefinition.class);
-                result.add(realmDefinition);
-            }
-        }
+    /**
+     * Converts a representation, e.g. an export of the current state, to a definition with the default sync modes
+     */
+    public static RealmDefinition toDefinition(RealmRepresentation representation) {
+        return Pipeline.MAPPER.convertValue(representation, RealmDefinition.class);
+    }
 
-        return result;
+    /**
+     * Holder of the shared parsing pipeline, initialized on the first parsed stream
+     */
+    private static final class Pipeline {
+        private static final DefinitionReader READER = new DefinitionReader(JsonSerialization.mapper, true);
+        private static final ObjectMapper MAPPER = getObjectMapper(JsonSerialization.mapper);
     }
 
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.groocraft.keycloakform.diff;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+
+import org.keycloak.util.JsonSerialization;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Field by field comparison of a definition against a representation snapshot of the current Keycloak model, typically
+ * obtained by {@code ModelToRepresentation}. The comparison follows the semantic of the Keycloak bulk updaters
+ * ({@code RepresentationToModel}, {@code DefaultExportImportManager}), so only non-null fields of the definition
+ * are compared:
+ * - field missing in the snapshot is reported as different, hence the comparison never hides a change
+ * - objects (maps) are compared only by entries present in the definition unless the field is marked as exact
+ * - arrays of plain values are compared regardless of the order as Keycloak stores them as sets
+ * - plain values are compared by their textual form
+ * Fields handled by dedicated formers (nested collections) must be ignored, otherwise they are reported every time.
+ * The class is thread-safe and intended to be shared as constant by the formers.
+ *
+ * @author Majlanky
+ */
+public class RepresentationDiff {
+
+    private final ObjectMapper mapper = JsonSerialization.mapper;
+    private final Map<Class<?>, Map<String, BeanPropertyDefinition>> properties = new ConcurrentHashMap<>();
+    private final Set<String> ignoredFields;
+    private final Set<String> exactFields;
+
+    public RepresentationDiff(Set<String> ignoredFields) {
+        this(ignoredFields, Set.of());
+    }
+
+    public RepresentationDiff(Set<String> ignoredFields, Set<String> exactFields) {
+        this.ignoredFields = ignoredFields;
+        this.exactFields = exactFields;
+    }
+
+    /**
+     * Compares the definition to the snapshot of the current state.
+     *
+     * @param definition wanted state, only non-null fields are taken into account
+     * @param snapshot   current state, usually representation of the existing model
+     * @return names of the fields that differ, empty list when the snapshot already matches the definition
+     */
+    public List<String> diff(Object definition, Object snapshot) {
+        List<String> differences = new ArrayList<>();
+        if (definition == null) {
+            return differences;
+        }
+        for (BeanPropertyDefinition property : getProperties(definition.getClass()).values()) {
+            Object wanted = property.getAccessor().getValue(definition);
+            if (wanted == null) {
+                continue;
+            }
+            Object current = snapshot == null ? null : getValue(snapshot, property.getName());
+            if (current == null || !isMatching(mapper.valueToTree(wanted), mapper.valueToTree(current),
+                exactFields.contains(property.getName()))) {
+                differences.add(property.getName());
+            }
+        }
+        return differences;
+    }
+
+    private Object getValue(Object bean, String name) {
+        BeanPropertyDefinition property = getProperties(bean.getClass()).get(name);
+        return property == null ? null : property.getAccessor().getValue(bean);
+    }
+
+    private Map<String, BeanPropertyDefinition> getProperties(Class<?> clazz) {
+        return properties.computeIfAbsent(clazz, c -> {
+            BeanDescription description = mapper.getSerializationConfig().introspect(mapper.constructType(c));
+            Map<String, BeanPropertyDefinition> result = new LinkedHashMap<>();
+            description.findProperties().stream()
+                .filter(p -> !ignoredFields.contains(p.getName()))
+                .filter(p -> p.getAccessor() != null)
+                .forEach(p -> {
+                    //some properties are accessed by protected fields (e.g. RealmRepresentation#clientProfiles)
+                    p.getAccessor().fixAccess(true);
+                    result.put(p.getName(), p);
+                });
+            return result;
+        });
+    }
+
+    private boolean isMatching(JsonNode wanted, JsonNode current, boolean exact) {
+        if (wanted.isValueNode() && current.isValueNode()) {
+            return wanted.asText().equals(current.asText());
+        }
+        if (wanted.isObject() && current.isObject()) {
+            if (exact && wanted.size() != current.size()) {
+                return false;
+            }
+            Iterator<Map.Entry<String, JsonNode>> fields = wanted.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                JsonNode currentField = current.get(field.getKey());
+                if (field.getValue().isNull()) {
+                    continue;
+                }
+                if (currentField == null || !isMatching(field.getValue(), currentField, exact)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (wanted.isArray() && current.isArray()) {
+            if (wanted.size() != current.size()) {
+                return false;
+            }
+            if (isPlain(wanted) && isPlain(current)) {
+                return toSortedTexts(wanted).equals(toSortedTexts(current));
+            }
+            return wanted.equals(current);
+        }
+        return false;
+    }
+
+    private boolean isPlain(JsonNode array) {
+        for (JsonNode item : array) {
+            if (!item.isValueNode()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<String> toSortedTexts(JsonNode array) {
+        List<String> texts = new ArrayList<>();
+        array.forEach(item -> texts.add(item.asText()));
+        texts.sort(null);
+        return texts;
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.dirty;
+
+import com.groocraft.keycloakform.config.ResourceFilter;
+
+import org.keycloak.models.ClientModel;
+import org.keycloak.models.RealmModel;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Resources of a realm modified since the last reconcile, recorded as sections of the realm ({@link ResourceFilter#TYPES})
+ * and internal ids of the modified clients. The class is not thread-safe, {@link DirtyTracker} guards it.
+ *
+ * @author Majlanky
+ */
+public class DirtyResources {
+
+    private final Set<String> types = new LinkedHashSet<>();
+    private final Set<String> clients = new LinkedHashSet<>();
+    //clients section modified without a known client
+    private boolean allClients;
+
+    void add(String type) {
+        types.add(type);
+        allClients |= ResourceFilter.CLIENTS.equals(type);
+    }
+
+    void addClient(String id) {
+        types.add(ResourceFilter.CLIENTS);
+        clients.add(id);
+    }
+
+    void addAll(DirtyResources other) {
+        types.addAll(other.types);
+        clients.addAll(other.clients);
+        allClients |= other.allClients;
+    }
+
+    public Set<String> getTypes() {
+        return Set.copyOf(types);
+    }
+
+    public Set<String> getClients() {
+        return Set.copyOf(clients);
+    }
+
+    /**
+     * Narrows the filter to the dirty resources of the realm, resources out of the scope of the filter stay out of it.
+     * Clients are narrowed only when all the dirty clients still exist, a deleted client can not be matched by its
+     * client id anymore, hence all the clients are reconciled. Dirty clients out of the scope of the filter are not
+     * reconciled at all.
+     *
+     * @param filter filter of the forming
+     * @param realm  the realm the resources belong to
+     * @return narrowed filter, null when nothing in the scope of the filter is dirty
+     */
+    public ResourceFilter narrow(ResourceFilter filter, RealmModel realm) {
+        List<String> clientIds = getClientIds(realm);
+        if (clientIds != null) {
+            clientIds = clientIds.stream().filter(id -> !filter.skips(ResourceFilter.CLIENT, id)).toList();
+        }
+        //clients section is not dirty when none of the dirty clients is in the scope of the filter
+        boolean clientsInScope = clientIds == null || !clientIds.isEmpty();
+        List<String> dirtyTypes = types.stream()
+            .filter(t -> !filter.skips(ResourceFilter.TYPE, t))
+            .filter(t -> clientsInScope || !ResourceFilter.CLIENTS.equals(t))
+            .toList();
+        if (dirtyTypes.isEmpty() || filter.skips(ResourceFilter.REALM, realm.getName())) {
+            return null;
+        }
+        ResourceFilter narrowed = filter.withOnly(ResourceFilter.REALM, realm.getName())
+            .withOnly(ResourceFilter.TYPE, dirtyTypes);
+        if (dirtyTypes.contains(ResourceFilter.CLIENTS) && clientIds != null) {
+            narrowed = narrowed.withOnly(ResourceFilter.CLIENT, clientIds);
+        }
+        return narrowed;
+    }
+
+    private List<String> getClientIds(RealmModel realm) {
+        if (allClients || clients.isEmpty()) {
+            return null;
+        }
+        List<String> clientIds = new ArrayList<>();
+        for (String id : clients) {
+            ClientModel client = realm.getClientById(id);
+            if (client == null) {
+                return null;
+            }
+            clientIds.add(client.getClientId());
+        }
+        return clientIds;
+    }
+
+    @Override
+    public String toString() {
+        return types + (clients.isEmpty() ? "" : " clients " + clients);
+    }
+}
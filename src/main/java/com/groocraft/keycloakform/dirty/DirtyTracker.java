@@ -0,0 +1,127 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.dirty;
+
+import com.groocraft.keycloakform.config.ResourceFilter;
+
+import org.keycloak.events.admin.AdminEvent;
+import org.keycloak.events.admin.ResourceType;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.CustomLog;
+
+/**
+ * Resources modified through the admin API since the last reconcile, keyed by the id of their realm. Admin events are
+ * recorded by the event listener of the realm and drained by the incremental reconcile, which then forms only the
+ * sections of the realms the events touched. Resources Keycloakform does not form (users, sessions, ...) are not
+ * recorded. Forming itself does not produce admin events, so it never marks anything dirty.
+ *
+ * @author Majlanky
+ */
+@CustomLog
+public final class DirtyTracker {
+
+    private static final String CLIENTS_PATH = "clients/";
+    private static final DirtyTracker INSTANCE = new DirtyTracker();
+
+    private Map<String, DirtyResources> dirty = new LinkedHashMap<>();
+
+    DirtyTracker() {
+    }
+
+    public static DirtyTracker getInstance() {
+        return INSTANCE;
+    }
+
+    public void record(AdminEvent event) {
+        if (event.getRealmId() == null || event.getResourceType() == null || event.getError() != null) {
+            return;
+        }
+        List<String> types = getTypes(event.getResourceType(), event.getResourcePath());
+        if (types.isEmpty()) {
+            return;
+        }
+        String clientId = getClient(event.getResourcePath());
+        synchronized (this) {
+            DirtyResources resources = dirty.computeIfAbsent(event.getRealmId(), realm -> new DirtyResources());
+            types.forEach(type -> {
+                if (ResourceFilter.CLIENTS.equals(type) && clientId != null) {
+                    resources.addClient(clientId);
+                } else {
+                    resources.add(type);
+                }
+            });
+        }
+        log.debugf("%s %s of realm %s is dirty", event.getResourceType(), event.getResourcePath(), event.getRealmId());
+    }
+
+    /**
+     * @return dirty resources by realm id recorded so far, the tracker starts from scratch
+     */
+    public synchronized Map<String, DirtyResources> drain() {
+        Map<String, DirtyResources> drained = dirty;
+        dirty = new LinkedHashMap<>();
+        return drained;
+    }
+
+    /**
+     * Returns the drained resources of a realm back, e.g. when their reconcile failed.
+     */
+    public synchronized void restore(String realmId, DirtyResources resources) {
+        dirty.computeIfAbsent(realmId, realm -> new DirtyResources()).addAll(resources);
+    }
+
+    public synchronized boolean isEmpty() {
+        return dirty.isEmpty();
+    }
+
+    private static List<String> getTypes(ResourceType type, String path) {
+        boolean ofClient = path != null && path.startsWith(CLIENTS_PATH);
+        return switch (type) {
+            case REALM -> List.of(ResourceFilter.SETTINGS);
+            case REALM_ROLE -> List.of(ResourceFilter.ROLES);
+            case CLIENT_ROLE -> List.of(ResourceFilter.ROLES, ResourceFilter.CLIENTS);
+            case REALM_SCOPE_MAPPING, CLIENT_SCOPE_MAPPING -> List.of(ResourceFilter.SCOPE_MAPPINGS);
+            case AUTH_FLOW, AUTH_EXECUTION_FLOW, AUTH_EXECUTION -> List.of(ResourceFilter.FLOWS);
+            case AUTHENTICATOR_CONFIG -> List.of(ResourceFilter.AUTHENTICATOR_CONFIGS);
+            case REQUIRED_ACTION, REQUIRED_ACTION_CONFIG -> List.of(ResourceFilter.REQUIRED_ACTIONS);
+            case IDENTITY_PROVIDER -> List.of(ResourceFilter.IDPS);
+            case IDENTITY_PROVIDER_MAPPER -> List.of(ResourceFilter.IDP_MAPPERS);
+            case CLIENT -> List.of(ResourceFilter.CLIENTS);
+            case CLIENT_SCOPE -> List.of(ResourceFilter.CLIENT_SCOPES);
+            //protocol mappers and assigned client scopes belong either to a client, or to a client scope or realm
+            case PROTOCOL_MAPPER -> List.of(ofClient ? ResourceFilter.CLIENTS : ResourceFilter.CLIENT_SCOPES);
+            case CLIENT_SCOPE_CLIENT_MAPPING -> List.of(ofClient ? ResourceFilter.CLIENTS : ResourceFilter.SETTINGS);
+            case GROUP -> List.of(ResourceFilter.GROUPS);
+            case ORGANIZATION, ORGANIZATION_MEMBERSHIP -> List.of(ResourceFilter.ORGANIZATIONS);
+            case COMPONENT, USER_FEDERATION_PROVIDER, USER_FEDERATION_MAPPER -> List.of(ResourceFilter.COMPONENTS);
+            default -> List.of();
+        };
+    }
+
+    private static String getClient(String path) {
+        if (path == null || !path.startsWith(CLIENTS_PATH)) {
+            return null;
+        }
+        String rest = path.substring(CLIENTS_PATH.length());
+        int end = rest.indexOf('/');
+        return end < 0 ? rest : rest.substring(0, end);
+    }
+}
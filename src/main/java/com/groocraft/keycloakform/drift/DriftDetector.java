@@ -0,0 +1,220 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.drift;
+
+import com.groocraft.keycloakform.config.FormerConfig;
+import com.groocraft.keycloakform.config.ResourceFilter;
+import com.groocraft.keycloakform.definition.RealmDefinition;
+import com.groocraft.keycloakform.definition.deserialization.Deserialization;
+import com.groocraft.keycloakform.health.FormingStatus;
+import com.groocraft.keycloakform.plan.OfflineDiff;
+import com.groocraft.keycloakform.plan.ReconcilePlan;
+
+import org.keycloak.exportimport.util.ExportUtils;
+import org.keycloak.models.KeycloakSession;
+import org.keycloak.models.KeycloakSessionFactory;
+import org.keycloak.models.RealmModel;
+import org.keycloak.models.utils.KeycloakModelUtils;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.CustomLog;
+
+/**
+ * Periodically compares the definitions with the current state of the instance without changing anything. Every realm
+ * is exported in its own transaction that is marked rollback-only before anything is read, so no write lock is taken
+ * and no cache is invalidated, and the export is compared by {@link OfflineDiff}, the same rules the formers follow.
+ * Realms are visited round-robin; a run stops once it has spent its CPU budget and the next run continues with the
+ * realm that was not visited, so large instances are covered over several runs. The comparison runs sequentially on
+ * the single detector thread, so the budget covers the whole work of the run.
+ * Results:
+ * - drift of every realm is logged, detailed report of all realms is written to the report file when configured
+ * - number of drifted resources is published as Micrometer gauge {@value #METRIC_NAME} tagged by {@code realm}
+ * Detection is paused while the forming is not finished.
+ *
+ * @author Majlanky
+ */
+@CustomLog
+public class DriftDetector {
+
+    static final String METRIC_NAME = "keycloakform.drift";
+    private static final boolean MICROMETER_PRESENT = isClassPresent("io.micrometer.core.instrument.Metrics");
+
+    private final List<RealmDefinition> definitions;
+    private final ResourceFilter filter;
+    private final long interval;
+    private final long cpuBudget;
+    private final Path reportFile;
+    private final OfflineDiff offlineDiff = new OfflineDiff(false);
+    private final Map<String, ReconcilePlan> drift = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> gauges = new ConcurrentHashMap<>();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private int cursor;
+    private ScheduledExecutorService executor;
+
+    public DriftDetector(FormerConfig config, List<RealmDefinition> definitions) {
+        this.definitions = definitions;
+        this.filter = config.getFilter() == null ? ResourceFilter.ALL : config.getFilter();
+        this.interval = config.getDriftInterval();
+        this.cpuBudget = TimeUnit.MILLISECONDS.toNanos(config.getDriftCpuBudget());
+        this.reportFile = config.getDriftReportFile() == null ? null : Path.of(config.getDriftReportFile());
+    }
+
+    /**
+     * Schedules the detection with the configured interval in seconds, the first run is delayed by one interval.
+     */
+    public void start(KeycloakSessionFactory factory) {
+        if (executor != null) {
+            return;
+        }
+        log.infof("Keycloakform detects drift of the definition every %d s", interval);
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "keycloakform-drift");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                detect(factory);
+            } catch (RuntimeException e) {
+                //the next run is not cancelled by a failure of this one
+                log.warn("Keycloakform drift detection failed", e);
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+    }
+
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return the latest detected drift per realm, realms without drift are not present
+     */
+    public Map<String, ReconcilePlan> getDrift() {
+        return new TreeMap<>(drift);
+    }
+
+    void detect(KeycloakSessionFactory factory) {
+        if (!FormingStatus.getInstance().isReady()) {
+            log.debug("Forming is not finished, drift detection skipped");
+            return;
+        }
+        List<RealmDefinition> realms = definitions.stream()
+            .filter(d -> !filter.skips(ResourceFilter.REALM, d.getRealm()))
+            .toList();
+        long start = cpuTime();
+        for (int visited = 0; visited < realms.size(); visited++) {
+            RealmDefinition definition = realms.get(cursor % realms.size());
+            cursor = (cursor + 1) % realms.size();
+            detect(factory, definition);
+            if (cpuTime() - start > cpuBudget && visited + 1 < realms.size()) {
+                log.debugf("Drift detection spent its CPU budget after %d of %d realms", visited + 1, realms.size());
+                break;
+            }
+        }
+        writeReport();
+    }
+
+    private void detect(KeycloakSessionFactory factory, RealmDefinition definition) {
+        ReconcilePlan plan = KeycloakModelUtils.runJobInTransactionWithResult(factory, session -> {
+            //nothing is written, hence nothing is locked or invalidated
+            session.getTransactionManager().setRollbackOnly();
+            return offlineDiff.diff(List.of(definition), export(session, definition.getRealm()));
+        });
+        String realm = definition.getRealm();
+        if (plan.isEmpty()) {
+            if (drift.remove(realm) != null) {
+                log.infof("Realm %s matches the definition again", realm);
+            }
+        } else {
+            drift.put(realm, plan);
+            log.warnf("Realm %s drifted from the definition, %d resources differ", realm, plan.getChanges().size());
+        }
+        if (MICROMETER_PRESENT) {
+            gauges.computeIfAbsent(realm, MicrometerPublisher::register).set(plan.getChanges().size());
+        }
+    }
+
+    private List<RealmDefinition> export(KeycloakSession session, String realmName) {
+        RealmModel realm = session.realms().getRealmByName(realmName);
+        if (realm == null) {
+            return List.of();
+        }
+        session.getContext().setRealm(realm);
+        return List.of(Deserialization.toDefinition(ExportUtils.exportRealm(session, realm, false, true)));
+    }
+
+    private void writeReport() {
+        if (reportFile == null) {
+            return;
+        }
+        StringBuilder report = new StringBuilder("Drift detected at ").append(Instant.now()).append('\n');
+        getDrift().forEach((realm, plan) -> report.append("Realm ").append(realm).append(": ").append(plan));
+        try {
+            //the report is replaced at once, a reader never sees a partially written one
+            Path temporary = reportFile.resolveSibling(reportFile.getFileName() + ".tmp");
+            Files.writeString(temporary, report, StandardCharsets.UTF_8);
+            Files.move(temporary, reportFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warnf("Unable to write drift report to %s: %s", reportFile.toAbsolutePath(), e.getMessage());
+        }
+    }
+
+    private long cpuTime() {
+        return threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    private static boolean isClassPresent(String className) {
+        try {
+            Class.forName(className, false, DriftDetector.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Isolates Micrometer classes, so they are loaded only when Micrometer is present.
+     */
+    private static class MicrometerPublisher {
+
+        private static AtomicLong register(String realm) {
+            return Metrics.gauge(METRIC_NAME, Tags.of("realm", realm), new AtomicLong());
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.former;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Journal of changes made to a single Keycloak resource during its forming. Changes are recorded by the proxy of the
+ * formed model (setters) and by updaters that modify attributes or config maps directly. Formers can use the journal
+ * to decide whether the resource must be written back to Keycloak at all.
+ *
+ * @author Majlanky
+ */
+public class ChangeJournal {
+
+    private final List<Change> changes = new ArrayList<>();
+
+    public void record(String attribute, Object original, Object current) {
+        changes.add(new Change(attribute, original, current));
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    public List<Change> getChanges() {
+        return Collections.unmodifiableList(changes);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        changes.forEach(c -> builder.append(c.getAttribute())
+            .append(": ")
+            .append(c.getOriginal())
+            .append(" >>> ")
+            .append(c.getCurrent())
+            .append('\n'));
+        return builder.toString();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Change {
+
+        private final String attribute;
+        private final Object original;
+        private final Object current;
+
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.groocraft.keycloakform.former;
+
+import com.groocraft.keycloakform.definition.ComponentDefinition;
+
+import org.keycloak.component.ComponentModel;
+import org.keycloak.models.RealmModel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Index of the components of a realm by id and by parent. It is built by a single scan of the realm components and
+ * kept current by the component formers, so lookups during the forming do not go to the storage. A component is
+ * identified by its id, a definition without id is matched by parent, provider type and name.
+ *
+ * @author Majlanky
+ */
+public class ComponentTree {
+
+    private final Map<String, ComponentModel> byId = new LinkedHashMap<>();
+    private final Map<String, Set<String>> childrenByParentId = new HashMap<>();
+
+    public static ComponentTree of(RealmModel realm) {
+        ComponentTree tree = new ComponentTree();
+        realm.getComponentsStream().forEach(tree::put);
+        return tree;
+    }
+
+    /**
+     * Adds the component to the index or replaces its previous state, e.g. when the parent changed.
+     *
+     * @param component created or updated component
+     */
+    public void put(ComponentModel component) {
+        remove(component.getId());
+        byId.put(component.getId(), component);
+        childrenByParentId.computeIfAbsent(component.getParentId(), k -> new LinkedHashSet<>()).add(component.getId());
+    }
+
+    public void remove(String id) {
+        ComponentModel previous = byId.remove(id);
+        if (previous != null) {
+            Set<String> siblings = childrenByParentId.get(previous.getParentId());
+            if (siblings != null) {
+                siblings.remove(id);
+            }
+        }
+    }
+
+    public ComponentModel find(ComponentDefinition definition) {
+        if (definition.getId() != null) {
+            return byId.get(definition.getId());
+        }
+        return getChildren(definition.getParentId()).stream()
+            .filter(c -> Objects.equals(c.getProviderType(), definition.getProviderType()))
+            .filter(c -> Objects.equals(c.getName(), definition.getName()))
+            .findFirst()
+            .orElse(null);
+    }
+
+    public List<ComponentModel> getChildren(String parentId) {
+        return childrenByParentId.getOrDefault(parentId, Collections.emptySet()).stream().map(byId::get).toList();
+    }
+
+    /**
+     * Returns all indexed components ordered bottom-up, every component precedes its parent, so it is safe to remove
+     * them in the order.
+     *
+     * @return components ordered from leaves to roots
+     */
+    public List<ComponentModel> getBottomUp() {
+        List<ComponentModel> result = new ArrayList<>(byId.size());
+        Set<String> visited = new HashSet<>();
+        byId.values().stream()
+            .filter(c -> !byId.containsKey(c.getParentId()))
+            .forEach(root -> collectBottomUp(root, result, visited));
+        //components in a parent cycle are not reachable from any root
+        byId.values().stream().filter(c -> !visited.contains(c.getId())).forEach(result::add);
+        return result;
+    }
+
+    private void collectBottomUp(ComponentModel component, List<ComponentModel> result, Set<String> visited) {
+        if (!visited.add(component.getId())) {
+            return;
+        }
+        getChildren(component.getId()).forEach(child -> collectBottomUp(child, result, visited));
+        result.add(component);
+    }
+
+}
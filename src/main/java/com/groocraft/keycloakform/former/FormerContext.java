@@ -16,7 +16,14 @@
 
 package com.groocraft.keycloakform.former;
 
+import com.groocraft.keycloakform.cache.InvalidationTracker;
+import com.groocraft.keycloakform.config.FormerConfig;
+import com.groocraft.keycloakform.config.ResourceFilter;
+import com.groocraft.keycloakform.definition.DefinitionTemplates;
 import com.groocraft.keycloakform.definition.RealmDefinition;
+import com.groocraft.keycloakform.jpa.JdbcBatching;
+import com.groocraft.keycloakform.keys.KeyPairPool;
+import com.groocraft.keycloakform.tracing.FormingTracer;
 
 import org.keycloak.component.ComponentModel;
 import org.keycloak.models.AuthenticationFlowModel;
@@ -36,15 +43,43 @@ public class FormerContext {
     @Setter
     private RealmDefinition realmDefinition;
     @Setter
+    private DefinitionTemplates templates;
+    @Setter
     private ComponentModel component;
     @Setter
+    private ComponentTree componentTree;
+    @Setter
+    private IdentityProviderIndex identityProviderIndex;
+    @Setter
+    private OrganizationIndex organizationIndex;
+    @Setter
     private String providerType;
     @Setter
     private AuthenticationFlowModel authenticationFlow;
+    @Setter
+    private ChangeJournal changeJournal = new ChangeJournal();
+    @Setter
+    private JdbcBatching jdbcBatching;
+    @Setter
+    private InvalidationTracker invalidationTracker;
+    @Setter
+    private FormingTracer tracer = FormingTracer.NOOP;
+    @Setter
+    private KeyPairPool keyPairPool;
+    //filter of the configuration by default, runtime triggers can narrow the scope of their own forming
+    @Setter
+    private ResourceFilter filter;
     private final KeycloakSession session;
+    private final FormerConfig config;
 
     public FormerContext(KeycloakSession session) {
+        this(session, FormerConfig.builder().build());
+    }
+
+    public FormerContext(KeycloakSession session, FormerConfig config) {
         this.session = session;
+        this.config = config;
+        this.filter = config.getFilter() == null ? ResourceFilter.ALL : config.getFilter();
     }
 
     public ClientModel getClient() {
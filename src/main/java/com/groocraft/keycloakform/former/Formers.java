@@ -25,6 +25,7 @@ import com.groocraft.keycloakform.former.collection.ComponentsFormer;
 import com.groocraft.keycloakform.former.collection.GroupsFormer;
 import com.groocraft.keycloakform.former.collection.IdentityProviderMappersFormer;
 import com.groocraft.keycloakform.former.collection.IdentityProvidersFormer;
+import com.groocraft.keycloakform.former.collection.OrganizationsFormer;
 import com.groocraft.keycloakform.former.collection.ProtocolMappersFormer;
 import com.groocraft.keycloakform.former.collection.RealmsFormer;
 import com.groocraft.keycloakform.former.collection.RequiredActionsFormer;
@@ -32,12 +33,14 @@ import com.groocraft.keycloakform.former.collection.RolesFormer;
 import com.groocraft.keycloakform.former.item.AuthenticationExecutionFormer;
 import com.groocraft.keycloakform.former.item.AuthenticationFlowFormer;
 import com.groocraft.keycloakform.former.item.AuthenticatorConfigFormer;
+import com.groocraft.keycloakform.former.item.AuthorizationFormer;
 import com.groocraft.keycloakform.former.item.ClientFormer;
 import com.groocraft.keycloakform.former.item.ClientScopeFormer;
 import com.groocraft.keycloakform.former.item.ComponentFormer;
 import com.groocraft.keycloakform.former.item.GroupFormer;
 import com.groocraft.keycloakform.former.item.IdentityProviderFormer;
 import com.groocraft.keycloakform.former.item.IdentityProviderMapperFormer;
+import com.groocraft.keycloakform.former.item.OrganizationFormer;
 import com.groocraft.keycloakform.former.item.ProtocolMapperFormer;
 import com.groocraft.keycloakform.former.item.RealmFormer;
 import com.groocraft.keycloakform.former.item.RequiredActionFormer;
@@ -77,6 +80,7 @@ public class Formers implements FormersFactory {
         addForCollection(new IdentityProvidersFormer(this));
         addForCollection(new IdentityProviderMappersFormer(this));
         addForCollection(new GroupsFormer(this));
+        addForCollection(new OrganizationsFormer(this));
         add(new RealmFormer(this));
         add(new ClientFormer(this));
         add(new ProtocolMapperFormer());
@@ -92,6 +96,8 @@ public class Formers implements FormersFactory {
         add(new IdentityProviderFormer());
         add(new IdentityProviderMapperFormer());
         add(new GroupFormer());
+        add(new AuthorizationFormer());
+        add(new OrganizationFormer());
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.groocraft.keycloakform.former;
+
+import org.keycloak.models.IdentityProviderMapperModel;
+import org.keycloak.models.IdentityProviderModel;
+import org.keycloak.models.IdentityProviderStorageProvider;
+import org.keycloak.models.RealmModel;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Index of the identity providers of a realm by alias and of their mappers grouped by the alias. Providers and mappers
+ * are read page by page from {@link IdentityProviderStorageProvider}, each of them once per realm forming, and the index
+ * is kept current by the formers, so lookups during the forming do not go to the storage.
+ *
+ * @author Majlanky
+ */
+public class IdentityProviderIndex {
+
+    static final int PAGE_SIZE = 500;
+
+    private final String realmId;
+    private final IdentityProviderStorageProvider storage;
+    private final Map<String, IdentityProviderModel> byAlias = new LinkedHashMap<>();
+    private Map<String, Map<String, IdentityProviderMapperModel>> mappersByAlias;
+
+    IdentityProviderIndex(String realmId, IdentityProviderStorageProvider storage) {
+        this.realmId = realmId;
+        this.storage = storage;
+        Paging.readAll(PAGE_SIZE, (first, max) -> storage.getAllStream(Map.of(), first, max), this::put);
+    }
+
+    /**
+     * Returns the index of the realm being formed, the index is created when the context holds none or holds an index of
+     * another realm.
+     *
+     * @param context context of the forming
+     * @return index of the current realm
+     */
+    public static IdentityProviderIndex of(FormerContext context) {
+        RealmModel realm = context.getRealm();
+        IdentityProviderIndex index = context.getIdentityProviderIndex();
+        if (index == null || !Objects.equals(index.realmId, realm.getId())) {
+            index = new IdentityProviderIndex(realm.getId(), context.getSession().identityProviders());
+            context.setIdentityProviderIndex(index);
+        }
+        return index;
+    }
+
+    public IdentityProviderModel get(String alias) {
+        return byAlias.get(alias);
+    }
+
+    public void put(IdentityProviderModel provider) {
+        byAlias.put(provider.getAlias(), provider);
+    }
+
+    public void remove(String alias) {
+        byAlias.remove(alias);
+        if (mappersByAlias != null) {
+            mappersByAlias.remove(alias);
+        }
+    }
+
+    public Collection<IdentityProviderModel> getAll() {
+        return List.copyOf(byAlias.values());
+    }
+
+    /**
+     * Returns mappers of the identity provider by their ids. Mappers of all providers are read on the first call.
+     *
+     * @param alias alias of the identity provider
+     * @return mappers of the provider, mutable to be kept current by the formers
+     */
+    public Map<String, IdentityProviderMapperModel> getMappers(String alias) {
+        return getMappersByAlias().computeIfAbsent(alias, a -> new LinkedHashMap<>());
+    }
+
+    /**
+     * @return aliases of identity providers having at least one mapper
+     */
+    public Collection<String> getMapperAliases() {
+        return getMappersByAlias().entrySet().stream().filter(e -> !e.getValue().isEmpty()).map(Map.Entry::getKey).toList();
+    }
+
+    /**
+     * Finds the mapper by its id, a mapper without id is matched by its name among the mappers of the identity provider.
+     *
+     * @param alias alias of the identity provider the mapper belongs to
+     * @param id    id of the mapper, can be null
+     * @param name  name of the mapper
+     * @return found mapper or null
+     */
+    public IdentityProviderMapperModel findMapper(String alias, String id, String name) {
+        if (id == null) {
+            return getMappers(alias).values().stream().filter(m -> Objects.equals(m.getName(), name)).findFirst().orElse(null);
+        }
+        IdentityProviderMapperModel mapper = getMappers(alias).get(id);
+        if (mapper == null) {
+            //mapper moved to another identity provider
+            mapper = getMappersByAlias().values().stream().map(m -> m.get(id)).filter(Objects::nonNull).findFirst().orElse(null);
+        }
+        return mapper;
+    }
+
+    public void putMapper(IdentityProviderMapperModel mapper) {
+        getMappersByAlias().values().forEach(mappers -> mappers.remove(mapper.getId()));
+        getMappers(mapper.getIdentityProviderAlias()).put(mapper.getId(), mapper);
+    }
+
+    public void removeMapper(IdentityProviderMapperModel mapper) {
+        getMappers(mapper.getIdentityProviderAlias()).remove(mapper.getId());
+    }
+
+    private Map<String, Map<String, IdentityProviderMapperModel>> getMappersByAlias() {
+        if (mappersByAlias == null) {
+            mappersByAlias = new LinkedHashMap<>();
+            Paging.readAll(PAGE_SIZE, (first, max) -> storage.getMappersStream(Map.of(), first, max),
+                m -> mappersByAlias.computeIfAbsent(m.getIdentityProviderAlias(), a -> new LinkedHashMap<>()).put(m.getId(), m));
+        }
+        return mappersByAlias;
+    }
+
+}
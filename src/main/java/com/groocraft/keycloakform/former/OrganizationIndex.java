@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.former;
+
+import org.keycloak.models.OrganizationModel;
+import org.keycloak.models.RealmModel;
+import org.keycloak.organization.OrganizationProvider;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Index of the organizations of a realm by alias. Organizations are read page by page from {@link OrganizationProvider}
+ * once per realm forming and the index is kept current by the formers, so realms with thousands of organizations are
+ * neither loaded at once nor queried per definition.
+ *
+ * @author Majlanky
+ */
+public class OrganizationIndex {
+
+    static final int PAGE_SIZE = 500;
+
+    private final String realmId;
+    private final Map<String, OrganizationModel> byAlias = new LinkedHashMap<>();
+
+    OrganizationIndex(String realmId, OrganizationProvider provider) {
+        this.realmId = realmId;
+        //blank search reads all organizations of the realm
+        Paging.readAll(PAGE_SIZE, (first, max) -> provider.getAllStream("", null, first, max), this::put);
+    }
+
+    /**
+     * Returns the index of the realm being formed, the index is created when the context holds none or holds an index of
+     * another realm.
+     *
+     * @param context context of the forming
+     * @return index of the current realm
+     */
+    public static OrganizationIndex of(FormerContext context) {
+        RealmModel realm = context.getRealm();
+        OrganizationIndex index = context.getOrganizationIndex();
+        if (index == null || !Objects.equals(index.realmId, realm.getId())) {
+            index = new OrganizationIndex(realm.getId(), context.getSession().getProvider(OrganizationProvider.class));
+            context.setOrganizationIndex(index);
+        }
+        return index;
+    }
+
+    public OrganizationModel get(String alias) {
+        return byAlias.get(alias);
+    }
+
+    public void put(OrganizationModel organization) {
+        byAlias.put(organization.getAlias(), organization);
+    }
+
+    public void remove(String alias) {
+        byAlias.remove(alias);
+    }
+
+    public Collection<OrganizationModel> getAll() {
+        return List.copyOf(byAlias.values());
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.former;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reading of paged Keycloak storage queries. Pages are read one after another until a page is not full, so large
+ * collections are never loaded by a single query.
+ *
+ * @author Majlanky
+ */
+public final class Paging {
+
+    private Paging() {
+    }
+
+    /**
+     * Reads all the items page by page.
+     *
+     * @param pageSize   maximal number of items of a page
+     * @param pageReader reader of the page by its first item and the maximal number of items
+     * @param consumer   consumer of every read item
+     * @param <T>        type of the items
+     */
+    public static <T> void readAll(int pageSize, BiFunction<Integer, Integer, Stream<T>> pageReader, Consumer<T> consumer) {
+        int first = 0;
+        List<T> page;
+        do {
+            page = pageReader.apply(first, pageSize).toList();
+            page.forEach(consumer);
+            first += page.size();
+        } while (page.size() == pageSize);
+    }
+
+}
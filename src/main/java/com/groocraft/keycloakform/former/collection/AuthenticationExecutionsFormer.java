@@ -21,6 +21,7 @@ import com.groocraft.keycloakform.former.CollectionFormer;
 import com.groocraft.keycloakform.former.FormerContext;
 import com.groocraft.keycloakform.former.FormersFactory;
 import com.groocraft.keycloakform.former.SyncMode;
+import com.groocraft.keycloakform.former.item.AuthenticationExecutionFormer;
 
 import java.util.Collection;
 
@@ -38,10 +39,15 @@ public class AuthenticationExecutionsFormer implements CollectionFormer<Authenti
     @Override
     public void form(Collection<AuthenticationExecutionDefinition> definitions, FormerContext context, SyncMode syncMode) {
         if (syncMode == SyncMode.FULL) {
-            log.infof("Authentication execution are not identified in any way, hence all existing will be removed for %s and recreated",
-                context.getAuthenticationFlow().getId());
+            //executions are not identified in any way, only the ones not matching any definition are removed
             context.getRealm().getAuthenticationExecutionsStream(context.getAuthenticationFlow().getId())
-                .forEach(ae -> context.getRealm().removeAuthenticatorExecution(ae));
+                .filter(ae -> definitions.stream().noneMatch(d -> AuthenticationExecutionFormer.isMatching(ae, d, context)))
+                .toList()
+                .forEach(ae -> {
+                    log.infof("Authentication execution %s %d is not declared in flow %s, removing it",
+                        ae.getAuthenticator(), ae.getPriority(), context.getAuthenticationFlow().getAlias());
+                    context.getRealm().removeAuthenticatorExecution(ae);
+                });
         }
 
         definitions.forEach(d -> formersFactory.getFor(d).form(d, context));
@@ -17,6 +17,7 @@
 package com.groocraft.keycloakform.former.collection;
 
 import com.groocraft.keycloakform.definition.ClientScopeDefinition;
+import com.groocraft.keycloakform.exception.DefinitionTemplateException;
 import com.groocraft.keycloakform.former.FormerContext;
 import com.groocraft.keycloakform.former.FormersFactory;
 import com.groocraft.keycloakform.former.generic.DefaultCollectionFormer;
@@ -37,6 +38,25 @@ public class ClientScopesFormer extends DefaultCollectionFormer<ClientScopeDefin
         super(formersFactory);
     }
 
+    @Override
+    protected void formOne(ClientScopeDefinition definition, FormerContext context) {
+        super.formOne(expand(definition, context), context);
+    }
+
+    /**
+     * Client scope extending a template is expanded right before it is formed, so only one expanded definition is held
+     */
+    private ClientScopeDefinition expand(ClientScopeDefinition definition, FormerContext context) {
+        if (definition.getTemplate() == null) {
+            return definition;
+        }
+        if (context.getTemplates() == null) {
+            throw new DefinitionTemplateException("Client scope " + definition.getName() + " extends template "
+                                                  + definition.getTemplate() + " but no templates are available");
+        }
+        return context.getTemplates().expand(definition);
+    }
+
     @Override
     protected void deleteUndeclaredKeycloakResources(Collection<ClientScopeDefinition> definitions, FormerContext context) {
         Set<String> defined = new HashSet<>(definitions.stream().map(ClientScopeDefinition::getName).toList());
@@ -16,7 +16,9 @@
 
 package com.groocraft.keycloakform.former.collection;
 
+import com.groocraft.keycloakform.config.ResourceFilter;
 import com.groocraft.keycloakform.definition.ClientDefinition;
+import com.groocraft.keycloakform.exception.DefinitionTemplateException;
 import com.groocraft.keycloakform.former.FormerContext;
 import com.groocraft.keycloakform.former.FormersFactory;
 import com.groocraft.keycloakform.former.generic.DefaultCollectionFormer;
@@ -37,6 +39,29 @@ public class ClientsFormer extends DefaultCollectionFormer<ClientDefinition> {
         super(formersFactory);
     }
 
+    @Override
+    protected void formOne(ClientDefinition definition, FormerContext context) {
+        if (context.getFilter().skips(ResourceFilter.CLIENT, definition.getClientId())) {
+            log.debugf("Client %s is out of the filter scope, skipping it", definition.getClientId());
+            return;
+        }
+        super.formOne(expand(definition, context), context);
+    }
+
+    /**
+     * Client extending a template is expanded right before it is formed, so only one expanded definition is held
+     */
+    private ClientDefinition expand(ClientDefinition definition, FormerContext context) {
+        if (definition.getTemplate() == null) {
+            return definition;
+        }
+        if (context.getTemplates() == null) {
+            throw new DefinitionTemplateException("Client " + definition.getClientId() + " extends template "
+                                                  + definition.getTemplate() + " but no templates are available");
+        }
+        return context.getTemplates().expand(definition);
+    }
+
     @Override
     protected void deleteUndeclaredKeycloakResources(Collection<ClientDefinition> definitions, FormerContext context) {
         Set<String> definedClientIds = new HashSet<>(definitions.stream().map(ClientDefinition::getClientId).toList());
@@ -45,6 +70,7 @@ public class ClientsFormer extends DefaultCollectionFormer<ClientDefinition> {
 
         realm.getClientsStream()
             .filter(c -> !definedClientIds.contains(c.getClientId()))
+            .filter(c -> !context.getFilter().skips(ResourceFilter.CLIENT, c.getClientId()))
             .forEach(m -> remove(m, realm));
     }
 
@@ -17,19 +17,29 @@
 package com.groocraft.keycloakform.former.collection;
 
 import com.groocraft.keycloakform.definition.ComponentDefinition;
+import com.groocraft.keycloakform.former.ComponentTree;
 import com.groocraft.keycloakform.former.FormerContext;
 import com.groocraft.keycloakform.former.FormersFactory;
+import com.groocraft.keycloakform.former.SyncMode;
 import com.groocraft.keycloakform.former.generic.DefaultCollectionFormer;
 
 import org.keycloak.component.ComponentModel;
 import org.keycloak.models.RealmModel;
 
 import java.util.Collection;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import lombok.CustomLog;
 
+/**
+ * Former of all components of a realm. Definitions are expected in the pre-order of the component tree, so parents
+ * are formed before their children. Existing components are indexed once per forming ({@link ComponentTree}) and
+ * undeclared components are removed bottom-up, children before their parents.
+ *
+ * @author Majlanky
+ */
 @CustomLog
 public class ComponentsFormer extends DefaultCollectionFormer<ComponentDefinition> {
 
@@ -37,18 +47,34 @@ public class ComponentsFormer extends DefaultCollectionFormer<ComponentDefinitio
         super(formersFactory);
     }
 
+    @Override
+    public void form(Collection<ComponentDefinition> definitions, FormerContext context, SyncMode syncMode) {
+        context.setComponentTree(ComponentTree.of(context.getRealm()));
+        try {
+            super.form(definitions, context, syncMode);
+        } finally {
+            context.setComponentTree(null);
+        }
+    }
+
     @Override
     protected void deleteUndeclaredKeycloakResources(Collection<ComponentDefinition> definitions, FormerContext context) {
-        Set<String> defined = definitions.stream().map(ComponentDefinition::getId).collect(Collectors.toSet());
-        Set<ComponentModel> toBeRemoved = context.getRealm().getComponentsStream()
-            .filter(m -> !defined.contains(m.getName())).collect(Collectors.toSet());
+        ComponentTree tree = context.getComponentTree();
+        Set<String> declared = definitions.stream()
+            .map(tree::find)
+            .filter(Objects::nonNull)
+            .map(ComponentModel::getId)
+            .collect(Collectors.toSet());
 
-        toBeRemoved.forEach(m -> remove(m, context.getRealm()));
+        tree.getBottomUp().stream()
+            .filter(m -> !declared.contains(m.getId()))
+            .forEach(m -> remove(m, tree, context.getRealm()));
     }
 
-    private void remove(ComponentModel component, RealmModel realm) {
+    private void remove(ComponentModel component, ComponentTree tree, RealmModel realm) {
         log.infof("Component %s is present but not defined, deleting it", component.getId());
         realm.removeComponent(component);
+        tree.remove(component.getId());
     }
 
     @Override
@@ -19,17 +19,25 @@ package com.groocraft.keycloakform.former.collection;
 import com.groocraft.keycloakform.definition.IdentityProviderMapperDefinition;
 import com.groocraft.keycloakform.former.FormerContext;
 import com.groocraft.keycloakform.former.FormersFactory;
+import com.groocraft.keycloakform.former.IdentityProviderIndex;
 import com.groocraft.keycloakform.former.generic.DefaultCollectionFormer;
 
 import org.keycloak.models.IdentityProviderMapperModel;
-import org.keycloak.models.RealmModel;
 
 import java.util.Collection;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import lombok.CustomLog;
 
+/**
+ * Former of identity provider mappers of a realm. Existing mappers are read page by page and grouped by the alias of
+ * their identity provider in {@link IdentityProviderIndex}, every definition is reconciled against the group of its
+ * provider.
+ *
+ * @author Majlanky
+ */
 @CustomLog
 public class IdentityProviderMappersFormer extends DefaultCollectionFormer<IdentityProviderMapperDefinition> {
 
@@ -39,16 +47,24 @@ public class IdentityProviderMappersFormer extends DefaultCollectionFormer<Ident
 
     @Override
     protected void deleteUndeclaredKeycloakResources(Collection<IdentityProviderMapperDefinition> definitions, FormerContext context) {
-        Set<String> defined = definitions.stream().map(IdentityProviderMapperDefinition::getId).collect(Collectors.toSet());
-        Set<IdentityProviderMapperModel> toBeRemoved = context.getRealm().getIdentityProviderMappersStream()
-            .filter(m -> !defined.contains(m.getId())).collect(Collectors.toSet());
+        IdentityProviderIndex index = IdentityProviderIndex.of(context);
+        Set<String> defined = definitions.stream()
+            .map(d -> index.findMapper(d.getIdentityProviderAlias(), d.getId(), d.getName()))
+            .filter(Objects::nonNull)
+            .map(IdentityProviderMapperModel::getId)
+            .collect(Collectors.toSet());
 
-        toBeRemoved.forEach(m -> remove(m, context.getRealm()));
+        index.getMapperAliases().stream()
+            .flatMap(alias -> index.getMappers(alias).values().stream())
+            .filter(m -> !defined.contains(m.getId()))
+            .toList()
+            .forEach(m -> remove(m, index, context));
     }
 
-    private void remove(IdentityProviderMapperModel mapper, RealmModel realm) {
+    private void remove(IdentityProviderMapperModel mapper, IdentityProviderIndex index, FormerContext context) {
         log.infof("Identity provider mapper %s is present but not defined, deleting it", mapper.getId());
-        realm.removeIdentityProviderMapper(mapper);
+        context.getSession().identityProviders().removeMapper(mapper);
+        index.removeMapper(mapper);
     }
 
     @Override
@@ -19,10 +19,10 @@ package com.groocraft.keycloakform.former.collection;
 import com.groocraft.keycloakform.definition.IdentityProviderDefinition;
 import com.groocraft.keycloakform.former.FormerContext;
 import com.groocraft.keycloakform.former.FormersFactory;
+import com.groocraft.keycloakform.former.IdentityProviderIndex;
 import com.groocraft.keycloakform.former.generic.DefaultCollectionFormer;
 
 import org.keycloak.models.IdentityProviderModel;
-import org.keycloak.models.RealmModel;
 
 import java.util.Collection;
 import java.util.Set;
@@ -30,6 +30,12 @@ import java.util.stream.Collectors;
 
 import lombok.CustomLog;
 
+/**
+ * Former of identity providers of a realm. Existing providers are read page by page into {@link IdentityProviderIndex}
+ * once per realm, so realms with thousands of providers are neither loaded at once nor queried per definition.
+ *
+ * @author Majlanky
+ */
 @CustomLog
 public class IdentityProvidersFormer extends DefaultCollectionFormer<IdentityProviderDefinition> {
 
@@ -40,15 +46,17 @@ public class IdentityProvidersFormer extends DefaultCollectionFormer<IdentityPro
     @Override
     protected void deleteUndeclaredKeycloakResources(Collection<IdentityProviderDefinition> definitions, FormerContext context) {
         Set<String> defined = definitions.stream().map(IdentityProviderDefinition::getAlias).collect(Collectors.toSet());
-        Set<IdentityProviderModel> toBeRemoved = context.getRealm().getIdentityProvidersStream()
-            .filter(m -> !defined.contains(m.getAlias())).collect(Collectors.toSet());
+        IdentityProviderIndex index = IdentityProviderIndex.of(context);
 
-        toBeRemoved.forEach(m -> remove(m, context.getRealm()));
+        index.getAll().stream()
+            .filter(m -> !defined.contains(m.getAlias()))
+            .forEach(m -> remove(m, index, context));
     }
 
-    private void remove(IdentityProviderModel provider, RealmModel realm) {
+    private void remove(IdentityProviderModel provider, IdentityProviderIndex index, FormerContext context) {
         log.infof("Identity provider %s is present but not defined, deleting it", provider.getAlias());
-        realm.removeIdentityProviderByAlias(provider.getAlias());
+        context.getSession().identityProviders().remove(provider.getAlias());
+        index.remove(provider.getAlias());
     }
 
     @Override
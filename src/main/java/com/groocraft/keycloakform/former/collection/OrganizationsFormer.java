@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.former.collection;
+
+import com.groocraft.keycloakform.definition.OrganizationDefinition;
+import com.groocraft.keycloakform.former.FormerContext;
+import com.groocraft.keycloakform.former.FormersFactory;
+import com.groocraft.keycloakform.former.OrganizationIndex;
+import com.groocraft.keycloakform.former.SyncMode;
+import com.groocraft.keycloakform.former.generic.DefaultCollectionFormer;
+
+import org.keycloak.models.OrganizationModel;
+import org.keycloak.organization.OrganizationProvider;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import lombok.CustomLog;
+
+/**
+ * Former of organizations of a realm. Existing organizations are read page by page into {@link OrganizationIndex} once
+ * per realm and matched by their aliases. Organizations are formed only when they are enabled for the realm, otherwise
+ * neither created nor deleted.
+ *
+ * @author Majlanky
+ */
+@CustomLog
+public class OrganizationsFormer extends DefaultCollectionFormer<OrganizationDefinition> {
+
+    public OrganizationsFormer(FormersFactory formersFactory) {
+        super(formersFactory);
+    }
+
+    @Override
+    public void form(Collection<OrganizationDefinition> definitions, FormerContext context, SyncMode syncMode) {
+        OrganizationProvider provider = context.getSession().getProvider(OrganizationProvider.class);
+        if (provider == null || !provider.isEnabled()) {
+            if (!definitions.isEmpty()) {
+                log.warnf("Organizations are not enabled for realm %s, %d organizations skipped",
+                    context.getRealm().getName(), definitions.size());
+            }
+            return;
+        }
+        super.form(definitions, context, syncMode);
+    }
+
+    @Override
+    protected void deleteUndeclaredKeycloakResources(Collection<OrganizationDefinition> definitions, FormerContext context) {
+        Set<String> defined = definitions.stream().map(OrganizationDefinition::getAlias).collect(Collectors.toSet());
+        OrganizationIndex index = OrganizationIndex.of(context);
+
+        index.getAll().stream()
+            .filter(m -> !defined.contains(m.getAlias()))
+            .forEach(m -> remove(m, index, context));
+    }
+
+    private void remove(OrganizationModel organization, OrganizationIndex index, FormerContext context) {
+        log.infof("Organization %s is present but not defined, deleting it", organization.getAlias());
+        context.getSession().getProvider(OrganizationProvider.class).remove(organization);
+        index.remove(organization.getAlias());
+    }
+
+    @Override
+    public Class<OrganizationDefinition> getDefinitionClass() {
+        return OrganizationDefinition.class;
+    }
+}
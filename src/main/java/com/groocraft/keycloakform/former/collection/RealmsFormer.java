@@ -16,6 +16,7 @@
 
 package com.groocraft.keycloakform.former.collection;
 
+import com.groocraft.keycloakform.config.ResourceFilter;
 import com.groocraft.keycloakform.definition.RealmDefinition;
 import com.groocraft.keycloakform.former.FormerContext;
 import com.groocraft.keycloakform.former.FormersFactory;
@@ -41,6 +42,7 @@ import lombok.CustomLog;
  * - Handling unmanaged realms by skipping their formation.
  * - Delegating realm formation tasks to other {@link ItemFormer} implementations through the {@link FormersFactory}.
  * - Identifying and removing realms not defined in the configuration but present in Keycloak, unless it is the admin realm.
+ * - Skipping realms out of the scope of the {@link ResourceFilter}, both in forming and deletion.
  * This former can operate in two modes:
  * - Dry run: Where changes are identified and logged without being applied.
  * - Execute: Where changes are applied directly to the Keycloak environment.
@@ -55,12 +57,22 @@ public class RealmsFormer extends DefaultCollectionFormer<RealmDefinition> {
         super(formersFactory);
     }
 
+    @Override
+    protected void formOne(RealmDefinition definition, FormerContext context) {
+        if (context.getFilter().skips(ResourceFilter.REALM, definition.getRealm())) {
+            log.debugf("Realm %s is out of the filter scope, skipping it", definition.getRealm());
+            return;
+        }
+        super.formOne(definition, context);
+    }
+
     protected void deleteUndeclaredKeycloakResources(Collection<RealmDefinition> definitions, FormerContext context) {
         Set<String> definedRealms = new HashSet<>(definitions.stream().map(RealmDefinition::getRealm).toList());
         //to be sure that admin realm is untouched
         definedRealms.add(Config.getAdminRealm());
         context.getSession().realms().getRealmsStream()
             .filter(m -> !definedRealms.contains(m.getName()))
+            .filter(m -> !context.getFilter().skips(ResourceFilter.REALM, m.getName()))
             .forEach(m -> remove(context, m));
     }
 
@@ -16,11 +16,13 @@
 
 package com.groocraft.keycloakform.former.generic;
 
+import com.groocraft.keycloakform.cache.InvalidationTracker;
 import com.groocraft.keycloakform.definition.Definition;
 import com.groocraft.keycloakform.former.CollectionFormer;
 import com.groocraft.keycloakform.former.FormerContext;
 import com.groocraft.keycloakform.former.FormersFactory;
 import com.groocraft.keycloakform.former.SyncMode;
+import com.groocraft.keycloakform.tracing.FormingSpan;
 
 import java.util.Collection;
 
@@ -34,10 +36,37 @@ public abstract class DefaultCollectionFormer<DefinitionT extends Definition> im
 
     @Override
     public void form(Collection<DefinitionT> definitions, FormerContext context, SyncMode syncMode) {
-        definitions.forEach(d -> formOne(d, context));
+        FormingSpan span = context.getTracer().startSpan(getClass().getSimpleName())
+            .setAttribute(FormingSpan.RESOURCE_TYPE, getDefinitionClass().getSimpleName())
+            .setAttribute(FormingSpan.OPERATION, "form")
+            .setAttribute(FormingSpan.SYNC_MODE, syncMode.name());
+        //invalidations caused by deletions are counted to the collection former, items count their own
+        InvalidationTracker invalidationTracker = context.getInvalidationTracker();
+        if (invalidationTracker != null) {
+            invalidationTracker.enterFormer(getClass().getSimpleName());
+        }
+        try {
+            definitions.forEach(d -> formOne(d, context));
 
-        if(syncMode == SyncMode.FULL) {
+            if(syncMode == SyncMode.FULL) {
+                deleteUndeclared(definitions, context);
+            }
+        } finally {
+            if (invalidationTracker != null) {
+                invalidationTracker.exitFormer();
+            }
+            span.end();
+        }
+    }
+
+    private void deleteUndeclared(Collection<DefinitionT> definitions, FormerContext context) {
+        FormingSpan span = context.getTracer().startSpan("Deletion of undeclared")
+            .setAttribute(FormingSpan.RESOURCE_TYPE, getDefinitionClass().getSimpleName())
+            .setAttribute(FormingSpan.OPERATION, "delete");
+        try {
             deleteUndeclaredKeycloakResources(definitions, context);
+        } finally {
+            span.end();
         }
     }
 
@@ -45,6 +74,10 @@ public abstract class DefaultCollectionFormer<DefinitionT extends Definition> im
 
     protected void formOne(DefinitionT definition, FormerContext context) {
         formersFactory.getFor(definition).form(definition, context);
+        //item is formed completely, it is safe point for flushing of the batched writes
+        if (context.getJdbcBatching() != null) {
+            context.getJdbcBatching().itemFormed();
+        }
     }
 
     protected FormersFactory getFormersFactory() {
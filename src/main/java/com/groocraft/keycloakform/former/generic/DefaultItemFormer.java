@@ -16,11 +16,14 @@
 
 package com.groocraft.keycloakform.former.generic;
 
+import com.groocraft.keycloakform.cache.InvalidationTracker;
 import com.groocraft.keycloakform.definition.Definition;
 import com.groocraft.keycloakform.exception.ModelProxyException;
+import com.groocraft.keycloakform.former.ChangeJournal;
 import com.groocraft.keycloakform.former.FormerContext;
 import com.groocraft.keycloakform.former.ItemFormer;
 import com.groocraft.keycloakform.former.SyncMode;
+import com.groocraft.keycloakform.tracing.FormingSpan;
 
 import org.jboss.logging.Logger;
 
@@ -62,43 +65,95 @@ public abstract class DefaultItemFormer<KeycloakT, DefinitionT extends Definitio
     protected abstract String getLogIdentifier(DefinitionT definition);
 
     protected void update(KeycloakT keycloakResource, DefinitionT definition, FormerContext context, String logIdentifier) {
-        StringBuilder changeLog = new StringBuilder();
-        ItemFormerMethodHandler handler = new ItemFormerMethodHandler(keycloakResource,
-            (attribute, original, current) -> changeLog.append(attribute)
-                .append(": ")
-                .append(original)
-                .append(" >>> ")
-                .append(current)
-                .append('\n'));
+        ChangeJournal changeJournal = new ChangeJournal();
+        //nested resources are formed during the update, journal of the parent resource must be restored afterward
+        ChangeJournal parentChangeJournal = context.getChangeJournal();
+        context.setChangeJournal(changeJournal);
+        ItemFormerMethodHandler handler = new ItemFormerMethodHandler(keycloakResource, changeJournal::record);
         KeycloakT proxiedResource = proxyOf(getKeycloakResourceClass(), handler);
-        update(proxiedResource, definition, context);
-        if (changeLog.isEmpty()) {
+        try {
+            update(proxiedResource, definition, context);
+        } finally {
+            context.setChangeJournal(parentChangeJournal);
+        }
+        if (changeJournal.isEmpty()) {
             log.infof("%s without changes", logIdentifier);
         } else {
             log.infof("%s updated with the following changes:\n %s",
                 logIdentifier,
-                changeLog);
+                changeJournal);
         }
     }
 
+    /**
+     * Create mode of forming. Freshly created resource is populated directly, without proxy and change logging, as
+     * there is nothing to compare with. Only the creation itself is logged.
+     */
+    protected void populate(KeycloakT keycloakResource, DefinitionT definition, FormerContext context, String logIdentifier) {
+        ChangeJournal parentChangeJournal = context.getChangeJournal();
+        context.setChangeJournal(new ChangeJournal());
+        try {
+            populate(keycloakResource, definition, context);
+        } finally {
+            context.setChangeJournal(parentChangeJournal);
+        }
+        log.infof("%s created", logIdentifier);
+    }
+
+    /**
+     * Populates freshly created resource by the definition. Formers should override it when the update does
+     * unnecessary work for new resources (lookups of existing state, comparisons). By default, it is the same as
+     * update.
+     *
+     * @param keycloakResource freshly created resource returned by {@link #create(Definition, FormerContext)}
+     * @param definition       used as source of wanted state
+     * @param context          context of the forming
+     */
+    protected void populate(KeycloakT keycloakResource, DefinitionT definition, FormerContext context) {
+        update(keycloakResource, definition, context);
+    }
+
     @Override
     public void form(DefinitionT definition, FormerContext context) {
         //FIXME validate(definition);
         String logIdentifier = getLogIdentifier(definition);
-        if (definition.getSyncMode() == SyncMode.IGNORE) {
-            log.infof("%s sync mode IGNORE, skipping it", logIdentifier);
-            return;
+        FormingSpan span = context.getTracer().startSpan(logIdentifier)
+            .setAttribute(FormingSpan.RESOURCE_TYPE, getDefinitionClass().getSimpleName())
+            .setAttribute(FormingSpan.RESOURCE_ID, logIdentifier);
+        try {
+            if (definition.getSyncMode() == SyncMode.IGNORE) {
+                log.infof("%s sync mode IGNORE, skipping it", logIdentifier);
+                span.setAttribute(FormingSpan.OPERATION, "skip");
+                return;
+            }
+            form(definition, context, logIdentifier, span);
+        } finally {
+            span.end();
         }
+    }
 
-        KeycloakT keycloakResource = getModel(definition, context);
-
-        if (keycloakResource == null) {
-            log.infof("%s does not exist, will be created and formed", logIdentifier);
-            keycloakResource = create(definition, context);
-        } else {
-            log.infof("%s exits and will be formed", logIdentifier);
+    private void form(DefinitionT definition, FormerContext context, String logIdentifier, FormingSpan span) {
+        InvalidationTracker invalidationTracker = context.getInvalidationTracker();
+        if (invalidationTracker != null) {
+            invalidationTracker.enterFormer(getClass().getSimpleName());
+        }
+        try {
+            KeycloakT keycloakResource = getModel(definition, context);
+
+            if (keycloakResource == null) {
+                span.setAttribute(FormingSpan.OPERATION, "create");
+                keycloakResource = create(definition, context);
+                populate(keycloakResource, definition, context, logIdentifier);
+            } else {
+                span.setAttribute(FormingSpan.OPERATION, "update");
+                log.infof("%s exits and will be formed", logIdentifier);
+                update(keycloakResource, definition, context, logIdentifier);
+            }
+        } finally {
+            if (invalidationTracker != null) {
+                invalidationTracker.exitFormer();
+            }
         }
-        update(keycloakResource, definition, context, logIdentifier);
     }
 
     @SuppressWarnings("unchecked")
@@ -42,11 +42,16 @@ public class AuthenticationExecutionFormer extends DefaultItemFormer<Authenticat
     @Override
     protected AuthenticationExecutionModel getModel(AuthenticationExecutionDefinition definition, FormerContext context) {
         return context.getRealm().getAuthenticationExecutionsStream(context.getAuthenticationFlow().getId())
-            .filter(ae -> isEqual(ae, definition, context))
+            .filter(ae -> isMatching(ae, definition, context))
             .findFirst().orElse(null);
     }
 
-    private boolean isEqual(AuthenticationExecutionModel model, AuthenticationExecutionDefinition definition, FormerContext context) {
+    /**
+     * Authentication executions have no identifier, the existing execution is the one matching the definition in all
+     * attributes.
+     */
+    public static boolean isMatching(AuthenticationExecutionModel model, AuthenticationExecutionDefinition definition,
+                                     FormerContext context) {
         return Objects.equals(model.getAuthenticator(), definition.getAuthenticator())
                        && model.getPriority() == definition.getPriority()
                        && model.getRequirement() == AuthenticationExecutionModel.Requirement.valueOf(definition.getRequirement())
@@ -54,14 +59,14 @@ public class AuthenticationExecutionFormer extends DefaultItemFormer<Authenticat
                        && isAuthenticatorEqual(model.getAuthenticatorConfig(), definition.getAuthenticatorConfig(), context);
     }
 
-    private boolean isAuthenticatorEqual(String id, String alias, FormerContext context) {
+    private static boolean isAuthenticatorEqual(String id, String alias, FormerContext context) {
         if(alias != null) {
             AuthenticatorConfigModel config = context.getRealm().getAuthenticatorConfigByAlias(alias);
             Asserts.check(config != null,
                 "Authenticator config of alias %s does not exist", alias);
             return Objects.equals(id, config.getId());
         }
-        return false;
+        return id == null;
     }
 
     @Override
@@ -73,13 +78,15 @@ public class AuthenticationExecutionFormer extends DefaultItemFormer<Authenticat
     }
 
     @Override
-    protected void update(AuthenticationExecutionModel model, AuthenticationExecutionDefinition definition, FormerContext context) {
+    protected void populate(AuthenticationExecutionModel model, AuthenticationExecutionDefinition definition, FormerContext context) {
         updater.update(model, definition, context);
+        context.getRealm().addAuthenticatorExecution(model);
+    }
 
-        AuthenticationExecutionModel existing = getModel(definition, context);
-        if (existing == null) {
-            context.getRealm().addAuthenticatorExecution(model);
-        }
+    @Override
+    protected void update(AuthenticationExecutionModel model, AuthenticationExecutionDefinition definition, FormerContext context) {
+        //existing execution matches the definition in all attributes, see getModel
+        updater.update(model, definition, context);
     }
 
     @Override
@@ -48,14 +48,17 @@ public class AuthenticationFlowFormer extends DefaultItemFormer<AuthenticationFl
         return model;
     }
 
+    @Override
+    protected void populate(AuthenticationFlowModel model, AuthenticationFlowDefinition definition, FormerContext context) {
+        updater.update(model, definition, context);
+        context.getRealm().addAuthenticationFlow(model);
+    }
+
     @Override
     protected void update(AuthenticationFlowModel model, AuthenticationFlowDefinition definition, FormerContext context) {
         updater.update(model, definition, context);
 
-        AuthenticationFlowModel existing = getModel(definition, context);
-        if (existing == null) {
-            context.getRealm().addAuthenticationFlow(model);
-        } else {
+        if (!context.getChangeJournal().isEmpty()) {
             context.getRealm().updateAuthenticationFlow(model);
         }
     }
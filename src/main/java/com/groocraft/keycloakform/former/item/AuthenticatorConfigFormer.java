@@ -46,14 +46,17 @@ public class AuthenticatorConfigFormer extends DefaultItemFormer<AuthenticatorCo
         return model;
     }
 
+    @Override
+    protected void populate(AuthenticatorConfigModel model, AuthenticatorConfigDefinition definition, FormerContext context) {
+        updater.update(model, definition, context);
+        context.getRealm().addAuthenticatorConfig(model);
+    }
+
     @Override
     protected void update(AuthenticatorConfigModel model, AuthenticatorConfigDefinition definition, FormerContext context) {
         updater.update(model, definition, context);
 
-        AuthenticatorConfigModel existing = getModel(definition, context);
-        if (existing == null) {
-            context.getRealm().addAuthenticatorConfig(model);
-        } else {
+        if (!context.getChangeJournal().isEmpty()) {
             context.getRealm().updateAuthenticatorConfig(model);
         }
     }
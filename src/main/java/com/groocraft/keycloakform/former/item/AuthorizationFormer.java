@@ -0,0 +1,543 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.former.item;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.groocraft.keycloakform.definition.AuthorizationDefinitionHelper;
+import com.groocraft.keycloakform.former.FormerContext;
+import com.groocraft.keycloakform.former.ItemFormer;
+import com.groocraft.keycloakform.former.SyncMode;
+import com.groocraft.keycloakform.tracing.FormingSpan;
+
+import org.keycloak.authorization.AuthorizationProvider;
+import org.keycloak.authorization.model.Policy;
+import org.keycloak.authorization.model.Resource;
+import org.keycloak.authorization.model.ResourceServer;
+import org.keycloak.authorization.model.Scope;
+import org.keycloak.authorization.policy.provider.PolicyProviderFactory;
+import org.keycloak.authorization.store.PolicyStore;
+import org.keycloak.authorization.store.ResourceServerStore;
+import org.keycloak.authorization.store.ResourceStore;
+import org.keycloak.authorization.store.ScopeStore;
+import org.keycloak.models.ClientModel;
+import org.keycloak.models.utils.ModelToRepresentation;
+import org.keycloak.models.utils.RepresentationToModel;
+import org.keycloak.representations.idm.authorization.PolicyRepresentation;
+import org.keycloak.representations.idm.authorization.ResourceOwnerRepresentation;
+import org.keycloak.representations.idm.authorization.ResourceRepresentation;
+import org.keycloak.representations.idm.authorization.ResourceServerRepresentation;
+import org.keycloak.representations.idm.authorization.ScopeRepresentation;
+import org.keycloak.util.JsonSerialization;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import lombok.CustomLog;
+
+/**
+ * Former of authorization services of a client (resource server with its scopes, resources, policies and permissions).
+ * Clients with fine-grained authorization hold tens of thousands of resources and policies, hence the resource server
+ * is reconciled instead of being imported again: its scopes, resources and policies are read once into tables by their
+ * names, declared items are formed in the order of their dependencies (scopes, resources, policies, permissions) and
+ * existing items are written only when they differ from the definition. Every written item is a safe point of the bulk
+ * mode, so the session is flushed in chunks. In FULL sync mode, undeclared items are removed, dependent ones first.
+ * Policies are compared in the form Keycloak exports them. Only the configuration declared by the definition is
+ * compared, as policy providers keep their own configuration. Resources owned by users are not indexed, the ones
+ * declared by the definition are formed by {@link RepresentationToModel} and never removed.
+ *
+ * @author Majlanky
+ */
+@CustomLog
+public class AuthorizationFormer implements ItemFormer<AuthorizationDefinitionHelper> {
+
+    private static final Set<String> PERMISSION_TYPES = Set.of("resource", "scope");
+    private static final String RESOURCES = "resources";
+    private static final String SCOPES = "scopes";
+    private static final String APPLY_POLICIES = "applyPolicies";
+    private static final Set<String> RELATIONS = Set.of(RESOURCES, SCOPES, APPLY_POLICIES);
+    private static final TypeReference<Set<String>> NAMES = new TypeReference<>() {
+    };
+
+    @Override
+    public void form(AuthorizationDefinitionHelper definition, FormerContext context) {
+        ClientModel client = context.getClient();
+        String logIdentifier = "Authorization of client " + client.getClientId();
+        FormingSpan span = context.getTracer().startSpan(logIdentifier)
+            .setAttribute(FormingSpan.RESOURCE_TYPE, getDefinitionClass().getSimpleName())
+            .setAttribute(FormingSpan.RESOURCE_ID, client.getClientId())
+            .setAttribute(FormingSpan.OPERATION, definition.getSyncMode() == SyncMode.IGNORE ? "skip" : "form");
+        try {
+            if (definition.getSyncMode() != SyncMode.IGNORE) {
+                formAuthorization(definition, client, context, logIdentifier);
+            }
+        } finally {
+            span.end();
+        }
+    }
+
+    private void formAuthorization(AuthorizationDefinitionHelper definition, ClientModel client, FormerContext context,
+                                   String logIdentifier) {
+        AuthorizationProvider authorization = context.getSession().getProvider(AuthorizationProvider.class);
+        if (authorization == null) {
+            log.warnf("%s skipped, authorization services are not available", logIdentifier);
+            return;
+        }
+        ResourceServerStore resourceServerStore = authorization.getStoreFactory().getResourceServerStore();
+        ResourceServer resourceServer = resourceServerStore.findByClient(client);
+        if (!Boolean.TRUE.equals(definition.getAuthorizationServicesEnabled())) {
+            if (resourceServer != null && Boolean.FALSE.equals(definition.getAuthorizationServicesEnabled())
+                && definition.getSyncMode() == SyncMode.FULL) {
+                resourceServerStore.delete(client);
+                log.infof("%s disabled, resource server removed", logIdentifier);
+            }
+            return;
+        }
+        if (resourceServer == null) {
+            resourceServer = RepresentationToModel.createResourceServer(client, context.getSession(), true);
+            log.infof("%s enabled, resource server created", logIdentifier);
+        }
+        if (definition.getAuthorizationSettings() != null) {
+            new ResourceServerReconciliation(authorization, resourceServer, client, context, definition.getSyncMode())
+                .reconcile(definition.getAuthorizationSettings(), logIdentifier);
+        }
+    }
+
+    /**
+     * Orders policies, so every policy follows the policies it applies. Permissions follow the other policies, the order
+     * of the definition is kept otherwise.
+     */
+    static List<PolicyRepresentation> order(List<PolicyRepresentation> policies) {
+        Map<String, PolicyRepresentation> byName = policies.stream()
+            .collect(Collectors.toMap(PolicyRepresentation::getName, Function.identity(), (first, second) -> first,
+                LinkedHashMap::new));
+        Map<String, PolicyRepresentation> ordered = new LinkedHashMap<>();
+        Set<String> visiting = new LinkedHashSet<>();
+        byName.values().stream().filter(p -> !isPermission(p.getType()))
+            .forEach(p -> visit(p, byName, visiting, ordered));
+        byName.values().stream().filter(p -> isPermission(p.getType()))
+            .forEach(p -> visit(p, byName, visiting, ordered));
+        return new ArrayList<>(ordered.values());
+    }
+
+    private static void visit(PolicyRepresentation policy, Map<String, PolicyRepresentation> byName, Set<String> visiting,
+                              Map<String, PolicyRepresentation> ordered) {
+        if (ordered.containsKey(policy.getName())) {
+            return;
+        }
+        if (!visiting.add(policy.getName())) {
+            throw new IllegalStateException("Policy " + policy.getName() + " applies itself through " + visiting);
+        }
+        for (String applied : getNames(policy, APPLY_POLICIES)) {
+            if (byName.containsKey(applied)) {
+                visit(byName.get(applied), byName, visiting, ordered);
+            }
+        }
+        visiting.remove(policy.getName());
+        ordered.put(policy.getName(), policy);
+    }
+
+    private static boolean isPermission(String type) {
+        return type != null && PERMISSION_TYPES.contains(type);
+    }
+
+    /**
+     * Names of related resources, scopes or policies which are JSON arrays in the configuration of the policy
+     */
+    private static Set<String> getNames(PolicyRepresentation policy, String relation) {
+        String value = policy.getConfig() == null ? null : policy.getConfig().get(relation);
+        if (value == null || value.isBlank()) {
+            return Set.of();
+        }
+        try {
+            return JsonSerialization.readValue(value, NAMES);
+        } catch (IOException e) {
+            throw new IllegalStateException("Invalid " + relation + " of policy " + policy.getName() + ": " + value, e);
+        }
+    }
+
+    /**
+     * Configuration values which are JSON arrays are compared as sets (e.g. roles or groups of a policy)
+     */
+    private static Object normalize(String value) {
+        if (value == null || !value.trim().startsWith("[") && !value.trim().startsWith("{")) {
+            return value;
+        }
+        try {
+            JsonNode node = JsonSerialization.mapper.readTree(value);
+            return node.isArray() ? StreamSupport.stream(node.spliterator(), false).collect(Collectors.toSet()) : node;
+        } catch (IOException e) {
+            return value;
+        }
+    }
+
+    private static <T> Map<String, T> index(Collection<T> items, Function<T, String> name) {
+        return items.stream().collect(Collectors.toMap(name, Function.identity(), (first, second) -> first, HashMap::new));
+    }
+
+    private static <T> List<T> nullSafe(List<T> items) {
+        return items == null ? List.of() : items;
+    }
+
+    /**
+     * Reconciliation of a single resource server. Tables of existing items are read once and kept up to date, so
+     * references among the declared items are resolved without further lookups.
+     */
+    private static class ResourceServerReconciliation {
+
+        private final AuthorizationProvider authorization;
+        private final ResourceServer resourceServer;
+        private final ClientModel client;
+        private final FormerContext context;
+        private final SyncMode syncMode;
+        private final ScopeStore scopeStore;
+        private final ResourceStore resourceStore;
+        private final PolicyStore policyStore;
+        private final Counts scopeCounts = new Counts();
+        private final Counts resourceCounts = new Counts();
+        private final Counts policyCounts = new Counts();
+        //items referenced by declared items are declared as well
+        private final Set<String> declaredScopes = new HashSet<>();
+        private final Set<String> declaredResources = new HashSet<>();
+        private final Set<String> declaredPolicies = new HashSet<>();
+        private Map<String, Scope> scopes;
+        private Map<String, Resource> resources;
+        private Map<String, Policy> policies;
+
+        ResourceServerReconciliation(AuthorizationProvider authorization, ResourceServer resourceServer, ClientModel client,
+                                     FormerContext context, SyncMode syncMode) {
+            this.authorization = authorization;
+            this.resourceServer = resourceServer;
+            this.client = client;
+            this.context = context;
+            this.syncMode = syncMode;
+            this.scopeStore = authorization.getStoreFactory().getScopeStore();
+            this.resourceStore = authorization.getStoreFactory().getResourceStore();
+            this.policyStore = authorization.getStoreFactory().getPolicyStore();
+        }
+
+        void reconcile(ResourceServerRepresentation settings, String logIdentifier) {
+            formSettings(settings);
+
+            scopes = index(scopeStore.findByResourceServer(resourceServer), Scope::getName);
+            resources = index(resourceStore.findByResourceServer(resourceServer).stream()
+                .filter(r -> resourceServer.getClientId().equals(r.getOwner()))
+                .toList(), Resource::getName);
+            policies = index(policyStore.findByResourceServer(resourceServer), Policy::getName);
+
+            formScopes(nullSafe(settings.getScopes()));
+            formResources(nullSafe(settings.getResources()));
+            formPolicies(order(nullSafe(settings.getPolicies())));
+
+            if (syncMode == SyncMode.FULL) {
+                //dependent items first, so nothing refers to a removed item
+                removePolicies();
+                removeResources();
+                removeScopes();
+            }
+
+            log.infof("%s formed\nScopes: %s\nResources: %s\nPolicies: %s", logIdentifier, scopeCounts, resourceCounts,
+                policyCounts);
+        }
+
+        private void formSettings(ResourceServerRepresentation settings) {
+            if (settings.getPolicyEnforcementMode() != null
+                && resourceServer.getPolicyEnforcementMode() != settings.getPolicyEnforcementMode()) {
+                resourceServer.setPolicyEnforcementMode(settings.getPolicyEnforcementMode());
+            }
+            if (settings.getDecisionStrategy() != null
+                && resourceServer.getDecisionStrategy() != settings.getDecisionStrategy()) {
+                resourceServer.setDecisionStrategy(settings.getDecisionStrategy());
+            }
+            if (resourceServer.isAllowRemoteResourceManagement() != settings.isAllowRemoteResourceManagement()) {
+                resourceServer.setAllowRemoteResourceManagement(settings.isAllowRemoteResourceManagement());
+            }
+        }
+
+        private void formScopes(List<ScopeRepresentation> definitions) {
+            for (ScopeRepresentation definition : definitions) {
+                declaredScopes.add(definition.getName());
+                Scope scope = scopes.get(definition.getName());
+                if (scope == null) {
+                    scope = createScope(definition.getId(), definition.getName());
+                    scope.setDisplayName(definition.getDisplayName());
+                    scope.setIconUri(definition.getIconUri());
+                } else if (!Objects.equals(scope.getDisplayName(), definition.getDisplayName())
+                           || !Objects.equals(scope.getIconUri(), definition.getIconUri())) {
+                    scope.setDisplayName(definition.getDisplayName());
+                    scope.setIconUri(definition.getIconUri());
+                    scopeCounts.updated++;
+                    written();
+                } else {
+                    scopeCounts.unchanged++;
+                }
+            }
+        }
+
+        /**
+         * Scopes referenced by resources are created when missing, the same as Keycloak import does
+         */
+        private Scope getScope(String name) {
+            declaredScopes.add(name);
+            Scope scope = scopes.get(name);
+            return scope == null ? createScope(null, name) : scope;
+        }
+
+        private Scope createScope(String id, String name) {
+            Scope scope = scopeStore.create(resourceServer, id, name);
+            scopes.put(name, scope);
+            scopeCounts.created++;
+            written();
+            return scope;
+        }
+
+        private void formResources(List<ResourceRepresentation> definitions) {
+            for (ResourceRepresentation definition : definitions) {
+                if (!isOwnedByResourceServer(definition.getOwner())) {
+                    RepresentationToModel.toModel(definition, resourceServer, authorization);
+                    resourceCounts.updated++;
+                    written();
+                    continue;
+                }
+                declaredResources.add(definition.getName());
+                if (definition.getScopes() != null) {
+                    definition.getScopes().forEach(s -> declaredScopes.add(s.getName()));
+                }
+                Resource resource = resources.get(definition.getName());
+                if (resource == null) {
+                    resource = resourceStore.create(resourceServer, definition.getId(), definition.getName(),
+                        resourceServer.getClientId());
+                    resources.put(definition.getName(), resource);
+                    updateResource(resource, definition);
+                    resourceCounts.created++;
+                    written();
+                } else if (updateResource(resource, definition)) {
+                    resourceCounts.updated++;
+                    written();
+                } else {
+                    resourceCounts.unchanged++;
+                }
+            }
+        }
+
+        private boolean isOwnedByResourceServer(ResourceOwnerRepresentation owner) {
+            return owner == null || owner.getId() == null && owner.getName() == null
+                   || resourceServer.getClientId().equals(owner.getId()) || client.getClientId().equals(owner.getName());
+        }
+
+        /**
+         * @return true when the resource was changed
+         */
+        private boolean updateResource(Resource resource, ResourceRepresentation definition) {
+            boolean changed = false;
+            if (!Objects.equals(resource.getDisplayName(), definition.getDisplayName())) {
+                resource.setDisplayName(definition.getDisplayName());
+                changed = true;
+            }
+            if (!Objects.equals(resource.getType(), definition.getType())) {
+                resource.setType(definition.getType());
+                changed = true;
+            }
+            if (!Objects.equals(resource.getIconUri(), definition.getIconUri())) {
+                resource.setIconUri(definition.getIconUri());
+                changed = true;
+            }
+            boolean ownerManagedAccess = Boolean.TRUE.equals(definition.getOwnerManagedAccess());
+            if (resource.isOwnerManagedAccess() != ownerManagedAccess) {
+                resource.setOwnerManagedAccess(ownerManagedAccess);
+                changed = true;
+            }
+            Set<String> uris = definition.getUris() == null ? Set.of() : definition.getUris();
+            if (!uris.equals(resource.getUris() == null ? Set.of() : resource.getUris())) {
+                resource.updateUris(uris);
+                changed = true;
+            }
+            Set<String> scopeNames = definition.getScopes() == null ? Set.of() : definition.getScopes().stream()
+                .map(ScopeRepresentation::getName)
+                .collect(Collectors.toSet());
+            if (!scopeNames.equals(resource.getScopes().stream().map(Scope::getName).collect(Collectors.toSet()))) {
+                resource.updateScopes(scopeNames.stream().map(this::getScope).collect(Collectors.toSet()));
+                changed = true;
+            }
+            Map<String, List<String>> attributes = definition.getAttributes() == null ? Map.of() : definition.getAttributes();
+            if (!attributes.equals(resource.getAttributes())) {
+                new ArrayList<>(resource.getAttributes().keySet()).stream()
+                    .filter(name -> !attributes.containsKey(name))
+                    .forEach(resource::removeAttribute);
+                attributes.forEach(resource::setAttribute);
+                changed = true;
+            }
+            return changed;
+        }
+
+        private void formPolicies(List<PolicyRepresentation> definitions) {
+            for (PolicyRepresentation definition : definitions) {
+                declaredPolicies.add(definition.getName());
+                declaredResources.addAll(getNames(definition, RESOURCES));
+                declaredScopes.addAll(getNames(definition, SCOPES));
+                Policy policy = policies.get(definition.getName());
+                if (policy != null && !Objects.equals(policy.getType(), definition.getType())) {
+                    //type of a policy cannot be changed, the policy is replaced
+                    removePolicy(policy);
+                    policy = null;
+                }
+                if (policy == null) {
+                    PolicyRepresentation representation = copy(definition);
+                    policy = RepresentationToModel.toModel(representation, authorization,
+                        policyStore.create(resourceServer, representation));
+                    policies.put(definition.getName(), policy);
+                    policyCounts.created++;
+                    written();
+                } else if (isDifferent(policy, definition)) {
+                    RepresentationToModel.toModel(copy(definition), authorization, policy);
+                    policyCounts.updated++;
+                    written();
+                } else {
+                    policyCounts.unchanged++;
+                }
+            }
+        }
+
+        private boolean isDifferent(Policy policy, PolicyRepresentation definition) {
+            if (!Objects.equals(policy.getDescription(), definition.getDescription())
+                || policy.getLogic() != definition.getLogic()
+                || policy.getDecisionStrategy() != definition.getDecisionStrategy()
+                || !getNames(definition, RESOURCES).equals(names(policy.getResources(), Resource::getName))
+                || !getNames(definition, SCOPES).equals(names(policy.getScopes(), Scope::getName))
+                || !getNames(definition, APPLY_POLICIES).equals(names(policy.getAssociatedPolicies(), Policy::getName))) {
+                return true;
+            }
+            Map<String, String> config = definition.getConfig() == null ? Map.of() : definition.getConfig();
+            if (RELATIONS.containsAll(config.keySet())) {
+                return false;
+            }
+            //configuration of providers refers to other models by ids, the exported form refers to them by names
+            PolicyRepresentation current = ModelToRepresentation.toRepresentation(policy, authorization, true, true);
+            Map<String, String> currentConfig = current.getConfig() == null ? Map.of() : current.getConfig();
+            return config.entrySet().stream()
+                .filter(e -> !RELATIONS.contains(e.getKey()))
+                .anyMatch(e -> !Objects.equals(normalize(e.getValue()), normalize(currentConfig.get(e.getKey()))));
+        }
+
+        private static <T> Set<String> names(Set<T> items, Function<T, String> name) {
+            return items.stream().map(name).collect(Collectors.toSet());
+        }
+
+        /**
+         * Keycloak modifies the representation it forms a policy from, the definition must stay untouched
+         */
+        private static PolicyRepresentation copy(PolicyRepresentation definition) {
+            PolicyRepresentation copy = new PolicyRepresentation();
+            copy.setId(definition.getId());
+            copy.setName(definition.getName());
+            copy.setType(definition.getType());
+            copy.setDescription(definition.getDescription());
+            copy.setLogic(definition.getLogic());
+            copy.setDecisionStrategy(definition.getDecisionStrategy());
+            copy.setOwner(definition.getOwner());
+            copy.setConfig(definition.getConfig() == null ? new HashMap<>() : new HashMap<>(definition.getConfig()));
+            return copy;
+        }
+
+        private void removePolicies() {
+            //permissions first, then policies applying other policies
+            policies.entrySet().stream()
+                .filter(e -> !declaredPolicies.contains(e.getKey()))
+                .map(Map.Entry::getValue)
+                .sorted(Comparator.comparingInt(p -> isPermission(p.getType()) ? 0 : p.getAssociatedPolicies().isEmpty() ? 2 : 1))
+                .toList()
+                .forEach(this::removePolicy);
+        }
+
+        private void removePolicy(Policy policy) {
+            PolicyProviderFactory<?> providerFactory = authorization.getProviderFactory(policy.getType());
+            if (providerFactory != null) {
+                providerFactory.onRemove(policy, authorization);
+            }
+            policyStore.delete(policy.getId());
+            policies.remove(policy.getName());
+            policyCounts.removed++;
+            written();
+        }
+
+        private void removeResources() {
+            resources.entrySet().stream()
+                .filter(e -> !declaredResources.contains(e.getKey()))
+                .map(Map.Entry::getValue)
+                .toList()
+                .forEach(r -> {
+                    resourceStore.delete(r.getId());
+                    resources.remove(r.getName());
+                    resourceCounts.removed++;
+                    written();
+                });
+        }
+
+        private void removeScopes() {
+            scopes.entrySet().stream()
+                .filter(e -> !declaredScopes.contains(e.getKey()))
+                .map(Map.Entry::getValue)
+                .toList()
+                .forEach(s -> {
+                    scopeStore.delete(s.getId());
+                    scopes.remove(s.getName());
+                    scopeCounts.removed++;
+                    written();
+                });
+        }
+
+        private void written() {
+            if (context.getJdbcBatching() != null) {
+                context.getJdbcBatching().itemFormed();
+            }
+        }
+
+    }
+
+    private static class Counts {
+
+        private int created;
+        private int updated;
+        private int unchanged;
+        private int removed;
+
+        @Override
+        public String toString() {
+            return created + " created, " + updated + " updated, " + unchanged + " unchanged, " + removed + " removed";
+        }
+
+    }
+
+    @Override
+    public Class<AuthorizationDefinitionHelper> getDefinitionClass() {
+        return AuthorizationDefinitionHelper.class;
+    }
+
+}
@@ -16,10 +16,12 @@
 
 package com.groocraft.keycloakform.former.item;
 
+import com.groocraft.keycloakform.definition.AuthorizationDefinitionHelper;
 import com.groocraft.keycloakform.definition.ClientDefinition;
 import com.groocraft.keycloakform.definition.DefinitionMapping;
 import com.groocraft.keycloakform.definition.ProtocolMapperDefinition;
 import com.groocraft.keycloakform.definition.RoleDefinition;
+import com.groocraft.keycloakform.diff.RepresentationDiff;
 import com.groocraft.keycloakform.former.FormerContext;
 import com.groocraft.keycloakform.former.FormersFactory;
 import com.groocraft.keycloakform.former.generic.DefaultItemFormer;
@@ -27,10 +29,13 @@ import com.groocraft.keycloakform.former.generic.DefaultItemFormer;
 import org.keycloak.models.ClientModel;
 import org.keycloak.models.ClientScopeModel;
 import org.keycloak.models.utils.KeycloakModelUtils;
+import org.keycloak.models.utils.ModelToRepresentation;
 import org.keycloak.models.utils.RepresentationToModel;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import lombok.CustomLog;
@@ -38,6 +43,12 @@ import lombok.CustomLog;
 @CustomLog
 public class ClientFormer extends DefaultItemFormer<ClientModel, ClientDefinition> {
 
+    //fields processed by sub-formers, dedicated logic or not processed by RepresentationToModel.updateClient at all
+    public static final RepresentationDiff DIFF = new RepresentationDiff(Set.of("id", "syncMode", "protocolMappers",
+        "defaultClientScopes", "optionalClientScopes", "defaultRoles", "authorizationSettings", "authorizationServicesEnabled",
+        "access", "origin", "registrationAccessToken", "clientTemplate", "useTemplateConfig", "useTemplateScope",
+        "useTemplateMappers", "directGrantsOnly", "extends"));
+
     private final FormersFactory formersFactory;
 
     public ClientFormer(FormersFactory formersFactory) {
@@ -56,8 +67,17 @@ public class ClientFormer extends DefaultItemFormer<ClientModel, ClientDefinitio
         return context.getRealm().addClient(id, definition.getClientId());
     }
 
+    @Override
+    protected void populate(ClientModel model, ClientDefinition definition, FormerContext context) {
+        formClient(model, definition, context, true);
+    }
+
     @Override
     protected void update(ClientModel model, ClientDefinition definition, FormerContext context) {
+        formClient(model, definition, context, false);
+    }
+
+    private void formClient(ClientModel model, ClientDefinition definition, FormerContext context, boolean created) {
         context.setClient(model);
 
         processClientScopes(model, definition.getDefaultClientScopes(), context, true);
@@ -69,25 +89,47 @@ public class ClientFormer extends DefaultItemFormer<ClientModel, ClientDefinitio
         formersFactory.getForCollectionOf(ProtocolMapperDefinition.class)
             .form(DefinitionMapping.cast(definition.getProtocolMappers()), context, definition.getSyncMode());
 
-        RepresentationToModel.updateClient(definition, model, context.getSession());
+        //freshly created client has nothing to compare with
+        if (created || isDifferent(model, definition, context)) {
+            RepresentationToModel.updateClient(definition, model, context.getSession());
+        }
+
+        //resource server requires a confidential client, the client must be updated first
+        if (definition.getAuthorizationServicesEnabled() != null) {
+            AuthorizationDefinitionHelper authorization = new AuthorizationDefinitionHelper(definition.getSyncMode(),
+                definition.getAuthorizationServicesEnabled(), definition.getAuthorizationSettings());
+            formersFactory.getFor(authorization).form(authorization, context);
+        }
 
         context.setClient(null);
     }
 
+    private boolean isDifferent(ClientModel model, ClientDefinition definition, FormerContext context) {
+        List<String> differences = DIFF.diff(definition, ModelToRepresentation.toRepresentation(model, context.getSession()));
+        if (differences.isEmpty()) {
+            log.debugf("%s matches the definition, bulk update skipped", getLogIdentifier(definition));
+            return false;
+        }
+        log.debugf("%s differs in %s", getLogIdentifier(definition), differences);
+        return true;
+    }
+
     private void processClientScopes(ClientModel model, List<String> toAssign, FormerContext context,  boolean defaultScope){
         if(toAssign != null ) {
             Map<String, ClientScopeModel> namedClientScopes = context.getRealm().getClientScopesStream()
                 .collect(Collectors.toMap(ClientScopeModel::getName, cs -> cs));
 
+            //the definition is not modified, it can be shared by realms of tenants or formed again
+            List<String> missing = new ArrayList<>(toAssign);
             model.getClientScopes(defaultScope).forEach((name, cs) -> {
                 if (!toAssign.contains(name)) {
                     model.removeClientScope(cs);
                 } else {
-                    toAssign.remove(name);
+                    missing.remove(name);
                 }
             });
 
-            toAssign.forEach(name -> model.addClientScope(namedClientScopes.get(name), defaultScope));
+            missing.forEach(name -> model.addClientScope(namedClientScopes.get(name), defaultScope));
         }
     }
 
@@ -19,19 +19,26 @@ package com.groocraft.keycloakform.former.item;
 import com.groocraft.keycloakform.definition.ClientScopeDefinition;
 import com.groocraft.keycloakform.definition.DefinitionMapping;
 import com.groocraft.keycloakform.definition.ProtocolMapperDefinition;
+import com.groocraft.keycloakform.diff.RepresentationDiff;
 import com.groocraft.keycloakform.former.FormerContext;
 import com.groocraft.keycloakform.former.FormersFactory;
 import com.groocraft.keycloakform.former.generic.DefaultItemFormer;
 
 import org.keycloak.models.ClientScopeModel;
 import org.keycloak.models.utils.KeycloakModelUtils;
+import org.keycloak.models.utils.ModelToRepresentation;
 import org.keycloak.models.utils.RepresentationToModel;
 
+import java.util.List;
+import java.util.Set;
+
 import lombok.CustomLog;
 
 @CustomLog
 public class ClientScopeFormer extends DefaultItemFormer<ClientScopeModel, ClientScopeDefinition> {
 
+    public static final RepresentationDiff DIFF = new RepresentationDiff(Set.of("id", "syncMode", "protocolMappers", "extends"));
+
     private final FormersFactory formersFactory;
 
     public ClientScopeFormer(FormersFactory formersFactory) {
@@ -52,9 +59,22 @@ public class ClientScopeFormer extends DefaultItemFormer<ClientScopeModel, Clien
         return context.getRealm().addClientScope(id, definition.getName());
     }
 
+    @Override
+    protected void populate(ClientScopeModel model, ClientScopeDefinition definition, FormerContext context) {
+        formClientScope(model, definition, context, true);
+    }
+
     @Override
     protected void update(ClientScopeModel model, ClientScopeDefinition definition, FormerContext context) {
-        RepresentationToModel.updateClientScope(definition, model);
+        formClientScope(model, definition, context, false);
+    }
+
+    private void formClientScope(ClientScopeModel model, ClientScopeDefinition definition, FormerContext context,
+                                 boolean created) {
+        //freshly created client scope has nothing to compare with
+        if (created || isDifferent(model, definition)) {
+            RepresentationToModel.updateClientScope(definition, model);
+        }
 
         context.setClientScope(model);
 
@@ -64,6 +84,16 @@ public class ClientScopeFormer extends DefaultItemFormer<ClientScopeModel, Clien
         context.setClientScope(null);
     }
 
+    private boolean isDifferent(ClientScopeModel model, ClientScopeDefinition definition) {
+        List<String> differences = DIFF.diff(definition, ModelToRepresentation.toRepresentation(model));
+        if (differences.isEmpty()) {
+            log.debugf("%s matches the definition, bulk update skipped", getLogIdentifier(definition));
+            return false;
+        }
+        log.debugf("%s differs in %s", getLogIdentifier(definition), differences);
+        return true;
+    }
+
     @Override
     protected Class<ClientScopeModel> getKeycloakResourceClass() {
         return ClientScopeModel.class;
@@ -17,9 +17,14 @@
 package com.groocraft.keycloakform.former.item;
 
 import com.groocraft.keycloakform.definition.ComponentDefinition;
+import com.groocraft.keycloakform.definition.DefinitionMapping;
+import com.groocraft.keycloakform.former.ComponentTree;
 import com.groocraft.keycloakform.former.FormerContext;
 import com.groocraft.keycloakform.former.generic.DefaultItemFormer;
+import com.groocraft.keycloakform.keys.KeyPairPool;
+import com.groocraft.keycloakform.keys.KeyProviders;
 
+import org.keycloak.common.util.MultivaluedHashMap;
 import org.keycloak.component.ComponentModel;
 import org.keycloak.models.utils.RepresentationToModel;
 import org.keycloak.representations.idm.ComponentRepresentation;
@@ -35,6 +40,10 @@ public class ComponentFormer extends DefaultItemFormer<ComponentModel, Component
 
     @Override
     protected ComponentModel getModel(ComponentDefinition definition, FormerContext context) {
+        ComponentTree tree = context.getComponentTree();
+        if (tree != null) {
+            return tree.find(definition);
+        }
         return context.getRealm().getComponent(definition.getId());
     }
 
@@ -45,15 +54,60 @@ public class ComponentFormer extends DefaultItemFormer<ComponentModel, Component
         return model;
     }
 
+    @Override
+    protected void populate(ComponentModel model, ComponentDefinition definition, FormerContext context) {
+        ComponentRepresentation representation = definitionToRepresentation(definition);
+        supplyKeys(representation, context);
+        RepresentationToModel.updateComponent(context.getSession(), representation, model, false);
+        ComponentModel created = context.getRealm().addComponentModel(model);
+        formed(created, definition, context);
+    }
+
     @Override
     protected void update(ComponentModel model, ComponentDefinition definition, FormerContext context) {
+        //config entries are put directly to the map, hence they are not journaled by the proxy
+        MultivaluedHashMap<String, String> originalConfig = new MultivaluedHashMap<>(model.getConfig());
         RepresentationToModel.updateComponent(context.getSession(), definitionToRepresentation(definition), model, false);
-        ComponentModel existing = getModel(definition, context);
-        if(existing == null){
-            context.getRealm().addComponentModel(model);
-        } else {
+        if (!originalConfig.equals(model.getConfig())) {
+            context.getChangeJournal().record("config", originalConfig, model.getConfig());
+        }
+        if (!context.getChangeJournal().isEmpty()) {
             context.getRealm().updateComponent(model);
         }
+        formed(model, definition, context);
+    }
+
+    /**
+     * Keeps the component tree index current and hands the id of the formed component over to the definitions of its
+     * subcomponents, so children of a component defined without id are attached to the right parent.
+     */
+    private void formed(ComponentModel model, ComponentDefinition definition, FormerContext context) {
+        if (context.getComponentTree() != null) {
+            context.getComponentTree().put(model);
+        }
+        if (definition.getSubComponents() != null) {
+            DefinitionMapping.<ComponentDefinition>cast(definition.getSubComponents())
+                .values()
+                .forEach(children -> children.forEach(child -> child.setParentId(model.getId())));
+        }
+    }
+
+    /**
+     * Keys of a created generated RSA key provider are taken from the pool, so they are not generated on the forming
+     * thread when Keycloak validates the component. The definition is not modified as it is compared with the instance
+     * later.
+     */
+    private void supplyKeys(ComponentRepresentation representation, FormerContext context) {
+        KeyPairPool pool = context.getKeyPairPool();
+        if (pool != null) {
+            MultivaluedHashMap<String, String> config = representation.getConfig() == null ? new MultivaluedHashMap<>()
+                : new MultivaluedHashMap<>(representation.getConfig());
+            if (KeyProviders.supply(representation.getProviderType(), representation.getProviderId(), config,
+                context.getRealm().getName(), pool)) {
+                representation.setConfig(config);
+                log.debugf("Keys of component %s taken from the pool", representation.getName());
+            }
+        }
     }
 
     private ComponentRepresentation definitionToRepresentation(ComponentDefinition definition){
@@ -46,6 +46,11 @@ public class GroupFormer extends DefaultItemFormer<GroupModel, GroupDefinition>
         return context.getRealm().createGroup(id, "");
     }
 
+    @Override
+    protected void populate(GroupModel model, GroupDefinition definition, FormerContext context) {
+        updater.update(model, definition, context);
+    }
+
     @Override
     protected void update(GroupModel model, GroupDefinition definition, FormerContext context) {
         updater.update(model, definition, context);
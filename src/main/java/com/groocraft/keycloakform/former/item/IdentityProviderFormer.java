@@ -18,6 +18,7 @@ package com.groocraft.keycloakform.former.item;
 
 import com.groocraft.keycloakform.definition.IdentityProviderDefinition;
 import com.groocraft.keycloakform.former.FormerContext;
+import com.groocraft.keycloakform.former.IdentityProviderIndex;
 import com.groocraft.keycloakform.former.generic.DefaultItemFormer;
 import com.groocraft.keycloakform.updater.IdentityProviderUpdater;
 
@@ -36,7 +37,7 @@ public class IdentityProviderFormer extends DefaultItemFormer<IdentityProviderMo
 
     @Override
     protected IdentityProviderModel getModel(IdentityProviderDefinition definition, FormerContext context) {
-        return context.getRealm().getIdentityProviderByAlias(definition.getAlias());
+        return IdentityProviderIndex.of(context).get(definition.getAlias());
     }
 
     @Override
@@ -46,15 +47,19 @@ public class IdentityProviderFormer extends DefaultItemFormer<IdentityProviderMo
         return provider;
     }
 
+    @Override
+    protected void populate(IdentityProviderModel provider, IdentityProviderDefinition definition, FormerContext context) {
+        updater.update(provider, definition, context);
+        IdentityProviderModel created = context.getSession().identityProviders().create(provider);
+        IdentityProviderIndex.of(context).put(created);
+    }
+
     @Override
     protected void update(IdentityProviderModel provider, IdentityProviderDefinition definition, FormerContext context) {
         updater.update(provider, definition, context);
 
-        IdentityProviderModel existing = getModel(definition, context);
-        if (existing == null) {
-            context.getRealm().addIdentityProvider(provider);
-        } else {
-            context.getRealm().updateIdentityProvider(provider);
+        if (!context.getChangeJournal().isEmpty()) {
+            context.getSession().identityProviders().update(provider);
         }
     }
 
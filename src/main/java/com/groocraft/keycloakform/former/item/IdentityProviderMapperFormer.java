@@ -18,11 +18,14 @@ package com.groocraft.keycloakform.former.item;
 
 import com.groocraft.keycloakform.definition.IdentityProviderMapperDefinition;
 import com.groocraft.keycloakform.former.FormerContext;
+import com.groocraft.keycloakform.former.IdentityProviderIndex;
 import com.groocraft.keycloakform.former.generic.DefaultItemFormer;
 import com.groocraft.keycloakform.updater.IdentityProviderMapperUpdater;
 
 import org.keycloak.models.IdentityProviderMapperModel;
 
+import java.util.Objects;
+
 import lombok.CustomLog;
 
 @CustomLog
@@ -36,7 +39,8 @@ public class IdentityProviderMapperFormer extends DefaultItemFormer<IdentityProv
 
     @Override
     protected IdentityProviderMapperModel getModel(IdentityProviderMapperDefinition definition, FormerContext context) {
-        return context.getRealm().getIdentityProviderMapperById(definition.getId());
+        return IdentityProviderIndex.of(context)
+            .findMapper(definition.getIdentityProviderAlias(), definition.getId(), definition.getName());
     }
 
     @Override
@@ -46,16 +50,25 @@ public class IdentityProviderMapperFormer extends DefaultItemFormer<IdentityProv
         return model;
     }
 
+    @Override
+    protected void populate(IdentityProviderMapperModel mapper, IdentityProviderMapperDefinition definition,
+                            FormerContext context) {
+        updater.update(mapper, definition, context);
+        IdentityProviderMapperModel created = context.getSession().identityProviders().createMapper(mapper);
+        IdentityProviderIndex.of(context).putMapper(created);
+    }
+
     @Override
     protected void update(IdentityProviderMapperModel mapper, IdentityProviderMapperDefinition definition,
                           FormerContext context) {
+        String originalAlias = mapper.getIdentityProviderAlias();
         updater.update(mapper, definition, context);
 
-        IdentityProviderMapperModel existing = getModel(definition, context);
-        if (existing == null) {
-            context.getRealm().addIdentityProviderMapper(mapper);
-        } else {
-            context.getRealm().updateIdentityProviderMapper(mapper);
+        if (!context.getChangeJournal().isEmpty()) {
+            context.getSession().identityProviders().updateMapper(mapper);
+            if (!Objects.equals(originalAlias, mapper.getIdentityProviderAlias())) {
+                IdentityProviderIndex.of(context).putMapper(mapper);
+            }
         }
     }
 
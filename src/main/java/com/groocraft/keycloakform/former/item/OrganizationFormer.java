@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.former.item;
+
+import com.groocraft.keycloakform.definition.OrganizationDefinition;
+import com.groocraft.keycloakform.former.FormerContext;
+import com.groocraft.keycloakform.former.OrganizationIndex;
+import com.groocraft.keycloakform.former.generic.DefaultItemFormer;
+import com.groocraft.keycloakform.updater.OrganizationUpdater;
+
+import org.keycloak.models.OrganizationModel;
+import org.keycloak.organization.OrganizationProvider;
+
+import lombok.CustomLog;
+
+@CustomLog
+public class OrganizationFormer extends DefaultItemFormer<OrganizationModel, OrganizationDefinition> {
+
+    private final OrganizationUpdater updater = new OrganizationUpdater();
+
+    public OrganizationFormer() {
+        super(log);
+    }
+
+    @Override
+    protected OrganizationModel getModel(OrganizationDefinition definition, FormerContext context) {
+        return OrganizationIndex.of(context).get(definition.getAlias());
+    }
+
+    @Override
+    protected OrganizationModel create(OrganizationDefinition definition, FormerContext context) {
+        OrganizationModel organization = context.getSession().getProvider(OrganizationProvider.class)
+            .create(definition.getId(), definition.getName(), definition.getAlias());
+        OrganizationIndex.of(context).put(organization);
+        return organization;
+    }
+
+    @Override
+    protected void populate(OrganizationModel organization, OrganizationDefinition definition, FormerContext context) {
+        updater.update(organization, definition, context);
+    }
+
+    @Override
+    protected void update(OrganizationModel organization, OrganizationDefinition definition, FormerContext context) {
+        updater.update(organization, definition, context);
+    }
+
+    @Override
+    protected Class<OrganizationModel> getKeycloakResourceClass() {
+        return OrganizationModel.class;
+    }
+
+    @Override
+    protected String getLogIdentifier(OrganizationDefinition definition) {
+        return "Organization " + definition.getAlias();
+    }
+
+    @Override
+    public Class<OrganizationDefinition> getDefinitionClass() {
+        return OrganizationDefinition.class;
+    }
+}
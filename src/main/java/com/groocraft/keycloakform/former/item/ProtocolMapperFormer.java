@@ -52,14 +52,17 @@ public class ProtocolMapperFormer extends DefaultItemFormer<ProtocolMapperModel,
         return protocolMapperModel;
     }
 
+    @Override
+    protected void populate(ProtocolMapperModel protocolMapperModel, ProtocolMapperDefinition definition, FormerContext context) {
+        updater.update(protocolMapperModel, definition, context);
+        getCurrentlyManagedContainer(context).addProtocolMapper(protocolMapperModel);
+    }
+
     @Override
     protected void update(ProtocolMapperModel protocolMapperModel, ProtocolMapperDefinition definition, FormerContext context) {
         updater.update(protocolMapperModel, definition, context);
 
-        ProtocolMapperModel existing = getModel(definition, context);
-        if (existing == null) {
-            getCurrentlyManagedContainer(context).addProtocolMapper(protocolMapperModel);
-        } else {
+        if (!context.getChangeJournal().isEmpty()) {
             getCurrentlyManagedContainer(context).updateProtocolMapper(protocolMapperModel);
         }
     }
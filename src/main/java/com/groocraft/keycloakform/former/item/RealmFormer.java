@@ -16,23 +16,32 @@
 
 package com.groocraft.keycloakform.former.item;
 
+import com.groocraft.keycloakform.cache.InvalidationTracker;
+import com.groocraft.keycloakform.config.ResourceFilter;
 import com.groocraft.keycloakform.definition.AuthenticationFlowDefinition;
 import com.groocraft.keycloakform.definition.AuthenticatorConfigDefinition;
 import com.groocraft.keycloakform.definition.ClientDefinition;
 import com.groocraft.keycloakform.definition.ClientScopeDefinition;
 import com.groocraft.keycloakform.definition.ComponentDefinition;
 import com.groocraft.keycloakform.definition.DefinitionMapping;
+import com.groocraft.keycloakform.definition.DefinitionTemplates;
 import com.groocraft.keycloakform.definition.GroupDefinition;
 import com.groocraft.keycloakform.definition.IdentityProviderDefinition;
 import com.groocraft.keycloakform.definition.IdentityProviderMapperDefinition;
+import com.groocraft.keycloakform.definition.ImportRepresentation;
+import com.groocraft.keycloakform.definition.OrganizationDefinition;
 import com.groocraft.keycloakform.definition.RealmDefinition;
 import com.groocraft.keycloakform.definition.RequiredActionDefinition;
 import com.groocraft.keycloakform.definition.RoleDefinition;
 import com.groocraft.keycloakform.definition.RolesDefinition;
 import com.groocraft.keycloakform.definition.ScopeDefinitionHelper;
+import com.groocraft.keycloakform.definition.TemplatesDefinition;
+import com.groocraft.keycloakform.diff.RepresentationDiff;
 import com.groocraft.keycloakform.former.FormerContext;
 import com.groocraft.keycloakform.former.FormersFactory;
+import com.groocraft.keycloakform.former.SyncMode;
 import com.groocraft.keycloakform.former.generic.DefaultItemFormer;
+import com.groocraft.keycloakform.keys.KeyProviders;
 
 import org.keycloak.Config;
 import org.keycloak.common.util.MultivaluedHashMap;
@@ -42,13 +51,20 @@ import org.keycloak.models.KeycloakSession;
 import org.keycloak.models.RealmModel;
 import org.keycloak.models.RoleModel;
 import org.keycloak.models.utils.KeycloakModelUtils;
+import org.keycloak.models.utils.ModelToRepresentation;
+import org.keycloak.representations.idm.RealmRepresentation;
 import org.keycloak.representations.idm.RoleRepresentation;
+import org.keycloak.services.managers.RealmManager;
 import org.keycloak.storage.datastore.DefaultExportImportManager;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.stream.Collectors;
 
 import lombok.CustomLog;
@@ -67,6 +83,7 @@ import lombok.CustomLog;
  * Key responsibilities:
  * - Implements the abstract methods of {@code ItemFormer} specific to realms.
  * - Handles logging and dry-run operations for safer updates.
+ * - Imports realms that do not exist yet by the native Keycloak import when enabled by configuration.
  * Attributes:
  * - {@code updater}: Instance of {@code RealmUpdater} responsible for updating realm properties.
  *
@@ -75,13 +92,50 @@ import lombok.CustomLog;
 @CustomLog
 public class RealmFormer extends DefaultItemFormer<RealmModel, RealmDefinition> {
 
+    //fields processed by sub-formers, dedicated logic or not processed by DefaultExportImportManager.updateRealm at all
+    public static final RepresentationDiff DIFF = new RepresentationDiff(Set.of("id", "syncMode", "attributes", "roles",
+        "groups", "defaultRoles", "defaultRole", "users", "federatedUsers", "scopeMappings", "clientScopeMappings", "clients",
+        "clientScopes", "defaultDefaultClientScopes", "defaultOptionalClientScopes", "identityProviders",
+        "identityProviderMappers", "protocolMappers", "components", "authenticationFlows", "authenticatorConfig",
+        "requiredActions", "keycloakVersion", "otpSupportedApplications", "localizationTexts", "organizations",
+        "userFederationProviders", "userFederationMappers", "privateKey", "publicKey", "certificate", "codeSecret",
+        "passwordCredentialGrantAllowed", "social", "updateProfileOnInitialSocialLogin", "socialProviders",
+        "applicationScopeMappings", "applications", "oauthClients", "clientTemplates", "templates", "tenants"));
+
     private final FormersFactory formersFactory;
+    private final Map<TemplatesDefinition, DefinitionTemplates> resolvedTemplates = new WeakHashMap<>();
 
     public RealmFormer(FormersFactory formersFactory) {
         super(log);
         this.formersFactory = formersFactory;
     }
 
+    @Override
+    public void form(RealmDefinition definition, FormerContext context) {
+        InvalidationTracker invalidationTracker = context.getInvalidationTracker();
+        if (invalidationTracker != null) {
+            invalidationTracker.enterRealm(definition.getRealm());
+        }
+        try {
+            if (context.getConfig().isNativeImport() && definition.getSyncMode() != SyncMode.IGNORE
+                && getModel(definition, context) == null) {
+                log.infof("%s does not exist, will be imported", getLogIdentifier(definition));
+                RealmRepresentation representation = ImportRepresentation.of(definition);
+                if (context.getKeyPairPool() != null) {
+                    KeyProviders.supply(representation, context.getKeyPairPool());
+                }
+                RealmModel realm = new RealmManager(context.getSession()).importRealm(representation);
+                setMasterAdminClient(realm, context);
+            } else {
+                super.form(definition, context);
+            }
+        } finally {
+            if (invalidationTracker != null) {
+                invalidationTracker.exitRealm();
+            }
+        }
+    }
+
     @Override
     protected RealmModel getModel(RealmDefinition definition, FormerContext context) {
         return context.getSession().realms().getRealmByName(definition.getRealm());
@@ -109,52 +163,160 @@ public class RealmFormer extends DefaultItemFormer<RealmModel, RealmDefinition>
         return realm;
     }
 
+    @Override
+    protected void populate(RealmModel model, RealmDefinition definition, FormerContext context) {
+        formRealm(model, definition, context, true);
+    }
+
     @Override
     protected void update(RealmModel model, RealmDefinition definition, FormerContext context) {
+        formRealm(model, definition, context, false);
+    }
+
+    private void formRealm(RealmModel model, RealmDefinition definition, FormerContext context, boolean created) {
         context.setRealm(model);
         context.setRealmDefinition(definition);
+        context.setTemplates(getTemplates(definition));
+
+        formCollection(ResourceFilter.REQUIRED_ACTIONS, RequiredActionDefinition.class,
+            DefinitionMapping.cast(definition.getRequiredActions()), definition, context);
+        formCollection(ResourceFilter.COMPONENTS, ComponentDefinition.class,
+            getComponents(DefinitionMapping.cast(definition.getComponents()), model.getId()), definition, context);
+        formCollection(ResourceFilter.AUTHENTICATOR_CONFIGS, AuthenticatorConfigDefinition.class,
+            DefinitionMapping.cast(definition.getAuthenticatorConfig()), definition, context);
+        formCollection(ResourceFilter.FLOWS, AuthenticationFlowDefinition.class,
+            DefinitionMapping.cast(definition.getAuthenticationFlows()), definition, context);
+        formCollection(ResourceFilter.ROLES, RoleDefinition.class,
+            DefinitionMapping.cast(definition.getRoles().getRealm()), definition, context);
+        formCollection(ResourceFilter.CLIENT_SCOPES, ClientScopeDefinition.class,
+            DefinitionMapping.cast(definition.getClientScopes()), definition, context);
+        formCollection(ResourceFilter.CLIENTS, ClientDefinition.class,
+            DefinitionMapping.cast(definition.getClients()), definition, context);
+        formCollection(ResourceFilter.IDPS, IdentityProviderDefinition.class,
+            DefinitionMapping.cast(definition.getIdentityProviders()), definition, context);
+        formCollection(ResourceFilter.IDP_MAPPERS, IdentityProviderMapperDefinition.class,
+            DefinitionMapping.cast(definition.getIdentityProviderMappers()), definition, context);
+        formCollection(ResourceFilter.GROUPS, GroupDefinition.class,
+            DefinitionMapping.cast(definition.getGroups()), definition, context);
+
+        if (!isSkipped(ResourceFilter.ROLES, definition, context)) {
+            RolesDefinition roles = DefinitionMapping.cast(definition.getRoles());
+            formersFactory.getFor(roles).form(roles, context);
+        }
+        if (!isSkipped(ResourceFilter.SCOPE_MAPPINGS, definition, context)) {
+            ScopeDefinitionHelper scopeDefinitionHelper = getScopeDefinitionHelper(definition);
+            formersFactory.getFor(scopeDefinitionHelper).form(scopeDefinitionHelper, context);
+        }
 
-        formersFactory.getForCollectionOf(RequiredActionDefinition.class)
-            .form(DefinitionMapping.cast(definition.getRequiredActions()), context, definition.getSyncMode());
-        formersFactory.getForCollectionOf(ComponentDefinition.class)
-            .form(getComponents(DefinitionMapping.cast(definition.getComponents()), model.getId()), context, definition.getSyncMode());
-        formersFactory.getForCollectionOf(AuthenticatorConfigDefinition.class)
-            .form(DefinitionMapping.cast(definition.getAuthenticatorConfig()), context, definition.getSyncMode());
-        formersFactory.getForCollectionOf(AuthenticationFlowDefinition.class)
-            .form(DefinitionMapping.cast(definition.getAuthenticationFlows()), context, definition.getSyncMode());
-        formersFactory.getForCollectionOf(RoleDefinition.class)
-            .form(DefinitionMapping.cast(definition.getRoles().getRealm()), context, definition.getSyncMode());
-        formersFactory.getForCollectionOf(ClientScopeDefinition.class)
-            .form(DefinitionMapping.cast(definition.getClientScopes()), context, definition.getSyncMode());
-        formersFactory.getForCollectionOf(ClientDefinition.class)
-            .form(DefinitionMapping.cast(definition.getClients()), context, definition.getSyncMode());
-        formersFactory.getForCollectionOf(IdentityProviderDefinition.class)
-            .form(DefinitionMapping.cast(definition.getIdentityProviders()), context, definition.getSyncMode());
-        formersFactory.getForCollectionOf(IdentityProviderMapperDefinition.class)
-            .form(DefinitionMapping.cast(definition.getIdentityProviderMappers()), context, definition.getSyncMode());
-        formersFactory.getForCollectionOf(GroupDefinition.class)
-            .form(DefinitionMapping.cast(definition.getGroups()), context, definition.getSyncMode());
-
-        RolesDefinition roles = DefinitionMapping.cast(definition.getRoles());
-        formersFactory.getFor(roles).form(roles, context);
-        ScopeDefinitionHelper scopeDefinitionHelper = getScopeDefinitionHelper(definition);
-        formersFactory.getFor(scopeDefinitionHelper).form(scopeDefinitionHelper, context);
-
-        setDefaultRole(model, definition);
         setMasterAdminClient(model, context);
-        processClientScopes(model, definition.getDefaultDefaultClientScopes(), context, true);
-        processClientScopes(model, definition.getDefaultOptionalClientScopes(), context, false);
+        if (!isSkipped(ResourceFilter.SETTINGS, definition, context)) {
+            setDefaultRole(model, definition);
+            processClientScopes(model, definition.getDefaultDefaultClientScopes(), context, true);
+            processClientScopes(model, definition.getDefaultOptionalClientScopes(), context, false);
 
-        new DefaultExportImportManager(context.getSession()).updateRealm(definition, model);
+            //freshly created realm has nothing to compare with
+            if (created || isDifferent(model, definition, context)) {
+                new DefaultExportImportManager(context.getSession()).updateRealm(definition, model);
+            }
+        }
+        //organizations can be enabled by the settings, identity providers and users they link must exist
+        formCollection(ResourceFilter.ORGANIZATIONS, OrganizationDefinition.class,
+            DefinitionMapping.cast(definition.getOrganizations()), definition, context);
 
         context.setRealm(null);
         context.setRealmDefinition(null);
+        context.setTemplates(null);
+    }
+
+    /**
+     * Realms of tenants share the templates of their realm template, hence the templates are resolved only once for all
+     * of them
+     */
+    private DefinitionTemplates getTemplates(RealmDefinition definition) {
+        if (definition.getTemplates() == null) {
+            return DefinitionTemplates.of(definition);
+        }
+        synchronized (resolvedTemplates) {
+            return resolvedTemplates.computeIfAbsent(definition.getTemplates(), t -> DefinitionTemplates.of(definition));
+        }
+    }
+
+    private <DefinitionT> void formCollection(String type, Class<DefinitionT> definitionClass,
+                                              Collection<DefinitionT> definitions, RealmDefinition definition,
+                                              FormerContext context) {
+        if (!isSkipped(type, definition, context)) {
+            formersFactory.getForCollectionOf(definitionClass).form(definitions, context, definition.getSyncMode());
+        }
+    }
+
+    private boolean isSkipped(String type, RealmDefinition definition, FormerContext context) {
+        if (context.getFilter().skips(ResourceFilter.TYPE, type)) {
+            log.debugf("%s %s are out of the filter scope, skipping them", getLogIdentifier(definition), type);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isDifferent(RealmModel model, RealmDefinition definition, FormerContext context) {
+        List<String> differences = DIFF.diff(definition, getSnapshot(model, context));
+        if (!isAttributesMatching(model, definition)) {
+            differences.add("attributes");
+        }
+        if (differences.isEmpty()) {
+            log.debugf("%s matches the definition, bulk update skipped", getLogIdentifier(definition));
+            return false;
+        }
+        log.debugf("%s differs in %s", getLogIdentifier(definition), differences);
+        return true;
+    }
+
+    private RealmRepresentation getSnapshot(RealmModel model, FormerContext context) {
+        //internal representation would export flows, groups and required actions, secrets are restored instead
+        RealmRepresentation snapshot = ModelToRepresentation.toRepresentation(context.getSession(), model, false);
+        if (snapshot.getSmtpServer() != null) {
+            snapshot.setSmtpServer(model.getSmtpConfig());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Attributes are replaced by {@link DefaultExportImportManager#updateRealm(RealmRepresentation, RealmModel)} with the
+     * exception of attributes stored as fields, hence the check is made against the model directly.
+     */
+    private boolean isAttributesMatching(RealmModel model, RealmDefinition definition) {
+        return isAttributesMatching(definition.getAttributes(), model.getAttributes());
+    }
+
+    /**
+     * Compares realm attributes the way they are replaced by
+     * {@link DefaultExportImportManager#updateRealm(RealmRepresentation, RealmModel)}.
+     *
+     * @param wanted  attributes of the definition, null means attributes are not managed
+     * @param current current attributes of the realm
+     * @return true when the update would not change the attributes
+     */
+    public static boolean isAttributesMatching(Map<String, String> wanted, Map<String, String> current) {
+        if (wanted == null) {
+            return true;
+        }
+        Map<String, String> existing = current == null ? Map.of() : current;
+        for (Map.Entry<String, String> e : wanted.entrySet()) {
+            if (!Objects.equals(e.getValue(), existing.get(e.getKey()))) {
+                return false;
+            }
+        }
+        return existing.keySet().stream()
+            .filter(key -> !ModelToRepresentation.REALM_EXCLUDED_ATTRIBUTES.contains(key))
+            .allMatch(wanted::containsKey);
     }
 
     private ScopeDefinitionHelper getScopeDefinitionHelper(RealmDefinition definition) {
         return new ScopeDefinitionHelper(definition.getSyncMode(), definition.getScopeMappings(), definition.getClientScopeMappings());
     }
 
+    /**
+     * Flattens the component tree in pre-order, every parent precedes its subcomponents, hence it is formed first.
+     */
     private List<ComponentDefinition> getComponents(MultivaluedHashMap<String, ComponentDefinition> definitions, String parentId) {
         ArrayList<ComponentDefinition> components = new ArrayList<>();
 
@@ -174,15 +336,17 @@ public class RealmFormer extends DefaultItemFormer<RealmModel, RealmDefinition>
             Map<String, ClientScopeModel> namedClientScopes = context.getRealm().getClientScopesStream()
                 .collect(Collectors.toMap(ClientScopeModel::getName, cs -> cs));
 
+            //the definition is not modified, it can be shared by realms of tenants or formed again
+            List<String> missing = new ArrayList<>(toAssign);
             model.getDefaultClientScopesStream(defaultScope).forEach(cs -> {
                 if (!toAssign.contains(cs.getName())) {
                     model.removeDefaultClientScope(cs);
                 } else {
-                    toAssign.remove(cs.getName());
+                    missing.remove(cs.getName());
                 }
             });
 
-            toAssign.forEach(name -> model.addDefaultClientScope(namedClientScopes.get(name), defaultScope));
+            missing.forEach(name -> model.addDefaultClientScope(namedClientScopes.get(name), defaultScope));
         }
     }
 
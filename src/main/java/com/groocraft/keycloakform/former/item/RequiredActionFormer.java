@@ -48,14 +48,17 @@ public class RequiredActionFormer extends DefaultItemFormer<RequiredActionProvid
         return model;
     }
 
+    @Override
+    protected void populate(RequiredActionProviderModel model, RequiredActionDefinition definition, FormerContext context) {
+        updater.update(model, definition, context);
+        context.getRealm().addRequiredActionProvider(model);
+    }
+
     @Override
     protected void update(RequiredActionProviderModel model, RequiredActionDefinition definition, FormerContext context) {
         updater.update(model, definition, context);
 
-        RequiredActionProviderModel existing = getModel(definition, context);
-        if (existing == null) {
-            context.getRealm().addRequiredActionProvider(model);
-        } else {
+        if (!context.getChangeJournal().isEmpty()) {
             context.getRealm().updateRequiredActionProvider(model);
         }
     }
@@ -16,12 +16,14 @@
 
 package com.groocraft.keycloakform.former.item;
 
+import com.groocraft.keycloakform.config.ResourceFilter;
 import com.groocraft.keycloakform.definition.DefinitionMapping;
 import com.groocraft.keycloakform.definition.RoleDefinition;
 import com.groocraft.keycloakform.definition.RolesDefinition;
 import com.groocraft.keycloakform.former.FormerContext;
 import com.groocraft.keycloakform.former.ItemFormer;
 import com.groocraft.keycloakform.former.SyncMode;
+import com.groocraft.keycloakform.tracing.FormingSpan;
 
 import org.keycloak.models.ClientModel;
 import org.keycloak.models.RealmModel;
@@ -41,16 +43,35 @@ public class RoleCompositesFormer implements ItemFormer<RolesDefinition> {
 
     @Override
     public void form(RolesDefinition definition, FormerContext context) {
-        RealmModel realm = context.getRealm();
-        form(DefinitionMapping.cast(definition.getRealm()), realm, realm, context.getRealmDefinition().getSyncMode());
-
-        definition.getClient().forEach((key, value) -> form(DefinitionMapping.cast(value), realm.getClientByClientId(key), realm,
-            context.getRealmDefinition().getSyncMode()));
+        FormingSpan span = context.getTracer().startSpan("Role composites")
+            .setAttribute(FormingSpan.RESOURCE_TYPE, getDefinitionClass().getSimpleName())
+            .setAttribute(FormingSpan.OPERATION, "form");
+        try {
+            RealmModel realm = context.getRealm();
+            form(DefinitionMapping.cast(definition.getRealm()), realm, realm, context);
+
+            //composites of roles of clients out of the filter are neither added nor removed
+            definition.getClient().entrySet().stream()
+                .filter(e -> !context.getFilter().skips(ResourceFilter.CLIENT, e.getKey()))
+                .forEach(e -> form(DefinitionMapping.cast(e.getValue()), realm.getClientByClientId(e.getKey()), realm,
+                    context));
+        } finally {
+            span.end();
+        }
     }
 
-    private void form(Collection<RoleDefinition> roles, RoleContainerModel container, RealmModel realm, SyncMode syncMode) {
+    private void form(Collection<RoleDefinition> roles, RoleContainerModel container, RealmModel realm, FormerContext context) {
         for (RoleDefinition roleDefinition : roles) {
-            assignComposites(container == null ? null : container.getRole(roleDefinition.getName()), realm, roleDefinition, syncMode);
+            FormingSpan span = context.getTracer().startSpan("Composite roles of " + roleDefinition.getName())
+                .setAttribute(FormingSpan.RESOURCE_TYPE, RoleDefinition.class.getSimpleName())
+                .setAttribute(FormingSpan.RESOURCE_ID, roleDefinition.getName())
+                .setAttribute(FormingSpan.OPERATION, "update");
+            try {
+                assignComposites(container == null ? null : container.getRole(roleDefinition.getName()), realm, roleDefinition,
+                    context.getRealmDefinition().getSyncMode());
+            } finally {
+                span.end();
+            }
         }
     }
 
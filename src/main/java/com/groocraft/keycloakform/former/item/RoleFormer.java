@@ -47,6 +47,11 @@ public class RoleFormer extends DefaultItemFormer<RoleModel, RoleDefinition> {
         return getCurrentlyManagedContainer(context).addRole(id, definition.getName());
     }
 
+    @Override
+    protected void populate(RoleModel role, RoleDefinition definition, FormerContext context) {
+        updater.update(role, definition, context);
+    }
+
     @Override
     protected void update(RoleModel role, RoleDefinition definition, FormerContext context) {
         updater.update(role, definition, context);
@@ -16,10 +16,12 @@
 
 package com.groocraft.keycloakform.former.item;
 
+import com.groocraft.keycloakform.config.ResourceFilter;
 import com.groocraft.keycloakform.definition.ScopeDefinitionHelper;
 import com.groocraft.keycloakform.former.FormerContext;
 import com.groocraft.keycloakform.former.ItemFormer;
 import com.groocraft.keycloakform.former.SyncMode;
+import com.groocraft.keycloakform.tracing.FormingSpan;
 
 import org.keycloak.models.ClientModel;
 import org.keycloak.models.ClientScopeModel;
@@ -27,98 +29,198 @@ import org.keycloak.models.RealmModel;
 import org.keycloak.models.RoleContainerModel;
 import org.keycloak.models.RoleModel;
 import org.keycloak.models.ScopeContainerModel;
-import org.keycloak.models.utils.KeycloakModelUtils;
 import org.keycloak.representations.idm.ScopeMappingRepresentation;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import lombok.CustomLog;
 
+/**
+ * Former of scope mappings of a realm (realm roles) and of its clients (client roles). Mappings of the same scope
+ * container (client or client scope) are merged and the container is reconciled once: its current mappings of the
+ * role container are read once into a set of ids, role names are resolved by a role table of the role container built
+ * once and only the missing mappings are added and, in FULL sync mode, the undeclared ones removed. Mappings of roles
+ * of clients out of the filter and mappings of clients out of the filter are not touched.
+ *
+ * @author Majlanky
+ */
 @CustomLog
 public class ScopeMappingsFormer implements ItemFormer<ScopeDefinitionHelper> {
 
     @Override
     public void form(ScopeDefinitionHelper definition, FormerContext context) {
-        if(definition.getSyncMode() != SyncMode.IGNORE) {
-            if (definition.getClientScopeMappings() != null) {
-                for (Map.Entry<String, List<ScopeMappingRepresentation>> entry : definition.getClientScopeMappings().entrySet()) {
-                    ClientModel client = context.getRealm().getClientByClientId(entry.getKey());
-                    if (client == null) {
-                        throw new RuntimeException("Unable to find client role mappings for client: " + entry.getKey());
+        FormingSpan span = context.getTracer().startSpan("Scope mappings")
+            .setAttribute(FormingSpan.RESOURCE_TYPE, getDefinitionClass().getSimpleName())
+            .setAttribute(FormingSpan.OPERATION, definition.getSyncMode() == SyncMode.IGNORE ? "skip" : "form");
+        try {
+            if (definition.getSyncMode() != SyncMode.IGNORE) {
+                ScopeContainers scopeContainers = new ScopeContainers(context.getRealm());
+                if (definition.getClientScopeMappings() != null) {
+                    for (Map.Entry<String, List<ScopeMappingRepresentation>> entry : definition.getClientScopeMappings().entrySet()) {
+                        if (context.getFilter().skips(ResourceFilter.CLIENT, entry.getKey())) {
+                            log.debugf("Client %s is out of the filter scope, skipping mappings of its roles", entry.getKey());
+                            continue;
+                        }
+                        ClientModel client = scopeContainers.getClient(entry.getKey());
+                        if (client == null) {
+                            throw new RuntimeException("Unable to find client role mappings for client: " + entry.getKey());
+                        }
+                        processScopeMappings(entry.getValue(), client, scopeContainers, context, definition.getSyncMode());
                     }
-                    processScopeMapping(entry.getValue(), client, context, definition.getSyncMode());
                 }
-            }
 
-            if (definition.getScopeMappings() != null) {
-                processScopeMapping(definition.getScopeMappings(), context.getRealm(), context, definition.getSyncMode());
+                if (definition.getScopeMappings() != null) {
+                    processScopeMappings(definition.getScopeMappings(), context.getRealm(), scopeContainers, context,
+                        definition.getSyncMode());
+                }
             }
+        } finally {
+            span.end();
         }
     }
 
-    private void processScopeMapping(List<ScopeMappingRepresentation> mappings, RoleContainerModel roleContainer, FormerContext context,
-                                     SyncMode syncMode) {
-
+    private void processScopeMappings(List<ScopeMappingRepresentation> mappings, RoleContainerModel roleContainer,
+                                      ScopeContainers scopeContainers, FormerContext context, SyncMode syncMode) {
+        //mappings of the same scope container are merged, so every container is read and written once
+        Map<String, Set<String>> rolesByTarget = new LinkedHashMap<>();
+        Map<String, ScopeMappingRepresentation> mappingByTarget = new LinkedHashMap<>();
         for (ScopeMappingRepresentation mapping : mappings) {
-            ScopeContainerModel scopeContainer = getScopeContainerHavingScope(context.getRealm(), mapping);
-
-            StringBuilder changeLog = new StringBuilder("Scope mapping for ")
-                .append(mapping.getClient() == null ? "client scope " : "client ")
-                .append(mapping.getClientScope() == null ? mapping.getClientScope() : mapping.getClient())
-                .append(":\nAdded: ");
-
-            List<String> added = new ArrayList<>();
-            Map<String, RoleModel> existing = scopeContainer.getScopeMappingsStream()
-                .collect(Collectors.toMap(RoleModel::getName, Function.identity()));
-            List<RoleModel> shouldBeRemoved = scopeContainer.getScopeMappingsStream()
-                .filter(r -> !mapping.getRoles().contains(r.getName()))
-                .toList();
-
-            for (String roleName : mapping.getRoles()) {
-                RoleModel role = roleContainer.getRole(roleName.trim());
-                if (role == null) {
-                    role = roleContainer.addRole(roleName);
-                }
-                if (!existing.containsKey(roleName)) {
-                    scopeContainer.addScopeMapping(role);
-                    added.add(roleName);
-                }
+            if (mapping.getClient() != null && context.getFilter().skips(ResourceFilter.CLIENT, mapping.getClient())) {
+                continue;
+            }
+            String target = getTarget(mapping);
+            mappingByTarget.putIfAbsent(target, mapping);
+            Set<String> roles = rolesByTarget.computeIfAbsent(target, t -> new LinkedHashSet<>());
+            if (mapping.getRoles() != null) {
+                mapping.getRoles().stream().map(String::trim).forEach(roles::add);
             }
+        }
 
-            changeLog.append(String.join(", ", added));
+        if (rolesByTarget.isEmpty()) {
+            return;
+        }
+        Map<String, RoleModel> roleTable = getRoleTable(roleContainer, rolesByTarget.values());
+
+        for (Map.Entry<String, ScopeMappingRepresentation> entry : mappingByTarget.entrySet()) {
+            FormingSpan span = context.getTracer().startSpan("Scope mapping of " + entry.getKey())
+                .setAttribute(FormingSpan.RESOURCE_TYPE, ScopeMappingRepresentation.class.getSimpleName())
+                .setAttribute(FormingSpan.RESOURCE_ID, entry.getKey())
+                .setAttribute(FormingSpan.OPERATION, "update");
+            try {
+                ScopeContainerModel scopeContainer = scopeContainers.getScopeContainerHavingScope(entry.getValue());
+                processScopeMapping(entry.getKey(), rolesByTarget.get(entry.getKey()), scopeContainer, roleContainer,
+                    roleTable, syncMode);
+            } finally {
+                span.end();
+            }
+        }
+    }
 
-            if(syncMode == SyncMode.FULL) {
-                shouldBeRemoved.forEach(scopeContainer::deleteScopeMapping);
+    /**
+     * Builds the table of roles of the container by their names. Roles referenced by the mappings but missing in the
+     * container are created before any mapping is processed.
+     */
+    private Map<String, RoleModel> getRoleTable(RoleContainerModel roleContainer, Collection<Set<String>> referencedRoles) {
+        Map<String, RoleModel> roleTable = roleContainer.getRolesStream()
+            .collect(Collectors.toMap(RoleModel::getName, Function.identity(), (first, second) -> first));
+        referencedRoles.stream()
+            .flatMap(Set::stream)
+            .filter(roleName -> !roleTable.containsKey(roleName))
+            .distinct()
+            .toList()
+            .forEach(roleName -> roleTable.put(roleName, roleContainer.addRole(roleName)));
+        return roleTable;
+    }
 
-                changeLog
-                    .append("\nRemoved: ")
-                    .append(String.join(", ", shouldBeRemoved.stream().map(RoleModel::getName).toList()));
+    private void processScopeMapping(String target, Set<String> roleNames, ScopeContainerModel scopeContainer,
+                                     RoleContainerModel roleContainer, Map<String, RoleModel> roleTable, SyncMode syncMode) {
+        //scope container holds mappings of roles of all containers, only the processed one is reconciled
+        Map<String, RoleModel> existing = scopeContainer.getScopeMappingsStream()
+            .filter(r -> roleContainer.getId().equals(r.getContainerId()))
+            .collect(Collectors.toMap(RoleModel::getId, Function.identity(), (first, second) -> first, LinkedHashMap::new));
+        Set<String> wanted = new HashSet<>();
+
+        List<String> added = new ArrayList<>();
+        for (String roleName : roleNames) {
+            RoleModel role = roleTable.get(roleName);
+            wanted.add(role.getId());
+            if (!existing.containsKey(role.getId())) {
+                scopeContainer.addScopeMapping(role);
+                added.add(roleName);
             }
+        }
+
+        List<String> removed = new ArrayList<>();
+        if (syncMode == SyncMode.FULL) {
+            existing.values().stream()
+                .filter(r -> !wanted.contains(r.getId()))
+                .forEach(r -> {
+                    scopeContainer.deleteScopeMapping(r);
+                    removed.add(r.getName());
+                });
+        }
 
-            log.info(changeLog);
+        if (added.isEmpty() && removed.isEmpty()) {
+            log.debugf("Scope mapping for %s without changes", target);
+        } else {
+            log.infof("Scope mapping for %s:\nAdded: %s\nRemoved: %s", target, String.join(", ", added),
+                String.join(", ", removed));
         }
     }
 
-    private ScopeContainerModel getScopeContainerHavingScope(RealmModel realm, ScopeMappingRepresentation scope) {
-        if (scope.getClient() != null) {
-            ClientModel client = realm.getClientByClientId(scope.getClient());
-            if (client == null) {
-                throw new RuntimeException("Unknown client specification in scope mappings: " + scope.getClient());
-            }
-            return client;
-        } else if (scope.getClientScope() != null) {
-            ClientScopeModel clientScope = KeycloakModelUtils.getClientScopeByName(realm, scope.getClientScope());
-            if (clientScope == null) {
-                throw new RuntimeException("Unknown clientScope specification in scope mappings: " + scope.getClientScope());
+    private static String getTarget(ScopeMappingRepresentation mapping) {
+        return mapping.getClient() == null ? "client scope " + mapping.getClientScope() : "client " + mapping.getClient();
+    }
+
+    /**
+     * Scope containers of a realm resolved once per forming, client scopes are read on the first use.
+     */
+    private static class ScopeContainers {
+
+        private final RealmModel realm;
+        private final Map<String, ClientModel> clients = new HashMap<>();
+        private Map<String, ClientScopeModel> clientScopes;
+
+        ScopeContainers(RealmModel realm) {
+            this.realm = realm;
+        }
+
+        ClientModel getClient(String clientId) {
+            return clients.computeIfAbsent(clientId, realm::getClientByClientId);
+        }
+
+        ScopeContainerModel getScopeContainerHavingScope(ScopeMappingRepresentation scope) {
+            if (scope.getClient() != null) {
+                ClientModel client = getClient(scope.getClient());
+                if (client == null) {
+                    throw new RuntimeException("Unknown client specification in scope mappings: " + scope.getClient());
+                }
+                return client;
+            } else if (scope.getClientScope() != null) {
+                if (clientScopes == null) {
+                    clientScopes = realm.getClientScopesStream()
+                        .collect(Collectors.toMap(ClientScopeModel::getName, Function.identity(), (first, second) -> first));
+                }
+                ClientScopeModel clientScope = clientScopes.get(scope.getClientScope());
+                if (clientScope == null) {
+                    throw new RuntimeException("Unknown clientScope specification in scope mappings: " + scope.getClientScope());
+                }
+                return clientScope;
+            } else {
+                throw new RuntimeException("Either client or clientScope needs to be specified in scope mappings");
             }
-            return clientScope;
-        } else {
-            throw new RuntimeException("Either client or clientScope needs to be specified in scope mappings");
         }
+
     }
 
     @Override
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.groocraft.keycloakform.health;
+
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Readiness check of the Keycloak management interface ({@code /health/ready}) that is down until the forming running on
+ * the background is finished. The state of every realm is a part of the check data. Liveness is not affected, so the
+ * server is not restarted however long the forming takes.
+ *
+ * @author Majlanky
+ */
+@Readiness
+@ApplicationScoped
+public class FormingHealthCheck implements HealthCheck {
+
+    public static final String NAME = "Keycloakform";
+
+    @Override
+    public HealthCheckResponse call() {
+        FormingStatus status = FormingStatus.getInstance();
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("state", status.getState().name());
+        status.getRealms().forEach((realm, state) -> data.put("realm " + realm, state.name()));
+        if (status.getFailure() != null) {
+            data.put("failure", status.getFailure());
+        }
+        return new HealthCheckResponse(NAME, status.isReady() ? HealthCheckResponse.Status.UP : HealthCheckResponse.Status.DOWN,
+            Optional.of(data));
+    }
+
+}
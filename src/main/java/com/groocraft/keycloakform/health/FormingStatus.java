@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.groocraft.keycloakform.health;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Progress of the forming shared between the forming running on the background and the readiness health check. The
+ * server is ready when no forming is scheduled or the scheduled one is finished. Realms are tracked one by one, so the
+ * progress of a large definition is visible while it is formed.
+ *
+ * @author Majlanky
+ */
+public final class FormingStatus {
+
+    public enum State {
+        PENDING,
+        FORMING,
+        FORMED,
+        FAILED
+    }
+
+    private static final FormingStatus INSTANCE = new FormingStatus();
+
+    private final Map<String, State> realms = Collections.synchronizedMap(new LinkedHashMap<>());
+    private volatile State state = State.FORMED;
+    private volatile String failure;
+
+    FormingStatus() {
+    }
+
+    public static FormingStatus getInstance() {
+        return INSTANCE;
+    }
+
+    public void scheduled(Collection<String> realmNames) {
+        realms.clear();
+        realmNames.forEach(realm -> realms.put(realm, State.PENDING));
+        failure = null;
+        state = State.PENDING;
+    }
+
+    public void started() {
+        state = State.FORMING;
+    }
+
+    public void realmStarted(String realm) {
+        realms.put(realm, State.FORMING);
+    }
+
+    public void realmFormed(String realm) {
+        realms.put(realm, State.FORMED);
+    }
+
+    public void completed() {
+        realms.replaceAll((realm, realmState) -> realmState == State.FAILED ? realmState : State.FORMED);
+        state = State.FORMED;
+    }
+
+    public void failed(Throwable cause) {
+        realms.replaceAll((realm, realmState) -> realmState == State.FORMING ? State.FAILED : realmState);
+        failure = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        state = State.FAILED;
+    }
+
+    public boolean isReady() {
+        return state == State.FORMED;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    public Map<String, State> getRealms() {
+        synchronized (realms) {
+            return new LinkedHashMap<>(realms);
+        }
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.jpa;
+
+import org.hibernate.Session;
+import org.hibernate.SessionEventListener;
+import org.keycloak.connections.jpa.JpaConnectionProvider;
+import org.keycloak.models.KeycloakSession;
+
+import java.io.Serial;
+
+import jakarta.persistence.PersistenceException;
+import lombok.CustomLog;
+import lombok.Getter;
+
+/**
+ * Bulk write mode of a forming session. JDBC batching is enabled on the Hibernate session behind the Keycloak JPA
+ * connection, so inserts and updates collected between two flushes are sent in batches instead of one round-trip per
+ * statement. The session is flushed periodically at safe points (between formed items) to keep batches bounded.
+ * The session is never cleared because model adapters held by formers refer to managed entities.
+ * Ordered inserts and updates are session factory options of Hibernate, they must be enabled by Keycloak configuration
+ * ({@code hibernate.order_inserts}, {@code hibernate.order_updates}) to make the batches as large as possible.
+ * The class also listens to the session and counts executed JDBC batches and statements executed outside of batches.
+ *
+ * @author Majlanky
+ */
+@CustomLog
+@Getter
+public class JdbcBatching implements SessionEventListener {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final transient Session session;
+    private final int flushInterval;
+    private long formedItems;
+    private long flushes;
+    private long executedBatches;
+    private long executedStatements;
+
+    JdbcBatching(Session session, int flushInterval) {
+        this.session = session;
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * Enables bulk write mode on the JPA session of the given Keycloak session.
+     *
+     * @param keycloakSession session used for forming
+     * @param batchSize       JDBC batch size
+     * @param flushInterval   number of formed items between flushes, no periodic flush when lower than 1
+     * @return batching instance or null when the session does not use Hibernate JPA storage
+     */
+    public static JdbcBatching enable(KeycloakSession keycloakSession, int batchSize, int flushInterval) {
+        JpaConnectionProvider connectionProvider = keycloakSession.getProvider(JpaConnectionProvider.class);
+        if (connectionProvider == null) {
+            log.warn("Bulk mode requested but JPA storage is not available, forming will continue without it");
+            return null;
+        }
+        Session session;
+        try {
+            session = connectionProvider.getEntityManager().unwrap(Session.class);
+        } catch (PersistenceException e) {
+            log.warn("Bulk mode requested but JPA storage is not backed by Hibernate, forming will continue without it", e);
+            return null;
+        }
+        session.setJdbcBatchSize(batchSize);
+        JdbcBatching batching = new JdbcBatching(session, flushInterval);
+        session.addEventListeners(batching);
+        log.infof("Bulk mode enabled with JDBC batch size %d and flush after every %d items", batchSize, flushInterval);
+        return batching;
+    }
+
+    /**
+     * Safe point of forming, called when an item is formed completely. Session is flushed every flush interval items.
+     */
+    public void itemFormed() {
+        formedItems++;
+        if (flushInterval > 0 && formedItems % flushInterval == 0) {
+            flush();
+        }
+    }
+
+    public void flush() {
+        session.flush();
+        flushes++;
+    }
+
+    public void report() {
+        log.infof("Bulk mode: %d items formed, %d flushes, %d JDBC batches and %d single statements executed",
+            formedItems, flushes, executedBatches, executedStatements);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executedBatches++;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executedStatements++;
+    }
+
+}
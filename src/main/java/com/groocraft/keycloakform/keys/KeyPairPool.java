@@ -0,0 +1,107 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.keys;
+
+import com.groocraft.keycloakform.config.FormerConfig;
+
+import org.keycloak.common.util.KeyUtils;
+
+import java.security.KeyPair;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * RSA key pairs generated ahead on a pool of worker threads. Generating of RSA keys is the most expensive part of
+ * creating a realm, the forming is single-threaded, so the pool keeps as many key pairs of the requested size in
+ * progress as it has workers and the forming only picks up the finished ones.
+ *
+ * @author Majlanky
+ */
+public class KeyPairPool implements AutoCloseable {
+
+    private final int threads;
+    private final IntFunction<KeyPair> generator;
+    private final ExecutorService executor;
+    private final Map<Integer, Deque<Future<KeyPair>>> ahead = new HashMap<>();
+
+    public KeyPairPool(int threads) {
+        this(threads, KeyUtils::generateRsaKeyPair);
+    }
+
+    KeyPairPool(int threads, IntFunction<KeyPair> generator) {
+        this.threads = threads;
+        this.generator = generator;
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "keycloakform-keys-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates a pool following the configuration.
+     *
+     * @param config configuration of the forming
+     * @return pool, {@code null} when keys are generated by Keycloak itself
+     */
+    public static KeyPairPool create(FormerConfig config) {
+        return config.getKeyGenerationThreads() > 0 ? new KeyPairPool(config.getKeyGenerationThreads()) : null;
+    }
+
+    /**
+     * Takes the oldest key pair of the given size and requests the next ones, so the workers are kept busy.
+     *
+     * @param keySize size of the RSA key in bits
+     * @return generated key pair, never {@code null}
+     */
+    public KeyPair take(int keySize) {
+        Future<KeyPair> next;
+        synchronized (ahead) {
+            Deque<Future<KeyPair>> prepared = ahead.computeIfAbsent(keySize, size -> new ArrayDeque<>());
+            while (prepared.size() <= threads) {
+                prepared.add(executor.submit(() -> generator.apply(keySize)));
+            }
+            next = prepared.poll();
+        }
+        try {
+            return next.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a generated key pair", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Unable to generate RSA key pair of size " + keySize, e.getCause());
+        }
+    }
+
+    /**
+     * Stops the workers, key pairs generated ahead and not taken are dropped.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+}
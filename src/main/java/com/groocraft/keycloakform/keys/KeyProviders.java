@@ -0,0 +1,134 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.keys;
+
+import org.keycloak.common.util.CertificateUtils;
+import org.keycloak.common.util.MultivaluedHashMap;
+import org.keycloak.common.util.PemUtils;
+import org.keycloak.crypto.KeyUse;
+import org.keycloak.keys.KeyProvider;
+import org.keycloak.representations.idm.ComponentExportRepresentation;
+import org.keycloak.representations.idm.RealmRepresentation;
+
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Supplies RSA keys taken from {@link KeyPairPool} to key providers created by the forming, so Keycloak finds the
+ * keys in the configuration and does not generate them when the provider is validated. Keys are supplied only to
+ * providers that are created, the keys of existing providers are never replaced.
+ *
+ * @author Majlanky
+ */
+public final class KeyProviders {
+
+    public static final String PROVIDER_TYPE = KeyProvider.class.getName();
+    private static final Set<String> GENERATED_RSA = Set.of("rsa-generated", "rsa-enc-generated");
+    private static final String PRIVATE_KEY = "privateKey";
+    private static final String CERTIFICATE = "certificate";
+    private static final String KEY_SIZE = "keySize";
+    private static final int DEFAULT_KEY_SIZE = 2048;
+    private static final String PRIORITY = "priority";
+    private static final String DEFAULT_PRIORITY = "100";
+
+    private KeyProviders() {
+    }
+
+    /**
+     * Supplies keys to the configuration of a generated RSA key provider that misses them.
+     *
+     * @param providerType type of the component
+     * @param providerId   id of the provider of the component
+     * @param config       configuration of the component, modified in place
+     * @param realmName    name of the realm used as the subject of the certificate
+     * @param pool         source of the key pairs
+     * @return {@code true} when the keys were supplied
+     */
+    public static boolean supply(String providerType, String providerId, MultivaluedHashMap<String, String> config,
+                                 String realmName, KeyPairPool pool) {
+        if (!PROVIDER_TYPE.equals(providerType) || !GENERATED_RSA.contains(providerId)
+            || config.containsKey(PRIVATE_KEY) && config.containsKey(CERTIFICATE)) {
+            return false;
+        }
+        String keySize = config.getFirst(KEY_SIZE);
+        KeyPair keyPair = pool.take(keySize == null ? DEFAULT_KEY_SIZE : Integer.parseInt(keySize));
+        config.putSingle(PRIVATE_KEY, PemUtils.encodeKey(keyPair.getPrivate()));
+        config.putSingle(CERTIFICATE,
+            PemUtils.encodeCertificate(CertificateUtils.generateV1SelfSignedCertificate(keyPair, realmName)));
+        return true;
+    }
+
+    /**
+     * Supplies keys to the key providers of a realm imported by the native import. When the realm declares no key
+     * provider, the providers Keycloak creates by default for a new realm are added, so the import does not generate
+     * their keys. Realms with the legacy realm-level key are left to Keycloak.
+     *
+     * @param representation realm to be imported, modified in place
+     * @param pool           source of the key pairs
+     */
+    public static void supply(RealmRepresentation representation, KeyPairPool pool) {
+        if (representation.getPrivateKey() != null) {
+            return;
+        }
+        if (representation.getComponents() == null) {
+            representation.setComponents(new MultivaluedHashMap<>());
+        }
+        List<ComponentExportRepresentation> providers = representation.getComponents().get(PROVIDER_TYPE);
+        if (providers == null || providers.isEmpty()) {
+            providers = defaults();
+            representation.getComponents().put(PROVIDER_TYPE, providers);
+        }
+        for (ComponentExportRepresentation provider : providers) {
+            if (provider.getConfig() == null) {
+                provider.setConfig(new MultivaluedHashMap<>());
+            }
+            supply(PROVIDER_TYPE, provider.getProviderId(), provider.getConfig(), representation.getRealm(), pool);
+        }
+    }
+
+    /**
+     * The same providers as {@code DefaultKeyProviders} creates for a new realm
+     */
+    private static List<ComponentExportRepresentation> defaults() {
+        List<ComponentExportRepresentation> providers = new ArrayList<>();
+        providers.add(provider("rsa-generated", "rsa-generated", KeyUse.SIG.name(), null));
+        providers.add(provider("rsa-enc-generated", "rsa-enc-generated", KeyUse.ENC.name(), "RSA-OAEP"));
+        providers.add(provider("hmac-generated-hs512", "hmac-generated", null, "HS512"));
+        providers.add(provider("aes-generated", "aes-generated", null, null));
+        return providers;
+    }
+
+    private static ComponentExportRepresentation provider(String name, String providerId, String keyUse,
+                                                          String algorithm) {
+        ComponentExportRepresentation provider = new ComponentExportRepresentation();
+        provider.setName(name);
+        provider.setProviderId(providerId);
+        MultivaluedHashMap<String, String> config = new MultivaluedHashMap<>();
+        config.putSingle(PRIORITY, DEFAULT_PRIORITY);
+        if (keyUse != null) {
+            config.putSingle("keyUse", keyUse);
+        }
+        if (algorithm != null) {
+            config.putSingle("algorithm", algorithm);
+        }
+        provider.setConfig(config);
+        return provider;
+    }
+
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.plan;
+
+import com.groocraft.keycloakform.definition.Definition;
+import com.groocraft.keycloakform.definition.DefinitionTemplates;
+import com.groocraft.keycloakform.definition.RealmDefinition;
+import com.groocraft.keycloakform.definition.deserialization.Deserialization;
+import com.groocraft.keycloakform.diff.RepresentationDiff;
+import com.groocraft.keycloakform.former.SyncMode;
+import com.groocraft.keycloakform.former.item.ClientFormer;
+import com.groocraft.keycloakform.former.item.ClientScopeFormer;
+import com.groocraft.keycloakform.former.item.RealmFormer;
+
+import org.keycloak.Config;
+import org.keycloak.common.util.MultivaluedHashMap;
+import org.keycloak.representations.idm.AuthenticationExecutionExportRepresentation;
+import org.keycloak.representations.idm.AuthenticationFlowRepresentation;
+import org.keycloak.representations.idm.ClientRepresentation;
+import org.keycloak.representations.idm.ClientScopeRepresentation;
+import org.keycloak.representations.idm.ComponentExportRepresentation;
+import org.keycloak.representations.idm.ProtocolMapperRepresentation;
+import org.keycloak.representations.idm.RoleRepresentation;
+import org.keycloak.representations.idm.RolesRepresentation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Computes the changes the forming would perform without running Keycloak. The definition is compared to realm
+ * exports, both read by {@link Deserialization}. The comparison follows the behavior of the formers:
+ * - resources are identified the same way (realm by name, client by client id, role by name, group by id, identity
+ * provider by alias and so on)
+ * - resources with {@link SyncMode#IGNORE} are skipped including their sub-resources
+ * - undeclared resources are deleted only when the parent has {@link SyncMode#FULL}
+ * - attributes are compared by the same {@link RepresentationDiff} rules as the formers use before bulk updates
+ * Resource types of a realm, and resources of a type, are compared in parallel streams, the order of the changes in
+ * the result is still the order the formers would perform them. Sequential comparison keeps the whole work on the
+ * calling thread, e.g. when the comparison runs next to a live server.
+ * Usage:
+ * <pre>
+ * java -cp ... com.groocraft.keycloakform.plan.OfflineDiff definition.json realm-export.json [another-export.json...]
+ * </pre>
+ *
+ * @author Majlanky
+ */
+public class OfflineDiff {
+
+    private static final RepresentationDiff ROLE_DIFF = new RepresentationDiff(Set.of("id", "syncMode", "containerId",
+        "clientRole"));
+    private static final RepresentationDiff ITEM_DIFF = new RepresentationDiff(Set.of("id", "syncMode"));
+    private static final RepresentationDiff IDENTITY_PROVIDER_DIFF = new RepresentationDiff(Set.of("internalId", "syncMode"));
+    private static final RepresentationDiff GROUP_DIFF = new RepresentationDiff(Set.of("id", "syncMode", "subGroups",
+        "subGroupCount", "access"));
+    private static final RepresentationDiff FLOW_DIFF = new RepresentationDiff(Set.of("id", "syncMode",
+        "authenticationExecutions"));
+    private static final RepresentationDiff COMPONENT_DIFF = new RepresentationDiff(Set.of("id", "syncMode",
+        "subComponents", "parentId", "providerType"));
+
+    private final boolean parallel;
+
+    public OfflineDiff() {
+        this(true);
+    }
+
+    public OfflineDiff(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Definition file and at least one realm export file must be provided");
+        }
+        List<RealmDefinition> definitions = read(Path.of(args[0]));
+        List<RealmDefinition> exports = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            exports.addAll(read(Path.of(args[i])));
+        }
+        System.out.print(new OfflineDiff().diff(definitions, exports));
+    }
+
+    private static List<RealmDefinition> read(Path path) throws IOException {
+        try (InputStream input = Files.newInputStream(path)) {
+            return Deserialization.getRealmsFromStream(input);
+        }
+    }
+
+    /**
+     * Computes changes the forming of the definitions would perform on the exported realms.
+     *
+     * @param definitions wanted state
+     * @param exports     current state, exports of all realms of the instance
+     * @return plan of the changes
+     */
+    public ReconcilePlan diff(Collection<RealmDefinition> definitions, Collection<RealmDefinition> exports) {
+        Stream<PlannedChange> changes = compare("", "realm", definitions, exports, SyncMode.FULL,
+            RealmDefinition::getRealm, this::compareRealm, Config.getAdminRealm());
+        return new ReconcilePlan(changes.toList());
+    }
+
+    private Stream<PlannedChange> compareRealm(String path, RealmDefinition wanted, RealmDefinition current) {
+        List<PlannedChange> own = new ArrayList<>();
+        if (current == null) {
+            own.add(PlannedChange.create("realm", path));
+        } else {
+            List<String> differences = RealmFormer.DIFF.diff(wanted, current);
+            if (!RealmFormer.isAttributesMatching(wanted.getAttributes(), current.getAttributes())) {
+                differences.add("attributes");
+            }
+            addIfSetDiffers(differences, "defaultDefaultClientScopes", wanted.getDefaultDefaultClientScopes(),
+                current.getDefaultDefaultClientScopes());
+            addIfSetDiffers(differences, "defaultOptionalClientScopes", wanted.getDefaultOptionalClientScopes(),
+                current.getDefaultOptionalClientScopes());
+            if (!differences.isEmpty()) {
+                own.add(PlannedChange.update("realm", path, differences));
+            }
+        }
+
+        SyncMode syncMode = wanted.getSyncMode();
+        //templates are expanded upfront, the expansion is not thread-safe
+        DefinitionTemplates templates = DefinitionTemplates.of(wanted);
+        List<ClientScopeRepresentation> wantedClientScopes = templates.expandClientScopes(wanted.getClientScopes());
+        List<ClientRepresentation> wantedClients = templates.expandClients(wanted.getClients());
+        Map<String, List<RoleRepresentation>> currentClientRoles = clientRoles(current);
+        Map<String, List<RoleRepresentation>> wantedClientRoles = clientRoles(wanted);
+        //the order of the formers in RealmFormer
+        List<Supplier<Stream<PlannedChange>>> types = List.of(
+            () -> compare(path, "required action", wanted.getRequiredActions(),
+                current == null ? null : current.getRequiredActions(), syncMode, r -> r.getAlias(), ITEM_DIFF),
+            () -> compare(path, "component", components(wanted.getComponents()),
+                current == null ? null : components(current.getComponents()), syncMode,
+                ComponentExportRepresentation::getId, COMPONENT_DIFF),
+            () -> compare(path, "authenticator config", wanted.getAuthenticatorConfig(),
+                current == null ? null : current.getAuthenticatorConfig(), syncMode, c -> c.getId(), ITEM_DIFF),
+            () -> compare(path, "authentication flow", wanted.getAuthenticationFlows(),
+                current == null ? null : current.getAuthenticationFlows(), syncMode,
+                AuthenticationFlowRepresentation::getId, (p, w, c) -> compareItem(p, "authentication flow", w, c, FLOW_DIFF,
+                    () -> compareExecutions(p, w, c))),
+            () -> compare(path, "role", realmRoles(wanted), realmRoles(current), syncMode, RoleRepresentation::getName,
+                ROLE_DIFF),
+            () -> compare(path, "client scope", wantedClientScopes,
+                current == null ? null : current.getClientScopes(), syncMode, ClientScopeRepresentation::getName,
+                (p, w, c) -> compareItem(p, "client scope", w, c, ClientScopeFormer.DIFF,
+                    () -> compareProtocolMappers(p, w.getProtocolMappers(), c == null ? null : c.getProtocolMappers(),
+                        ((Definition) w).getSyncMode()))),
+            () -> compare(path, "client", wantedClients, current == null ? null : current.getClients(), syncMode,
+                ClientRepresentation::getClientId,
+                (p, w, c) -> compareClient(p, w, c, wantedClientRoles.get(w.getClientId()),
+                    currentClientRoles.get(w.getClientId()))),
+            () -> compare(path, "identity provider", wanted.getIdentityProviders(),
+                current == null ? null : current.getIdentityProviders(), syncMode, i -> i.getAlias(),
+                IDENTITY_PROVIDER_DIFF),
+            () -> compare(path, "identity provider mapper", wanted.getIdentityProviderMappers(),
+                current == null ? null : current.getIdentityProviderMappers(), syncMode, m -> m.getId(), ITEM_DIFF),
+            () -> compare(path, "group", wanted.getGroups(), current == null ? null : current.getGroups(), syncMode,
+                g -> g.getId(), GROUP_DIFF));
+
+        return Stream.concat(own.stream(), stream(types).flatMap(Supplier::get));
+    }
+
+    private Stream<PlannedChange> compareClient(String path, ClientRepresentation wanted, ClientRepresentation current,
+                                                List<RoleRepresentation> wantedRoles, List<RoleRepresentation> currentRoles) {
+        SyncMode syncMode = ((Definition) wanted).getSyncMode();
+        Stream<PlannedChange> own;
+        if (current == null) {
+            own = Stream.of(PlannedChange.create("client", path));
+        } else {
+            List<String> differences = ClientFormer.DIFF.diff(wanted, current);
+            addIfSetDiffers(differences, "defaultClientScopes", wanted.getDefaultClientScopes(), current.getDefaultClientScopes());
+            addIfSetDiffers(differences, "optionalClientScopes", wanted.getOptionalClientScopes(),
+                current.getOptionalClientScopes());
+            own = differences.isEmpty() ? Stream.empty() : Stream.of(PlannedChange.update("client", path, differences));
+        }
+        return Stream.of(own,
+                compare(path, "role", wantedRoles, currentRoles, syncMode, RoleRepresentation::getName, ROLE_DIFF),
+                compareProtocolMappers(path, wanted.getProtocolMappers(), current == null ? null : current.getProtocolMappers(),
+                    syncMode))
+            .flatMap(Function.identity());
+    }
+
+    private Stream<PlannedChange> compareProtocolMappers(String path, List<ProtocolMapperRepresentation> wanted,
+                                                         List<ProtocolMapperRepresentation> current, SyncMode syncMode) {
+        return compare(path, "protocol mapper", wanted, current, syncMode, ProtocolMapperRepresentation::getName, ITEM_DIFF);
+    }
+
+    /**
+     * Executions have no identity, they are matched by all their attributes, so they can be only created or deleted.
+     */
+    private Stream<PlannedChange> compareExecutions(String path, AuthenticationFlowRepresentation wanted,
+                                                    AuthenticationFlowRepresentation current) {
+        List<AuthenticationExecutionExportRepresentation> wantedExecutions = orEmpty(wanted.getAuthenticationExecutions());
+        List<AuthenticationExecutionExportRepresentation> currentExecutions =
+            current == null ? List.of() : orEmpty(current.getAuthenticationExecutions());
+        Set<String> wantedKeys = wantedExecutions.stream().map(this::executionKey).collect(Collectors.toSet());
+        Set<String> currentKeys = currentExecutions.stream().map(this::executionKey).collect(Collectors.toSet());
+
+        Stream<PlannedChange> creates = wantedExecutions.stream()
+            .map(this::executionKey)
+            .filter(key -> !currentKeys.contains(key))
+            .map(key -> PlannedChange.create("authentication execution", path + " / authentication execution " + key));
+        Stream<PlannedChange> deletes = ((Definition) wanted).getSyncMode() != SyncMode.FULL ? Stream.empty()
+            : currentExecutions.stream()
+            .map(this::executionKey)
+            .filter(key -> !wantedKeys.contains(key))
+            .map(key -> PlannedChange.delete("authentication execution", path + " / authentication execution " + key));
+        return Stream.concat(creates, deletes);
+    }
+
+    private String executionKey(AuthenticationExecutionExportRepresentation execution) {
+        return (execution.isAuthenticatorFlow() ? execution.getFlowAlias() : execution.getAuthenticator())
+               + " " + execution.getPriority() + " " + execution.getRequirement()
+               + (execution.getAuthenticatorConfig() == null ? "" : " " + execution.getAuthenticatorConfig());
+    }
+
+    private <T> Stream<T> stream(Collection<T> items) {
+        return parallel ? items.parallelStream() : items.stream();
+    }
+
+    private <T> Stream<PlannedChange> compare(String parentPath, String type, Collection<? extends T> wanted,
+                                              Collection<? extends T> current, SyncMode syncMode, Function<T, String> identity,
+                                              RepresentationDiff diff) {
+        return compare(parentPath, type, wanted, current, syncMode, identity,
+            (path, w, c) -> compareItem(path, type, w, c, diff, Stream::empty));
+    }
+
+    private <T> Stream<PlannedChange> compare(String parentPath, String type, Collection<? extends T> wanted,
+                                              Collection<? extends T> current, SyncMode syncMode, Function<T, String> identity,
+                                              ItemDiff<T> itemDiff, String... undeletable) {
+        //collection formers get empty collection when nothing is defined, hence in FULL mode everything is deleted
+        Collection<? extends T> wantedItems = orEmpty(wanted);
+        Map<String, T> currentItems = new LinkedHashMap<>();
+        orEmpty(current).forEach(item -> currentItems.putIfAbsent(identity.apply(item), item));
+
+        Stream<PlannedChange> formed = stream(wantedItems)
+            .filter(item -> !(item instanceof Definition definition && definition.getSyncMode() == SyncMode.IGNORE))
+            .flatMap(item -> {
+                String id = identity.apply(item);
+                return itemDiff.diff(path(parentPath, type, id), item, currentItems.get(id));
+            });
+
+        if (syncMode != SyncMode.FULL) {
+            return formed;
+        }
+        Set<String> declared = wantedItems.stream().map(identity).collect(Collectors.toCollection(HashSet::new));
+        declared.addAll(List.of(undeletable));
+        Stream<PlannedChange> deleted = currentItems.keySet().stream()
+            .filter(id -> !declared.contains(id))
+            .map(id -> PlannedChange.delete(type, path(parentPath, type, id)));
+        return Stream.concat(formed, deleted);
+    }
+
+    private <T> Stream<PlannedChange> compareItem(String path, String type, T wanted, T current, RepresentationDiff diff,
+                                                  Supplier<Stream<PlannedChange>> nested) {
+        Stream<PlannedChange> own;
+        if (current == null) {
+            own = Stream.of(PlannedChange.create(type, path));
+        } else {
+            List<String> differences = diff.diff(wanted, current);
+            own = differences.isEmpty() ? Stream.empty() : Stream.of(PlannedChange.update(type, path, differences));
+        }
+        return Stream.concat(own, nested.get());
+    }
+
+    private void addIfSetDiffers(List<String> differences, String name, List<String> wanted, List<String> current) {
+        if (wanted != null && !new HashSet<>(wanted).equals(new HashSet<>(orEmpty(current)))) {
+            differences.add(name);
+        }
+    }
+
+    private List<RoleRepresentation> realmRoles(RealmDefinition realm) {
+        return realm == null || realm.getRoles() == null ? null : realm.getRoles().getRealm();
+    }
+
+    private Map<String, List<RoleRepresentation>> clientRoles(RealmDefinition realm) {
+        RolesRepresentation roles = realm == null ? null : realm.getRoles();
+        return roles == null || roles.getClient() == null ? Map.of() : roles.getClient();
+    }
+
+    /**
+     * Components are formed as flat list, sub-components included
+     */
+    private List<ComponentExportRepresentation> components(MultivaluedHashMap<String, ComponentExportRepresentation> components) {
+        List<ComponentExportRepresentation> result = new ArrayList<>();
+        if (components != null) {
+            components.values().stream().flatMap(List::stream).filter(Objects::nonNull).forEach(component -> {
+                result.add(component);
+                result.addAll(components(component.getSubComponents()));
+            });
+        }
+        return result;
+    }
+
+    private static String path(String parentPath, String type, String id) {
+        return (parentPath.isEmpty() ? "" : parentPath + " / ") + type + " " + id;
+    }
+
+    private static <T> Collection<T> orEmpty(Collection<T> collection) {
+        return collection == null ? List.of() : collection;
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list == null ? List.of() : list;
+    }
+
+    @FunctionalInterface
+    private interface ItemDiff<T> {
+
+        Stream<PlannedChange> diff(String path, T wanted, T current);
+    }
+
+}
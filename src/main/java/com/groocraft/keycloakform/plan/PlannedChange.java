@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.plan;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Single change the forming would perform on a resource.
+ *
+ * @author Majlanky
+ */
+@Getter
+@AllArgsConstructor
+public class PlannedChange {
+
+    private final Operation operation;
+    private final String type;
+    private final String path;
+    /**
+     * Names of the differing attributes, empty for creates and deletes
+     */
+    private final List<String> attributes;
+
+    static PlannedChange create(String type, String path) {
+        return new PlannedChange(Operation.CREATE, type, path, List.of());
+    }
+
+    static PlannedChange update(String type, String path, List<String> attributes) {
+        return new PlannedChange(Operation.UPDATE, type, path, attributes);
+    }
+
+    static PlannedChange delete(String type, String path) {
+        return new PlannedChange(Operation.DELETE, type, path, List.of());
+    }
+
+    @Override
+    public String toString() {
+        return operation.getSymbol() + " " + path + (attributes.isEmpty() ? "" : " " + attributes);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public enum Operation {
+        CREATE("+"),
+        UPDATE("~"),
+        DELETE("-");
+
+        private final String symbol;
+    }
+
+}
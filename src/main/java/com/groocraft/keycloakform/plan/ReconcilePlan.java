@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.plan;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Report of the changes the forming would perform, in the order the formers would perform them.
+ *
+ * @author Majlanky
+ */
+@Getter
+@AllArgsConstructor
+public class ReconcilePlan {
+
+    private final List<PlannedChange> changes;
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    public long count(PlannedChange.Operation operation) {
+        return changes.stream().filter(c -> c.getOperation() == operation).count();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder("Plan: ")
+            .append(count(PlannedChange.Operation.CREATE)).append(" to create, ")
+            .append(count(PlannedChange.Operation.UPDATE)).append(" to update, ")
+            .append(count(PlannedChange.Operation.DELETE)).append(" to delete\n");
+        changes.forEach(c -> report.append(c).append('\n'));
+        return report.toString();
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.spi;
+
+import com.groocraft.keycloakform.dirty.DirtyTracker;
+
+import org.keycloak.events.Event;
+import org.keycloak.events.EventListenerProvider;
+import org.keycloak.events.admin.AdminEvent;
+
+/**
+ * Records resources modified through the admin API to {@link DirtyTracker}. User events are not of interest.
+ *
+ * @author Majlanky
+ */
+public class DirtyTrackingListener implements EventListenerProvider {
+
+    private final DirtyTracker tracker;
+
+    public DirtyTrackingListener(DirtyTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public void onEvent(Event event) {
+        //user events do not modify formed resources
+    }
+
+    @Override
+    public void onEvent(AdminEvent event, boolean includeRepresentation) {
+        tracker.record(event);
+    }
+
+    @Override
+    public void close() {
+        //nothing to close
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.spi;
+
+import com.groocraft.keycloakform.dirty.DirtyTracker;
+
+import org.keycloak.Config.Scope;
+import org.keycloak.events.EventListenerProvider;
+import org.keycloak.events.EventListenerProviderFactory;
+import org.keycloak.models.KeycloakSession;
+import org.keycloak.models.KeycloakSessionFactory;
+
+/**
+ * Factory of the event listener tracking resources modified through the admin API. Keycloak delivers admin events only
+ * to the listeners enabled in the realm, hence {@value #ID} must be listed in {@code eventsListeners} of the realms
+ * reconciled incrementally.
+ *
+ * @author Majlanky
+ */
+public class DirtyTrackingListenerFactory implements EventListenerProviderFactory {
+
+    public static final String ID = "keycloakform";
+
+    private final EventListenerProvider listener = new DirtyTrackingListener(DirtyTracker.getInstance());
+
+    @Override
+    public EventListenerProvider create(KeycloakSession session) {
+        //the listener is stateless, the state is kept by the tracker
+        return listener;
+    }
+
+    @Override
+    public void init(Scope config) {
+        //nothing to configure
+    }
+
+    @Override
+    public void postInit(KeycloakSessionFactory factory) {
+        //nothing to initialize
+    }
+
+    @Override
+    public void close() {
+        //nothing to close
+    }
+
+    @Override
+    public String getId() {
+        return ID;
+    }
+}
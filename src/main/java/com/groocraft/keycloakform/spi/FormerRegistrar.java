@@ -17,6 +17,7 @@
 package com.groocraft.keycloakform.spi;
 
 import com.groocraft.keycloakform.config.FormerConfig;
+import com.groocraft.keycloakform.config.ResourceFilter;
 import com.groocraft.keycloakform.former.Formers;
 
 import org.keycloak.Config.Scope;
@@ -34,6 +35,14 @@ import org.keycloak.models.KeycloakSessionFactory;
  * environment or provided Scope object.
  * - Supports a "dry run" mode, which simulates actions without making any changes.
  * - Specifies the source file for the realm definition via configuration.
+ * - Supports a "native import" mode, which imports realms that do not exist yet by Keycloak realm import.
+ * - Supports a "bulk" mode, which enables JDBC batching of the forming session.
+ * - Supports tracing of the forming by hierarchical spans.
+ * - Supports include and exclude filters narrowing the forming to selected realms, clients and sections of realms.
+ * - Supports an "async" mode, which forms on a background thread while the readiness check reports the progress.
+ * - Supports a periodic read-only detection of drift of the instance from the definition.
+ * - Supports a periodic incremental reconcile of the resources modified through the admin API.
+ * - Supports checkpoints of the forming, so an interrupted forming of the same definition resumes where it stopped.
  * - Manages registration of the initializer to a KeycloakSessionFactory for handling events.
  * Behavior:
  * - The init method ensures all necessary configurations are provided. It throws an
@@ -41,7 +50,8 @@ import org.keycloak.models.KeycloakSessionFactory;
  * - The postInit method registers the FormingInitializer instance to the session factory,
  * enabling it to handle formation-related events after migration.
  * - The class provides a getId method to uniquely identify it as a provider factory.
- * - The close method performs resource cleanup, though it currently contains no logic.
+ * - The close method stops the forming running on the background, the drift detection and the incremental
+ * reconcile, if any.
  *
  * @author Majlanky
  */
@@ -49,6 +59,22 @@ public class FormerRegistrar implements ImportProviderFactory {
 
     private static final String DRY_RUN = "dryRun";
     private static final String SOURCE_FILE = "sourceFile";
+    private static final String NATIVE_IMPORT = "nativeImport";
+    private static final String BULK_MODE = "bulkMode";
+    private static final String BULK_BATCH_SIZE = "bulkBatchSize";
+    private static final String BULK_FLUSH_INTERVAL = "bulkFlushInterval";
+    private static final String TRACING = "tracing";
+    private static final String TRACING_FILE = "tracingFile";
+    private static final String INCLUDE = "include";
+    private static final String EXCLUDE = "exclude";
+    private static final String ASYNC = "async";
+    private static final String ASYNC_PER_REALM = "asyncPerRealm";
+    private static final String DRIFT_INTERVAL = "driftInterval";
+    private static final String DRIFT_CPU_BUDGET = "driftCpuBudget";
+    private static final String DRIFT_REPORT_FILE = "driftReportFile";
+    private static final String INCREMENTAL_INTERVAL = "incrementalInterval";
+    private static final String CHECKPOINT_FILE = "checkpointFile";
+    private static final String KEY_GENERATION_THREADS = "keyGenerationThreads";
 
     private FormingInitializer initializer;
 
@@ -64,6 +90,21 @@ public class FormerRegistrar implements ImportProviderFactory {
         FormerConfig formerConfig = FormerConfig.builder()
             .dryRun(config.getBoolean(DRY_RUN, false))
             .sourceFile(config.get(SOURCE_FILE, ""))
+            .nativeImport(config.getBoolean(NATIVE_IMPORT, false))
+            .bulkMode(config.getBoolean(BULK_MODE, false))
+            .bulkBatchSize(config.getInt(BULK_BATCH_SIZE, 100))
+            .bulkFlushInterval(config.getInt(BULK_FLUSH_INTERVAL, 50))
+            .tracing(config.getBoolean(TRACING, false))
+            .tracingFile(config.get(TRACING_FILE, "keycloakform-trace.json"))
+            .filter(ResourceFilter.parse(config.get(INCLUDE), config.get(EXCLUDE)))
+            .async(config.getBoolean(ASYNC, false))
+            .asyncPerRealm(config.getBoolean(ASYNC_PER_REALM, false))
+            .driftInterval(config.getLong(DRIFT_INTERVAL, 0L))
+            .driftCpuBudget(config.getLong(DRIFT_CPU_BUDGET, 2000L))
+            .driftReportFile(config.get(DRIFT_REPORT_FILE))
+            .incrementalInterval(config.getLong(INCREMENTAL_INTERVAL, 0L))
+            .checkpointFile(config.get(CHECKPOINT_FILE))
+            .keyGenerationThreads(config.getInt(KEY_GENERATION_THREADS, 0))
             .build();
 
         if (formerConfig.getSourceFile().isBlank()) {
@@ -81,7 +122,9 @@ public class FormerRegistrar implements ImportProviderFactory {
 
     @Override
     public void close() {
-
+        if (initializer != null) {
+            initializer.close();
+        }
     }
 
     @Override
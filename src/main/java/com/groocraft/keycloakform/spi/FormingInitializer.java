@@ -17,16 +17,29 @@
 package com.groocraft.keycloakform.spi;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groocraft.keycloakform.cache.InvalidationTracker;
+import com.groocraft.keycloakform.checkpoint.FormingCheckpoint;
 import com.groocraft.keycloakform.config.FormerConfig;
+import com.groocraft.keycloakform.config.ResourceFilter;
 import com.groocraft.keycloakform.definition.RealmDefinition;
+import com.groocraft.keycloakform.definition.deserialization.DefinitionInput;
 import com.groocraft.keycloakform.definition.deserialization.Deserialization;
+import com.groocraft.keycloakform.dirty.DirtyResources;
+import com.groocraft.keycloakform.dirty.DirtyTracker;
+import com.groocraft.keycloakform.drift.DriftDetector;
 import com.groocraft.keycloakform.exception.DefinitionFileDeserializationException;
 import com.groocraft.keycloakform.exception.DefinitionFileReadingException;
 import com.groocraft.keycloakform.former.FormerContext;
 import com.groocraft.keycloakform.former.FormersFactory;
 import com.groocraft.keycloakform.former.SyncMode;
+import com.groocraft.keycloakform.health.FormingStatus;
+import com.groocraft.keycloakform.jpa.JdbcBatching;
+import com.groocraft.keycloakform.keys.KeyPairPool;
+import com.groocraft.keycloakform.tracing.FormingTracer;
 
 import org.keycloak.models.KeycloakSession;
+import org.keycloak.models.KeycloakSessionFactory;
+import org.keycloak.models.RealmModel;
 import org.keycloak.models.utils.KeycloakModelUtils;
 import org.keycloak.models.utils.PostMigrationEvent;
 import org.keycloak.provider.ProviderEvent;
@@ -37,7 +50,15 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
 
 import lombok.CustomLog;
 
@@ -53,7 +74,10 @@ import lombok.CustomLog;
  * (generating a plan without applying changes) or in standard mode (executing the formation).
  * Key methods and behaviors:
  * - {@code onEvent(ProviderEvent)}: This method listens for {@code PostMigrationEvent} events and
- * triggers the formation process.
+ * triggers the formation process, either synchronously or on a background thread when asynchronous forming is enabled.
+ * The progress of the background forming is published by {@link FormingStatus} to the readiness health check.
+ * When configured, {@link DriftDetector} periodically compares the definitions with the instance afterwards and the
+ * resources modified through the admin API, recorded by {@link DirtyTracker}, are periodically reconciled.
  * Logging:
  * - Informational logging is included to provide visibility into the dry-run status
  * and the source file being used for formation.
@@ -66,28 +90,244 @@ public class FormingInitializer implements ProviderEventListener {
     private final FormerConfig config;
     private final List<RealmDefinition> definitions;
     private final FormersFactory formersFactory;
+    private final DriftDetector driftDetector;
+    private ExecutorService executor;
+    private ScheduledExecutorService incrementalExecutor;
+    //exists only while the forming at the startup runs, runtime reconciles create no realms
+    private KeyPairPool keyPairPool;
 
     public FormingInitializer(FormerConfig config, FormersFactory formersFactory) {
         this.config = config;
         this.formersFactory = formersFactory;
         //reading the definition now to fail earlier when deserialization issues
         definitions = readRealmsDefinition(readDefinitionFile());
+        driftDetector = config.getDriftInterval() > 0 ? new DriftDetector(config, definitions) : null;
     }
 
     @Override
     public void onEvent(ProviderEvent event) {
         if (event instanceof PostMigrationEvent postMigrationEvent) {
-            KeycloakModelUtils.runJobInTransaction(postMigrationEvent.getFactory(),
-                s -> process(s, definitions));
+            if (config.isAsync()) {
+                formInBackground(postMigrationEvent.getFactory());
+            } else {
+                form(postMigrationEvent.getFactory());
+            }
+            if (driftDetector != null) {
+                //detection waits for the forming running on the background by itself
+                driftDetector.start(postMigrationEvent.getFactory());
+            }
+            if (config.getIncrementalInterval() > 0) {
+                scheduleIncremental(postMigrationEvent.getFactory());
+            }
         }
     }
 
-    private void process(KeycloakSession session, List<RealmDefinition> definitions) {
+    /**
+     * Stops the forming running on the background, the drift detection and the incremental reconcile, if any.
+     */
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (incrementalExecutor != null) {
+            incrementalExecutor.shutdownNow();
+        }
+        if (driftDetector != null) {
+            driftDetector.close();
+        }
+    }
+
+    private void formInBackground(KeycloakSessionFactory factory) {
+        FormingStatus status = FormingStatus.getInstance();
+        status.scheduled(getRealmsInScope());
+        log.info("Keycloakform forms on the background, the server is reported as not ready until the forming is done");
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "keycloakform");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(() -> {
+            status.started();
+            try {
+                form(factory);
+                status.completed();
+                log.info("Keycloakform finished the forming on the background");
+            } catch (RuntimeException e) {
+                status.failed(e);
+                log.error("Keycloakform failed to form on the background", e);
+            }
+        });
+        executor.shutdown();
+    }
+
+    private void form(KeycloakSessionFactory factory) {
+        FormingTracer tracer = FormingTracer.create(config, false);
+        keyPairPool = KeyPairPool.create(config);
+        try {
+            if (config.isAsync() && config.isAsyncPerRealm() || isCheckpointed()) {
+                formPerRealm(factory, tracer);
+            } else {
+                KeycloakModelUtils.runJobInTransaction(factory, s -> process(s, definitions, UnaryOperator.identity(), tracer));
+            }
+        } finally {
+            tracer.close();
+            if (keyPairPool != null) {
+                keyPairPool.close();
+                keyPairPool = null;
+            }
+        }
+    }
+
+    /**
+     * Every realm in the scope of the filter is formed and committed in its own transaction, so realms become available
+     * one by one. Undeclared realms are deleted in the last transaction that skips all the declared realms. With
+     * checkpoints, every committed realm is recorded and realms recorded by an interrupted forming of the same
+     * definition are not formed again.
+     */
+    private void formPerRealm(KeycloakSessionFactory factory, FormingTracer tracer) {
+        FormingStatus status = FormingStatus.getInstance();
+        FormingCheckpoint checkpoint = null;
+        if (isCheckpointed()) {
+            checkpoint = FormingCheckpoint.load(Path.of(config.getCheckpointFile()), Path.of(config.getSourceFile()),
+                getFilter().toString());
+        }
+        for (String realm : getRealmsInScope()) {
+            if (checkpoint != null && checkpoint.isFormed(realm)) {
+                log.infof("Realm %s was formed before the interruption, skipping it", realm);
+                status.realmFormed(realm);
+                continue;
+            }
+            status.realmStarted(realm);
+            KeycloakModelUtils.runJobInTransaction(factory,
+                s -> process(s, definitions, filter -> filter.withOnly(ResourceFilter.REALM, realm), tracer));
+            if (checkpoint != null) {
+                checkpoint.realmFormed(realm);
+            }
+            status.realmFormed(realm);
+        }
+        List<String> declared = definitions.stream().map(RealmDefinition::getRealm).toList();
+        KeycloakModelUtils.runJobInTransaction(factory,
+            s -> process(s, definitions, filter -> filter.withExcluded(ResourceFilter.REALM, declared), tracer));
+        if (checkpoint != null) {
+            checkpoint.completed();
+        }
+    }
+
+    private List<String> getRealmsInScope() {
+        return definitions.stream()
+            .map(RealmDefinition::getRealm)
+            .filter(realm -> !getFilter().skips(ResourceFilter.REALM, realm))
+            .toList();
+    }
+
+    private ResourceFilter getFilter() {
+        return config.getFilter() == null ? ResourceFilter.ALL : config.getFilter();
+    }
+
+    /**
+     * Nothing is committed in dry run mode, hence there is nothing to checkpoint
+     */
+    private boolean isCheckpointed() {
+        return config.getCheckpointFile() != null && !config.isDryRun();
+    }
+
+    private void scheduleIncremental(KeycloakSessionFactory factory) {
+        log.infof("Keycloakform reconciles resources modified through the admin API every %d s",
+            config.getIncrementalInterval());
+        incrementalExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "keycloakform-incremental");
+            thread.setDaemon(true);
+            return thread;
+        });
+        incrementalExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                formDirty(factory);
+            } catch (RuntimeException e) {
+                //the next reconcile is not cancelled by a failure of this one
+                log.warn("Keycloakform failed to reconcile modified resources", e);
+            }
+        }, config.getIncrementalInterval(), config.getIncrementalInterval(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * Forms only the sections of the realms modified through the admin API since the last reconcile, every realm in
+     * its own transaction. The full forming at the startup covers changes of the definition, the incremental reconcile
+     * repairs drift caused at runtime. A failure of a realm does not stop the reconcile of the other realms, resources
+     * of a failed realm are kept dirty for the next reconcile and the failure is reported once all realms are done.
+     */
+    void formDirty(KeycloakSessionFactory factory) {
+        if (!FormingStatus.getInstance().isReady()) {
+            log.debug("Forming is not finished, incremental reconcile skipped");
+            return;
+        }
+        Map<String, DirtyResources> dirty = DirtyTracker.getInstance().drain();
+        if (dirty.isEmpty()) {
+            return;
+        }
+        //the trace of the forming at the startup is kept, reconciles append their own traces to it
+        FormingTracer tracer = FormingTracer.create(config, true);
+        Map<String, RuntimeException> failures = new LinkedHashMap<>();
+        try {
+            dirty.forEach((realmId, resources) -> {
+                try {
+                    KeycloakModelUtils.runJobInTransaction(factory, s -> formDirty(s, realmId, resources, tracer));
+                } catch (RuntimeException e) {
+                    DirtyTracker.getInstance().restore(realmId, resources);
+                    log.warnf(e, "Keycloakform failed to reconcile %s of realm %s, they are kept for the next reconcile",
+                        resources, realmId);
+                    failures.put(realmId, e);
+                }
+            });
+        } finally {
+            tracer.close();
+        }
+        if (!failures.isEmpty()) {
+            IllegalStateException failure = new IllegalStateException(
+                "Reconcile of realms " + failures.keySet() + " failed", failures.values().iterator().next());
+            failures.values().stream().skip(1).forEach(failure::addSuppressed);
+            throw failure;
+        }
+    }
+
+    private void formDirty(KeycloakSession session, String realmId, DirtyResources resources, FormingTracer tracer) {
+        RealmModel realm = session.realms().getRealm(realmId);
+        if (realm == null) {
+            log.infof("Modified realm %s does not exist anymore, all realms are reconciled", realmId);
+            process(session, definitions, UnaryOperator.identity(), tracer);
+            return;
+        }
+        ResourceFilter narrowed = resources.narrow(getFilter(), realm);
+        if (narrowed == null) {
+            log.debugf("Nothing formed was modified in realm %s", realm.getName());
+            return;
+        }
+        log.infof("Reconciling %s of realm %s modified through the admin API", resources, realm.getName());
+        process(session, definitions, configured -> narrowed, tracer);
+    }
+
+    private void process(KeycloakSession session, List<RealmDefinition> definitions, UnaryOperator<ResourceFilter> scope,
+                         FormingTracer tracer) {
         if (config.isDryRun()) {
             log.info("Keycloakform is running in dry run mode. Everything will happen normally but transaction will be aborted");
         }
-        FormerContext context = new FormerContext(session);
+        FormerContext context = new FormerContext(session, config);
+        if (!context.getFilter().isEmpty()) {
+            log.infof("Keycloakform forms only resources in the scope of the filter: %s", context.getFilter());
+        }
+        context.setFilter(scope.apply(context.getFilter()));
+        context.setInvalidationTracker(InvalidationTracker.of(session));
+        context.setTracer(tracer);
+        context.setKeyPairPool(keyPairPool);
+        if (config.isBulkMode()) {
+            context.setJdbcBatching(JdbcBatching.enable(session, config.getBulkBatchSize(), config.getBulkFlushInterval()));
+        }
         formersFactory.getForCollectionOf(RealmDefinition.class).form(definitions, context, SyncMode.FULL);
+        if (context.getJdbcBatching() != null) {
+            context.getJdbcBatching().flush();
+            context.getJdbcBatching().report();
+        }
+        context.getInvalidationTracker().report();
+        context.getInvalidationTracker().publish();
         if (config.isDryRun()) {
             //this should make all changes rolled back not committed
             session.getTransactionManager().setRollbackOnly();
@@ -95,8 +335,8 @@ public class FormingInitializer implements ProviderEventListener {
     }
 
     private List<RealmDefinition> readRealmsDefinition(InputStream inputStream) {
-        try {
-            return Deserialization.getRealmsFromStream(inputStream);
+        try (InputStream is = inputStream) {
+            return Deserialization.getRealmsFromStream(is);
         } catch (IOException e) {
             throw new DefinitionFileDeserializationException("Unable to deserialize input stream", e);
         }
@@ -106,7 +346,8 @@ public class FormingInitializer implements ProviderEventListener {
         File definitionFile = new File(config.getSourceFile());
         log.infof("This instance will be formed following %s", definitionFile.getAbsolutePath());
         try {
-            return Files.newInputStream(definitionFile.toPath());
+            //gzip or zstd compressed definition is decompressed on the fly, detected by its magic bytes
+            return DefinitionInput.decompress(Files.newInputStream(definitionFile.toPath()));
         } catch (IOException e) {
             throw new DefinitionFileReadingException("Unable open stream to " + definitionFile.getAbsolutePath(), e);
         }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.tracing;
+
+/**
+ * A span of the forming, represents a realm, collection, or item being formed. Spans are nested in the order they
+ * are started, a span started while another is open becomes its child.
+ *
+ * @author Majlanky
+ */
+public interface FormingSpan {
+
+    String RESOURCE_TYPE = "keycloakform.resource.type";
+    String RESOURCE_ID = "keycloakform.resource.id";
+    String OPERATION = "keycloakform.operation";
+    String SYNC_MODE = "keycloakform.sync.mode";
+    String DURATION = "keycloakform.duration.ms";
+
+    FormingSpan NOOP = new FormingSpan() {
+        @Override
+        public FormingSpan setAttribute(String key, String value) {
+            return this;
+        }
+
+        @Override
+        public void end() {
+        }
+    };
+
+    FormingSpan setAttribute(String key, String value);
+
+    /**
+     * Ends the span, its duration is recorded as {@link #DURATION} attribute.
+     */
+    void end();
+
+}
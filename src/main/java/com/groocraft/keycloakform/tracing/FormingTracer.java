@@ -0,0 +1,77 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.tracing;
+
+import com.groocraft.keycloakform.config.FormerConfig;
+
+import java.io.File;
+
+/**
+ * Tracer of the forming run. Spans are hierarchical: realm, collection formers of the realm, items of the
+ * collections and so on. Forming is single-threaded, so the open spans form a stack and a started span is the child
+ * of the most recent open span.
+ *
+ * @author Majlanky
+ */
+public interface FormingTracer {
+
+    FormingTracer NOOP = new FormingTracer() {
+        @Override
+        public FormingSpan startSpan(String name) {
+            return FormingSpan.NOOP;
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    /**
+     * Creates a tracer following the configuration. Spans are sent to OpenTelemetry when its SDK is present and
+     * configured, otherwise they are written to the configured file in OTLP-JSON format.
+     *
+     * @param config configuration of the forming
+     * @param append whether spans are appended to the spans already in the file instead of replacing them
+     * @return tracer, {@link #NOOP} when tracing is disabled
+     */
+    static FormingTracer create(FormerConfig config, boolean append) {
+        if (!config.isTracing()) {
+            return NOOP;
+        }
+        if (isOpenTelemetryPresent() && OpenTelemetryTracer.isConfigured()) {
+            return new OpenTelemetryTracer();
+        }
+        return new OtlpJsonFileTracer(new File(config.getTracingFile()), append);
+    }
+
+    FormingSpan startSpan(String name);
+
+    /**
+     * Finishes the tracing, all spans are flushed to the destination.
+     */
+    void close();
+
+    private static boolean isOpenTelemetryPresent() {
+        try {
+            Class.forName("io.opentelemetry.api.GlobalOpenTelemetry", false, FormingTracer.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.tracing;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.TracerProvider;
+import io.opentelemetry.context.Scope;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.CustomLog;
+
+/**
+ * Tracer sending spans of the forming run to the OpenTelemetry SDK registered globally (for example by Keycloak
+ * started with tracing enabled). Spans are made current when started, so nesting is handled by OpenTelemetry context.
+ * The class must be loaded only when OpenTelemetry API is present.
+ *
+ * @author Majlanky
+ */
+@CustomLog
+public class OpenTelemetryTracer implements FormingTracer {
+
+    private static final String INSTRUMENTATION_SCOPE = "keycloakform";
+
+    private final Tracer tracer;
+
+    public OpenTelemetryTracer() {
+        tracer = GlobalOpenTelemetry.getTracer(INSTRUMENTATION_SCOPE);
+        log.info("Forming spans will be sent to OpenTelemetry");
+    }
+
+    /**
+     * @return true when an OpenTelemetry SDK is registered globally, false for the no-op implementation
+     */
+    static boolean isConfigured() {
+        return GlobalOpenTelemetry.getTracerProvider() != TracerProvider.noop();
+    }
+
+    @Override
+    public FormingSpan startSpan(String name) {
+        Span span = tracer.spanBuilder(name).startSpan();
+        return new OpenTelemetrySpan(span, span.makeCurrent());
+    }
+
+    @Override
+    public void close() {
+        //spans are exported by the SDK
+    }
+
+    private static class OpenTelemetrySpan implements FormingSpan {
+
+        private final Span span;
+        private final Scope scope;
+        private final long start = System.nanoTime();
+
+        private OpenTelemetrySpan(Span span, Scope scope) {
+            this.span = span;
+            this.scope = scope;
+        }
+
+        @Override
+        public FormingSpan setAttribute(String key, String value) {
+            span.setAttribute(key, value);
+            return this;
+        }
+
+        @Override
+        public void end() {
+            span.setAttribute(DURATION, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            scope.close();
+            span.end();
+        }
+    }
+
+}
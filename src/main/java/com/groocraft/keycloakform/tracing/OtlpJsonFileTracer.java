@@ -0,0 +1,219 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.tracing;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import org.keycloak.util.JsonSerialization;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import lombok.CustomLog;
+
+/**
+ * Tracer writing spans of the forming run to a file in OTLP-JSON lines format, every line is the JSON encoding of
+ * OpenTelemetry protocol ExportTraceServiceRequest (the format of the OpenTelemetry Collector file exporter). Finished
+ * spans are appended in batches of at most {@link #BATCH_SIZE} spans, so the memory does not grow with the number of
+ * formed resources and the spans written before an interruption stay readable. The file can be loaded by any
+ * OTLP-compatible tool, or simply sorted by the duration attribute to find the slowest items.
+ *
+ * @author Majlanky
+ */
+@CustomLog
+public class OtlpJsonFileTracer implements FormingTracer {
+
+    private static final String SCOPE_NAME = "keycloakform";
+    private static final int SPAN_KIND_INTERNAL = 1;
+    static final int BATCH_SIZE = 256;
+
+    private final File file;
+    private final String traceId = randomId(16);
+    private final long epochNanosOffset;
+    private final Deque<RecordedSpan> openSpans = new ArrayDeque<>();
+    private final List<RecordedSpan> finishedSpans = new ArrayList<>();
+    private long writtenSpans;
+    private boolean failed;
+
+    public OtlpJsonFileTracer(File file) {
+        this(file, false);
+    }
+
+    /**
+     * @param file   the spans are written to
+     * @param append whether the spans already in the file are kept, every tracer writes its own trace, so the runs
+     *               appended to the same file stay distinguishable
+     */
+    public OtlpJsonFileTracer(File file, boolean append) {
+        this.file = file;
+        Instant now = Instant.now();
+        epochNanosOffset = TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano() - System.nanoTime();
+        if (!append) {
+            try {
+                //spans of the previous run are replaced
+                Files.deleteIfExists(file.toPath());
+            } catch (IOException e) {
+                log.warnf(e, "Unable to remove previous forming spans %s", file.getAbsolutePath());
+            }
+        }
+        log.infof("Forming spans will be written to %s", file.getAbsolutePath());
+    }
+
+    @Override
+    public FormingSpan startSpan(String name) {
+        RecordedSpan span = new RecordedSpan(name, openSpans.isEmpty() ? null : openSpans.peek().spanId);
+        openSpans.push(span);
+        return span;
+    }
+
+    @Override
+    public void close() {
+        //spans are ended in finally blocks, anything open here was abandoned by an error
+        new ArrayList<>(openSpans).forEach(RecordedSpan::end);
+        writeBatch();
+        if (!failed) {
+            log.infof("%d forming spans written to %s", writtenSpans, file.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Appends the finished spans as a single line, the file is opened only for the time of writing.
+     */
+    private void writeBatch() {
+        if (finishedSpans.isEmpty() || failed) {
+            finishedSpans.clear();
+            return;
+        }
+        try (OutputStream os = Files.newOutputStream(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+             JsonGenerator generator = JsonSerialization.mapper.getFactory().createGenerator(os, JsonEncoding.UTF8)) {
+            write(generator);
+            generator.writeRaw('\n');
+            writtenSpans += finishedSpans.size();
+        } catch (IOException e) {
+            //tracing is auxiliary, it must not break the forming
+            failed = true;
+            log.warnf(e, "Unable to write forming spans to %s, no more spans are written", file.getAbsolutePath());
+        }
+        finishedSpans.clear();
+    }
+
+    private void write(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("resourceSpans");
+        generator.writeStartObject();
+        generator.writeObjectFieldStart("resource");
+        writeAttributes(generator, Map.of("service.name", SCOPE_NAME));
+        generator.writeEndObject();
+        generator.writeArrayFieldStart("scopeSpans");
+        generator.writeStartObject();
+        generator.writeObjectFieldStart("scope");
+        generator.writeStringField("name", SCOPE_NAME);
+        generator.writeEndObject();
+        generator.writeArrayFieldStart("spans");
+        for (RecordedSpan span : finishedSpans) {
+            writeSpan(generator, span);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private void writeSpan(JsonGenerator generator, RecordedSpan span) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("traceId", traceId);
+        generator.writeStringField("spanId", span.spanId);
+        if (span.parentSpanId != null) {
+            generator.writeStringField("parentSpanId", span.parentSpanId);
+        }
+        generator.writeStringField("name", span.name);
+        generator.writeNumberField("kind", SPAN_KIND_INTERNAL);
+        //64-bit integers are strings in OTLP-JSON
+        generator.writeStringField("startTimeUnixNano", Long.toString(epochNanosOffset + span.start));
+        generator.writeStringField("endTimeUnixNano", Long.toString(epochNanosOffset + span.end));
+        writeAttributes(generator, span.attributes);
+        generator.writeEndObject();
+    }
+
+    private void writeAttributes(JsonGenerator generator, Map<String, String> attributes) throws IOException {
+        generator.writeArrayFieldStart("attributes");
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            generator.writeStartObject();
+            generator.writeStringField("key", attribute.getKey());
+            generator.writeObjectFieldStart("value");
+            generator.writeStringField("stringValue", attribute.getValue());
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    private static String randomId(int bytes) {
+        byte[] id = new byte[bytes];
+        ThreadLocalRandom.current().nextBytes(id);
+        return HexFormat.of().formatHex(id);
+    }
+
+    private class RecordedSpan implements FormingSpan {
+
+        private final String name;
+        private final String spanId = randomId(8);
+        private final String parentSpanId;
+        private final long start = System.nanoTime();
+        private final Map<String, String> attributes = new LinkedHashMap<>();
+        private long end;
+
+        private RecordedSpan(String name, String parentSpanId) {
+            this.name = name;
+            this.parentSpanId = parentSpanId;
+        }
+
+        @Override
+        public FormingSpan setAttribute(String key, String value) {
+            attributes.put(key, value);
+            return this;
+        }
+
+        @Override
+        public void end() {
+            end = System.nanoTime();
+            attributes.put(DURATION, Long.toString(TimeUnit.NANOSECONDS.toMillis(end - start)));
+            openSpans.remove(this);
+            finishedSpans.add(this);
+            if (finishedSpans.size() >= BATCH_SIZE) {
+                writeBatch();
+            }
+        }
+    }
+
+}
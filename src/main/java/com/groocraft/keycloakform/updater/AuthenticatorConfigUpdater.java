@@ -38,8 +38,7 @@ public class AuthenticatorConfigUpdater implements Updater<AuthenticatorConfigMo
         if (definition.getConfig() != null) {
             Map<String, String> map = model.getConfig();
             if (map != null) {
-                map.clear();
-                map.putAll(definition.getConfig());
+                MapReconciler.reconcile("config", map, definition.getConfig(), context.getChangeJournal());
             } else {
                 model.setConfig(new LinkedHashMap<>(definition.getConfig()));
             }
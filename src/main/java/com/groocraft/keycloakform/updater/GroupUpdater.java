@@ -37,10 +37,8 @@ public class GroupUpdater implements Updater<GroupModel, GroupDefinition> {
         }
 
         if (definition.getAttributes() != null) {
-            if (model.getAttributes() != null) {
-                model.getAttributes().keySet().forEach(model::removeAttribute);
-            }
-            definition.getAttributes().forEach(model::setAttribute);
+            MapReconciler.reconcile("attributes", model.getAttributes(), definition.getAttributes(), model::setAttribute,
+                model::removeAttribute, context.getChangeJournal());
         }
 
         if (definition.getName() != null) {
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.updater;
+
+import com.groocraft.keycloakform.former.ChangeJournal;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Support class for updaters that reconciles attribute or config maps of a Keycloak resource
+ * ({@code Map<String, String>}, {@code Map<String, List<String>>}) with the wanted state from a definition. Only keys that
+ * were added, changed or removed are written and every such write is recorded to the {@link ChangeJournal}, hence
+ * unchanged maps lead to no write at all.
+ *
+ * @author Majlanky
+ */
+public final class MapReconciler {
+
+    private MapReconciler() {
+    }
+
+    /**
+     * Computes difference between the current and the wanted state of a map.
+     *
+     * @param current current state, null is handled as empty map
+     * @param wanted  wanted state, null is handled as empty map
+     * @param <V>     type of map values
+     * @return keys that must be added, changed or removed to reach the wanted state
+     */
+    public static <V> Delta diff(Map<String, V> current, Map<String, V> wanted) {
+        Map<String, V> currentMap = current == null ? Collections.emptyMap() : current;
+        Map<String, V> wantedMap = wanted == null ? Collections.emptyMap() : wanted;
+        Set<String> added = new LinkedHashSet<>();
+        Set<String> changed = new LinkedHashSet<>();
+        Set<String> removed = new LinkedHashSet<>();
+
+        wantedMap.forEach((key, value) -> {
+            if (!currentMap.containsKey(key)) {
+                added.add(key);
+            } else if (!Objects.equals(currentMap.get(key), value)) {
+                changed.add(key);
+            }
+        });
+        currentMap.keySet().stream().filter(key -> !wantedMap.containsKey(key)).forEach(removed::add);
+
+        return new Delta(added, changed, removed);
+    }
+
+    /**
+     * Reconciles map of a resource by the given operations. The current map is read before any operation is issued,
+     * hence the operations may modify it.
+     *
+     * @param name    name of the map used in the change journal
+     * @param current current state of the map, null is handled as empty map
+     * @param wanted  wanted state of the map
+     * @param put     operation setting value of a key (e.g. {@code model::setAttribute})
+     * @param remove  operation removing a key (e.g. {@code model::removeAttribute})
+     * @param journal journal where changes are recorded
+     * @param <V>     type of map values
+     * @return true if any operation was issued
+     */
+    public static <V> boolean reconcile(String name, Map<String, V> current, Map<String, V> wanted,
+                                        BiConsumer<String, V> put, Consumer<String> remove, ChangeJournal journal) {
+        Delta delta = diff(current, wanted);
+        if (delta.isEmpty()) {
+            return false;
+        }
+        delta.getRemoved().forEach(key -> {
+            journal.record(name + "." + key, current.get(key), null);
+            remove.accept(key);
+        });
+        delta.getAdded().forEach(key -> {
+            journal.record(name + "." + key, null, wanted.get(key));
+            put.accept(key, wanted.get(key));
+        });
+        delta.getChanged().forEach(key -> {
+            journal.record(name + "." + key, current.get(key), wanted.get(key));
+            put.accept(key, wanted.get(key));
+        });
+        return true;
+    }
+
+    /**
+     * Reconciles mutable map in place.
+     *
+     * @param name    name of the map used in the change journal
+     * @param current mutable map of a resource (e.g. config of a model)
+     * @param wanted  wanted state of the map
+     * @param journal journal where changes are recorded
+     * @param <V>     type of map values
+     * @return true if the map was modified
+     */
+    public static <V> boolean reconcile(String name, Map<String, V> current, Map<String, V> wanted, ChangeJournal journal) {
+        return reconcile(name, current, wanted, current::put, current::remove, journal);
+    }
+
+    /**
+     * Keys of a map that differ between the current and the wanted state.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Delta {
+
+        private final Set<String> added;
+        private final Set<String> changed;
+        private final Set<String> removed;
+
+        public boolean isEmpty() {
+            return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+        }
+
+    }
+
+}
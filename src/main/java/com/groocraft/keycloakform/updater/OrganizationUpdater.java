@@ -0,0 +1,189 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.updater;
+
+import com.groocraft.keycloakform.definition.OrganizationDefinition;
+import com.groocraft.keycloakform.former.FormerContext;
+import com.groocraft.keycloakform.former.IdentityProviderIndex;
+import com.groocraft.keycloakform.former.Paging;
+import com.groocraft.keycloakform.former.SyncMode;
+
+import org.keycloak.models.IdentityProviderModel;
+import org.keycloak.models.ModelException;
+import org.keycloak.models.OrganizationDomainModel;
+import org.keycloak.models.OrganizationModel;
+import org.keycloak.models.UserModel;
+import org.keycloak.organization.OrganizationProvider;
+import org.keycloak.representations.idm.IdentityProviderRepresentation;
+import org.keycloak.representations.idm.MemberRepresentation;
+import org.keycloak.representations.idm.MembershipType;
+import org.keycloak.representations.idm.OrganizationDomainRepresentation;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Updater of organizations. Domains, identity providers and members are reconciled as differences of sets, the current
+ * state is read once, only the missing items are added and, in FULL sync mode, the undeclared ones removed. Members are
+ * read page by page and every membership change is a safe point of the bulk mode, so the changes are flushed in
+ * batches. Managed members are never removed as Keycloak removes their accounts together with the membership.
+ *
+ * @author Majlanky
+ */
+public class OrganizationUpdater implements Updater<OrganizationModel, OrganizationDefinition> {
+
+    static final int PAGE_SIZE = 500;
+
+    @Override
+    public void update(OrganizationModel model, OrganizationDefinition definition, FormerContext context) {
+        if (definition == null) {
+            return;
+        }
+
+        if (definition.getName() != null) {
+            model.setName(definition.getName());
+        }
+        model.setEnabled(definition.isEnabled());
+        if (definition.getDescription() != null) {
+            model.setDescription(definition.getDescription());
+        }
+        if (definition.getRedirectUrl() != null) {
+            model.setRedirectUrl(definition.getRedirectUrl());
+        }
+        if (definition.getAttributes() != null) {
+            model.setAttributes(new HashMap<>(definition.getAttributes()));
+        }
+
+        boolean full = definition.getSyncMode() == SyncMode.FULL;
+        if (definition.getDomains() != null) {
+            updateDomains(model, definition.getDomains(), full);
+        }
+        OrganizationProvider provider = context.getSession().getProvider(OrganizationProvider.class);
+        if (definition.getIdentityProviders() != null) {
+            updateIdentityProviders(model, definition.getIdentityProviders(), full, provider, context);
+        }
+        if (definition.getMembers() != null) {
+            updateMembers(model, definition.getMembers(), full, provider, context);
+        }
+    }
+
+    private void updateDomains(OrganizationModel model, Set<OrganizationDomainRepresentation> domains, boolean full) {
+        //domains are equal by their names, verification is compared separately
+        Map<String, Boolean> current = model.getDomains()
+            .collect(Collectors.toMap(OrganizationDomainModel::getName, OrganizationDomainModel::isVerified,
+                (first, second) -> first, LinkedHashMap::new));
+        Map<String, Boolean> wanted = full ? new LinkedHashMap<>() : new LinkedHashMap<>(current);
+        domains.forEach(d -> wanted.put(d.getName(), d.isVerified()));
+        if (!wanted.equals(current)) {
+            model.setDomains(wanted.entrySet().stream()
+                .map(e -> new OrganizationDomainModel(e.getKey(), e.getValue()))
+                .collect(Collectors.toSet()));
+        }
+    }
+
+    private void updateIdentityProviders(OrganizationModel model, List<IdentityProviderRepresentation> identityProviders,
+                                         boolean full, OrganizationProvider provider, FormerContext context) {
+        Map<String, IdentityProviderModel> current = model.getIdentityProviders()
+            .collect(Collectors.toMap(IdentityProviderModel::getAlias, Function.identity(), (first, second) -> first,
+                LinkedHashMap::new));
+        Set<String> wanted = identityProviders.stream()
+            .map(IdentityProviderRepresentation::getAlias)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<String> result = new LinkedHashSet<>(current.keySet());
+
+        IdentityProviderIndex index = IdentityProviderIndex.of(context);
+        for (String alias : wanted) {
+            if (!current.containsKey(alias)) {
+                IdentityProviderModel identityProvider = index.get(alias);
+                if (identityProvider == null) {
+                    throw new ModelException("No available identity provider with alias: " + alias);
+                }
+                provider.addIdentityProvider(model, identityProvider);
+                result.add(alias);
+            }
+        }
+        if (full) {
+            current.values().stream()
+                .filter(p -> !wanted.contains(p.getAlias()))
+                .forEach(p -> {
+                    provider.removeIdentityProvider(model, p);
+                    result.remove(p.getAlias());
+                });
+        }
+
+        if (!result.equals(current.keySet())) {
+            context.getChangeJournal().record("identityProviders", current.keySet(), result);
+        }
+    }
+
+    private void updateMembers(OrganizationModel model, List<MemberRepresentation> members, boolean full,
+                               OrganizationProvider provider, FormerContext context) {
+        Map<String, UserModel> current = new HashMap<>();
+        Paging.readAll(PAGE_SIZE, (first, max) -> provider.getMembersStream(model, null, null, first, max),
+            u -> current.put(u.getUsername(), u));
+
+        Set<String> wanted = new HashSet<>();
+        int added = 0;
+        for (MemberRepresentation member : members) {
+            String username = member.getUsername();
+            wanted.add(username);
+            if (current.containsKey(username)) {
+                continue;
+            }
+            UserModel user = context.getSession().users().getUserByUsername(context.getRealm(), username);
+            if (user == null) {
+                throw new ModelException("No available user with username: " + username);
+            }
+            if (member.getMembershipType() == MembershipType.MANAGED) {
+                provider.addManagedMember(model, user);
+            } else {
+                provider.addMember(model, user);
+            }
+            added++;
+            membershipChanged(context);
+        }
+
+        int removed = 0;
+        if (full) {
+            for (UserModel user : current.values()) {
+                if (!wanted.contains(user.getUsername()) && !provider.isManagedMember(model, user)) {
+                    provider.removeMember(model, user);
+                    removed++;
+                    membershipChanged(context);
+                }
+            }
+        }
+
+        if (added > 0 || removed > 0) {
+            context.getChangeJournal().record("members", current.size(), current.size() + added - removed);
+        }
+    }
+
+    private void membershipChanged(FormerContext context) {
+        if (context.getJdbcBatching() != null) {
+            context.getJdbcBatching().itemFormed();
+        }
+    }
+
+}
@@ -44,8 +44,7 @@ public class ProtocolMapperUpdater implements Updater<ProtocolMapperModel, Proto
         if (definition.getConfig() != null) {
             Map<String, String> config = model.getConfig();
             if (config != null) {
-                config.clear();
-                config.putAll(definition.getConfig());
+                MapReconciler.reconcile("config", config, definition.getConfig(), context.getChangeJournal());
             } else {
                 model.setConfig(new LinkedHashMap<>(definition.getConfig()));
             }
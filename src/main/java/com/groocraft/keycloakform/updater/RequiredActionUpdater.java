@@ -44,8 +44,7 @@ public class RequiredActionUpdater implements Updater<RequiredActionProviderMode
         if (definition.getConfig() != null) {
             Map<String, String> map = model.getConfig();
             if (map != null) {
-                map.clear();
-                map.putAll(definition.getConfig());
+                MapReconciler.reconcile("config", map, definition.getConfig(), context.getChangeJournal());
             } else {
                 model.setConfig(new LinkedHashMap<>(definition.getConfig()));
             }
@@ -31,10 +31,8 @@ public class RoleUpdater implements Updater<RoleModel, RoleDefinition> {
 
         //Attributes must go first as attributes are used internally instead of dedicated attributes
         if (definition.getAttributes() != null) {
-            if (model.getAttributes() != null) {
-                model.getAttributes().keySet().forEach(model::removeAttribute);
-            }
-            definition.getAttributes().forEach(model::setAttribute);
+            MapReconciler.reconcile("attributes", model.getAttributes(), definition.getAttributes(), model::setAttribute,
+                model::removeAttribute, context.getChangeJournal());
         }
 
         if (definition.getDescription() != null) {
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.groocraft.keycloakform.benchmark;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.groocraft.keycloakform.definition.DefinitionMapping;
+import com.groocraft.keycloakform.definition.RealmDefinition;
+import com.groocraft.keycloakform.definition.deserialization.DefinitionReader;
+import com.groocraft.keycloakform.generator.GeneratorSettings;
+import com.groocraft.keycloakform.generator.SyntheticRealmGenerator;
+
+import org.keycloak.util.JsonSerialization;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the definition parsing. The legacy benchmark mirrors the former pipeline, copying the mapper per
+ * stream and looking up the definition deserializer per parsed object; the other benchmarks use
+ * {@link DefinitionReader} with and without the Blackbird module. The parsed definition is either passed by the
+ * {@code definition} parameter (e.g. 500 MB file produced by {@link SyntheticRealmGenerator}) or generated to a
+ * temporary file from the {@code generatorOptions} parameter (generator options separated by semicolons).
+ *
+ * @author Majlanky
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class DefinitionParsingBenchmark {
+
+    @Param("")
+    public String definition;
+
+    @Param("realms=2;clients=500;realmRoles=500;groups=200")
+    public String generatorOptions;
+
+    private Path definitionPath;
+    private boolean generated;
+    private DefinitionReader reader;
+    private DefinitionReader acceleratedReader;
+
+    public static void main(String[] args) throws RunnerException {
+        OptionsBuilder options = new OptionsBuilder();
+        options.include(DefinitionParsingBenchmark.class.getSimpleName());
+        if (args.length > 0) {
+            options.param("definition", args[0]);
+        }
+        new Runner(options.build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if (definition.isEmpty()) {
+            definitionPath = Files.createTempFile("keycloakform-benchmark", ".json");
+            generated = true;
+            GeneratorSettings.GeneratorSettingsBuilder builder = GeneratorSettings.builder();
+            Arrays.stream(generatorOptions.split(";")).forEach(option -> GeneratorSettings.apply(builder, option));
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(definitionPath))) {
+                new SyntheticRealmGenerator(builder.build()).write(output);
+            }
+        } else {
+            definitionPath = Path.of(definition);
+        }
+        reader = new DefinitionReader(JsonSerialization.mapper, false);
+        acceleratedReader = new DefinitionReader(JsonSerialization.mapper, true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (generated) {
+            Files.deleteIfExists(definitionPath);
+        }
+    }
+
+    @Benchmark
+    public List<RealmDefinition> legacy() throws IOException {
+        try (InputStream is = open()) {
+            return readLegacy(is);
+        }
+    }
+
+    @Benchmark
+    public List<RealmDefinition> reader() throws IOException {
+        try (InputStream is = open()) {
+            return reader.read(is);
+        }
+    }
+
+    @Benchmark
+    public List<RealmDefinition> acceleratedReader() throws IOException {
+        try (InputStream is = open()) {
+            return acceleratedReader.read(is);
+        }
+    }
+
+    private InputStream open() throws IOException {
+        return new BufferedInputStream(Files.newInputStream(definitionPath), 1 << 16);
+    }
+
+    private static List<RealmDefinition> readLegacy(InputStream is) throws IOException {
+        ObjectMapper mapper = JsonSerialization.mapper.copy();
+        SimpleModule module = new SimpleModule("legacyDefinitionSerializers");
+        for (DefinitionMapping definitionMapping : DefinitionMapping.values()) {
+            registerLegacyDeserializerFor(definitionMapping, module);
+        }
+        mapper.registerModule(module);
+
+        List<RealmDefinition> result = new ArrayList<>();
+        try (JsonParser parser = mapper.getFactory().createParser(is)) {
+            parser.nextToken();
+            if (parser.currentToken() == JsonToken.START_ARRAY) {
+                parser.nextToken();
+                while (parser.currentToken() == JsonToken.START_OBJECT) {
+                    result.add(parser.readValueAs(RealmDefinition.class));
+                    parser.nextToken();
+                }
+            } else if (parser.currentToken() == JsonToken.START_OBJECT) {
+                result.add(parser.readValueAs(RealmDefinition.class));
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <OriginalT> void registerLegacyDeserializerFor(DefinitionMapping definitionMapping, SimpleModule module) {
+        Class<OriginalT> originalClass = (Class<OriginalT>) definitionMapping.getOriginalType();
+        Class<? extends OriginalT> definitionClass = (Class<? extends OriginalT>) definitionMapping.getDefinitionType();
+        module.addDeserializer(originalClass, new JsonDeserializer<>() {
+            @Override
+            public OriginalT deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+                return p.readValueAs(definitionClass);
+            }
+        });
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.cache;
+
+import org.junit.jupiter.api.Test;
+import org.keycloak.models.KeycloakSession;
+import org.keycloak.models.cache.CacheRealmProvider;
+import org.mockito.Answers;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+class InvalidationTrackerTest {
+
+    @Test
+    void testInvalidationsAreCountedExclusivelyPerFormerAndInclusivelyPerRealm() {
+        Set<Object> events = new HashSet<>();
+        InvalidationTracker tracker = new InvalidationTracker(events);
+
+        tracker.enterRealm("test");
+        tracker.enterFormer("RealmFormer");
+        events.add("realm");
+        tracker.enterFormer("ClientFormer");
+        events.add("client-a");
+        events.add("client-b");
+        tracker.exitFormer();
+        tracker.exitFormer();
+        tracker.exitRealm();
+
+        assertThat(tracker.getTotal()).isEqualTo(3);
+        assertThat(tracker.getByFormer()).containsEntry("RealmFormer", 1L).containsEntry("ClientFormer", 2L);
+        assertThat(tracker.getByRealm()).containsEntry("test", 3L);
+    }
+
+    @Test
+    void testUnchangedFormingCountsNoInvalidation() {
+        InvalidationTracker tracker = new InvalidationTracker(new HashSet<>(Set.of("before forming")));
+
+        tracker.enterRealm("test");
+        tracker.enterFormer("RealmFormer");
+        tracker.exitFormer();
+        tracker.exitRealm();
+
+        assertThat(tracker.getTotal()).isZero();
+        assertThat(tracker.getByFormer()).isEmpty();
+        assertThat(tracker.getByRealm()).containsEntry("test", 0L);
+    }
+
+    @Test
+    void testTrackerReadsPendingEventsOfRealmCacheSession() {
+        KeycloakSession session = mock(KeycloakSession.class);
+        RealmCacheSessionStub cacheSession = mock(RealmCacheSessionStub.class,
+            withSettings().useConstructor().defaultAnswer(Answers.CALLS_REAL_METHODS));
+        when(session.getProvider(CacheRealmProvider.class)).thenReturn(cacheSession);
+
+        InvalidationTracker tracker = InvalidationTracker.of(session);
+        tracker.enterFormer("ClientFormer");
+        cacheSession.invalidationEvents.add("client");
+        tracker.exitFormer();
+
+        assertThat(tracker.isActive()).isTrue();
+        assertThat(tracker.getByFormer()).containsEntry("ClientFormer", 1L);
+    }
+
+    @Test
+    void testTrackerIsInactiveWithoutRealmCache() {
+        KeycloakSession session = mock(KeycloakSession.class);
+
+        InvalidationTracker tracker = InvalidationTracker.of(session);
+        tracker.enterFormer("ClientFormer");
+        tracker.exitFormer();
+
+        assertThat(tracker.isActive()).isFalse();
+        assertThat(tracker.getTotal()).isZero();
+    }
+
+    abstract static class RealmCacheSessionStub implements CacheRealmProvider {
+
+        protected Set<Object> invalidationEvents = new HashSet<>();
+    }
+
+}
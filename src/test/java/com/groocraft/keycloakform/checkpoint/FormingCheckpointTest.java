@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.checkpoint;
+
+import com.groocraft.keycloakform.config.ResourceFilter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FormingCheckpointTest {
+
+    private static final String SCOPE = ResourceFilter.ALL.toString();
+
+    @TempDir
+    Path directory;
+    Path checkpointFile;
+    Path definitionFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        checkpointFile = directory.resolve("checkpoint.json");
+        definitionFile = Files.writeString(directory.resolve("realms.json"), "[ { \"realm\" : \"test\" } ]");
+    }
+
+    @Test
+    void testFormedRealmsAreResumedForSameDefinition() {
+        FormingCheckpoint checkpoint = FormingCheckpoint.load(checkpointFile, definitionFile, SCOPE);
+        checkpoint.realmFormed("master");
+        checkpoint.realmFormed("test");
+
+        FormingCheckpoint resumed = FormingCheckpoint.load(checkpointFile, definitionFile, SCOPE);
+
+        assertThat(resumed.getFormedRealms()).containsExactlyInAnyOrder("master", "test");
+        assertThat(resumed.isFormed("test")).isTrue();
+        assertThat(resumed.isFormed("other")).isFalse();
+    }
+
+    @Test
+    void testCheckpointOfChangedDefinitionIsIgnored() throws IOException {
+        FormingCheckpoint.load(checkpointFile, definitionFile, SCOPE).realmFormed("test");
+        Files.writeString(definitionFile, "[ { \"realm\" : \"test\", \"enabled\" : true } ]");
+
+        assertThat(FormingCheckpoint.load(checkpointFile, definitionFile, SCOPE).getFormedRealms()).isEmpty();
+    }
+
+    @Test
+    void testCheckpointOfDifferentFilterIsIgnored() {
+        FormingCheckpoint.load(checkpointFile, definitionFile, SCOPE).realmFormed("test");
+
+        String narrowed = ResourceFilter.parse("realm=tenant-*", null).toString();
+
+        assertThat(FormingCheckpoint.load(checkpointFile, definitionFile, narrowed).getFormedRealms()).isEmpty();
+    }
+
+    @Test
+    void testCompletedCheckpointIsRemoved() {
+        FormingCheckpoint checkpoint = FormingCheckpoint.load(checkpointFile, definitionFile, SCOPE);
+        checkpoint.realmFormed("test");
+
+        checkpoint.completed();
+
+        assertThat(checkpointFile).doesNotExist();
+        assertThat(FormingCheckpoint.load(checkpointFile, definitionFile, SCOPE).getFormedRealms()).isEmpty();
+    }
+
+    @Test
+    void testUnreadableCheckpointStartsFromScratch() throws IOException {
+        Files.writeString(checkpointFile, "not a checkpoint");
+
+        assertThat(FormingCheckpoint.load(checkpointFile, definitionFile, SCOPE).getFormedRealms()).isEmpty();
+    }
+}
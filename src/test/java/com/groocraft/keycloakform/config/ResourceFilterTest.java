@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.groocraft.keycloakform.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class ResourceFilterTest {
+
+    @Test
+    void testEmptyFilterSkipsNothing() {
+        ResourceFilter filter = ResourceFilter.parse(null, " ");
+
+        assertThat(filter).isSameAs(ResourceFilter.ALL);
+        assertThat(filter.skips(ResourceFilter.REALM, "tenant-a")).isFalse();
+        assertThat(filter.skips(ResourceFilter.TYPE, ResourceFilter.FLOWS)).isFalse();
+    }
+
+    @Test
+    void testIncludesSkipEverythingNotMatching() {
+        ResourceFilter filter = ResourceFilter.parse("realm=tenant-*;client=billing-?;type=flows,idps", null);
+
+        assertThat(filter.skips(ResourceFilter.REALM, "tenant-a")).isFalse();
+        assertThat(filter.skips(ResourceFilter.REALM, "master")).isTrue();
+        assertThat(filter.skips(ResourceFilter.CLIENT, "billing-1")).isFalse();
+        assertThat(filter.skips(ResourceFilter.CLIENT, "billing-10")).isTrue();
+        assertThat(filter.skips(ResourceFilter.TYPE, ResourceFilter.IDPS)).isFalse();
+        assertThat(filter.skips(ResourceFilter.TYPE, ResourceFilter.CLIENTS)).isTrue();
+    }
+
+    @Test
+    void testExcludesWinOverIncludes() {
+        ResourceFilter filter = ResourceFilter.parse("realm=tenant-*", "realm=tenant-internal;type=groups");
+
+        assertThat(filter.skips(ResourceFilter.REALM, "tenant-a")).isFalse();
+        assertThat(filter.skips(ResourceFilter.REALM, "tenant-internal")).isTrue();
+        assertThat(filter.skips(ResourceFilter.TYPE, ResourceFilter.GROUPS)).isTrue();
+        assertThat(filter.skips(ResourceFilter.TYPE, ResourceFilter.CLIENTS)).isFalse();
+    }
+
+    @Test
+    void testPatternsAreMatchedLiterallyExceptWildcards() {
+        ResourceFilter filter = ResourceFilter.parse("client=app.v1", null);
+
+        assertThat(filter.skips(ResourceFilter.CLIENT, "app.v1")).isFalse();
+        assertThat(filter.skips(ResourceFilter.CLIENT, "appXv1")).isTrue();
+    }
+
+    @Test
+    void testNarrowingIntersectsWithIncludes() {
+        ResourceFilter filter = ResourceFilter.parse("realm=tenant-*", "realm=tenant-internal");
+
+        ResourceFilter narrowed = filter.withOnly(ResourceFilter.REALM, List.of("tenant-a", "master", "tenant-internal"));
+
+        assertThat(narrowed.skips(ResourceFilter.REALM, "tenant-a")).isFalse();
+        assertThat(narrowed.skips(ResourceFilter.REALM, "tenant-b")).isTrue();
+        assertThat(narrowed.skips(ResourceFilter.REALM, "master")).isTrue();
+        assertThat(narrowed.skips(ResourceFilter.REALM, "tenant-internal")).isTrue();
+        assertThat(filter.withOnly(ResourceFilter.REALM, "master").skips(ResourceFilter.REALM, "master")).isTrue();
+    }
+
+    @Test
+    void testUnknownKindOrTypeIsRejected() {
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> ResourceFilter.parse("user=admin", null));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> ResourceFilter.parse(null, "type=users"));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> ResourceFilter.parse("realm", null));
+    }
+
+}
@@ -22,11 +22,13 @@ import com.fasterxml.jackson.databind.module.SimpleModule;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.common.util.MultivaluedHashMap;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedConstruction;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -50,6 +52,29 @@ class DefinitionMappingTest {
         assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> DefinitionMapping.cast(List.of("test")));
     }
 
+    @Test
+    void testDefinitionCollectionIsHandedOverWithoutCopying() {
+        List<ClientDefinition> clients = new ArrayList<>(List.of(new ClientDefinition()));
+
+        assertThat(DefinitionMapping.<ClientDefinition>cast(clients)).isSameAs(clients);
+    }
+
+    @Test
+    void testDefinitionMapIsHandedOverWithoutCopying() {
+        MultivaluedHashMap<String, ComponentDefinition> components = new MultivaluedHashMap<>();
+        components.add("org.keycloak.keys.KeyProvider", new ComponentDefinition());
+
+        assertThat(DefinitionMapping.<ComponentDefinition>cast(components)).isSameAs(components);
+    }
+
+    @Test
+    void testNonDefinitionMapThrowsExceptionDuringCast() {
+        MultivaluedHashMap<String, String> map = new MultivaluedHashMap<>();
+        map.add("key", "test");
+
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> DefinitionMapping.cast(map));
+    }
+
     @Test
     void testAllDefinitionMappingsAreRegistered() {
         ArgumentCaptor<Class<Object>> classCaptor = ArgumentCaptor.forClass(Class.class);
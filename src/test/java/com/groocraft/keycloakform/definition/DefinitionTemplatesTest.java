@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.definition;
+
+import com.groocraft.keycloakform.definition.deserialization.Deserialization;
+import com.groocraft.keycloakform.exception.DefinitionTemplateException;
+import com.groocraft.keycloakform.former.SyncMode;
+
+import org.junit.jupiter.api.Test;
+import org.keycloak.representations.idm.RealmRepresentation;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DefinitionTemplatesTest {
+
+    private static final String REALM = """
+        {
+          "realm" : "test",
+          "templates" : {
+            "clients" : [ {
+              "clientId" : "base",
+              "id" : "base-id",
+              "syncMode" : "IGNORE",
+              "publicClient" : true,
+              "attributes" : { "pkce.code.challenge.method" : "S256", "post.logout.redirect.uris" : "+" },
+              "protocolMappers" : [ { "name" : "audience", "protocol" : "openid-connect",
+                "protocolMapper" : "oidc-audience-mapper", "config" : { "included.client.audience" : "api" } } ]
+            }, {
+              "clientId" : "web",
+              "extends" : "base",
+              "redirectUris" : [ "https://template/*" ],
+              "attributes" : { "post.logout.redirect.uris" : "https://template" }
+            } ],
+            "clientScopes" : [ { "name" : "base-scope", "protocol" : "openid-connect" } ]
+          },
+          "clients" : [ {
+            "clientId" : "app",
+            "extends" : "web",
+            "redirectUris" : [ "https://app/*" ],
+            "attributes" : { "pkce.code.challenge.method" : "plain" }
+          }, {
+            "clientId" : "plain"
+          } ],
+          "clientScopes" : [ { "name" : "scope", "extends" : "base-scope" } ]
+        }
+        """;
+
+    @Test
+    void testClientIsLaidOverTemplateChain() throws IOException {
+        RealmDefinition realm = read(REALM);
+        ClientDefinition app = DefinitionMapping.cast(realm.getClients().get(0));
+
+        ClientDefinition expanded = DefinitionTemplates.of(realm).expand(app);
+
+        assertThat(expanded).isNotSameAs(app);
+        assertThat(expanded.getClientId()).isEqualTo("app");
+        assertThat(expanded.getId()).isNull();
+        assertThat(expanded.getSyncMode()).isEqualTo(SyncMode.FULL);
+        assertThat(expanded.isPublicClient()).isTrue();
+        assertThat(expanded.getRedirectUris()).containsExactly("https://app/*");
+        assertThat(expanded.getAttributes())
+            .containsEntry("pkce.code.challenge.method", "plain")
+            .containsEntry("post.logout.redirect.uris", "https://template");
+        assertThat(expanded.getProtocolMappers()).singleElement()
+            .isInstanceOf(ProtocolMapperDefinition.class)
+            .extracting("name").isEqualTo("audience");
+    }
+
+    @Test
+    void testExpandedDefinitionsDoNotShareState() throws IOException {
+        RealmDefinition realm = read(REALM);
+        DefinitionTemplates templates = DefinitionTemplates.of(realm);
+        ClientDefinition app = DefinitionMapping.cast(realm.getClients().get(0));
+
+        templates.expand(app).getAttributes().put("changed", "true");
+
+        assertThat(templates.expand(app).getAttributes()).doesNotContainKey("changed");
+    }
+
+    @Test
+    void testDefinitionWithoutTemplateIsKept() throws IOException {
+        RealmDefinition realm = read(REALM);
+        ClientDefinition plain = DefinitionMapping.cast(realm.getClients().get(1));
+
+        assertThat(DefinitionTemplates.of(realm).expand(plain)).isSameAs(plain);
+    }
+
+    @Test
+    void testClientScopeIsExpanded() throws IOException {
+        RealmDefinition realm = read(REALM);
+        ClientScopeDefinition scope = DefinitionMapping.cast(realm.getClientScopes().get(0));
+
+        ClientScopeDefinition expanded = DefinitionTemplates.of(realm).expand(scope);
+
+        assertThat(expanded.getName()).isEqualTo("scope");
+        assertThat(expanded.getProtocol()).isEqualTo("openid-connect");
+    }
+
+    @Test
+    void testUnknownTemplateIsReported() throws IOException {
+        RealmDefinition realm = read("{ \"realm\" : \"test\", \"clients\" : [ { \"clientId\" : \"app\", \"extends\" : \"x\" } ] }");
+        ClientDefinition app = DefinitionMapping.cast(realm.getClients().get(0));
+
+        assertThatThrownBy(() -> DefinitionTemplates.of(realm).expand(app))
+            .isInstanceOf(DefinitionTemplateException.class)
+            .hasMessageContaining("Unknown client template x");
+    }
+
+    @Test
+    void testCyclicTemplatesAreReported() throws IOException {
+        RealmDefinition realm = read("""
+            { "realm" : "test",
+              "templates" : { "clients" : [ { "clientId" : "a", "extends" : "b" }, { "clientId" : "b", "extends" : "a" } ] },
+              "clients" : [ { "clientId" : "app", "extends" : "a" } ] }
+            """);
+        ClientDefinition app = DefinitionMapping.cast(realm.getClients().get(0));
+
+        assertThatThrownBy(() -> DefinitionTemplates.of(realm).expand(app))
+            .isInstanceOf(DefinitionTemplateException.class)
+            .hasMessageContaining("Cyclic");
+    }
+
+    @Test
+    void testImportRepresentationContainsExpandedClients() throws IOException {
+        RealmRepresentation representation = ImportRepresentation.of(read(REALM));
+
+        assertThat(representation.getClients().get(0).isPublicClient()).isTrue();
+        assertThat(representation.getClientScopes().get(0).getProtocol()).isEqualTo("openid-connect");
+    }
+
+    private static RealmDefinition read(String json) throws IOException {
+        return Deserialization.getRealmsFromStream(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))).get(0);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.definition;
+
+import com.groocraft.keycloakform.definition.deserialization.Deserialization;
+import com.groocraft.keycloakform.exception.DefinitionTemplateException;
+import com.groocraft.keycloakform.former.SyncMode;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RealmTemplateTest {
+
+    private static final String TEMPLATE = """
+        [ {
+          "realm" : "tenant-template",
+          "syncMode" : "MERGE",
+          "displayName" : "Tenant {{realm}} of {{company}}",
+          "defaultDefaultClientScopes" : [ "profile", "{{scopes}}" ],
+          "roles" : { "realm" : [ { "name" : "admin" }, { "name" : "user" } ] },
+          "authenticationFlows" : [ { "id" : "browser-id", "alias" : "tenant-browser", "topLevel" : true } ],
+          "clients" : [ {
+            "clientId" : "portal",
+            "redirectUris" : [ "{{redirectUris}}" ],
+            "authenticationFlowBindingOverrides" : { "browser" : "browser-id" }
+          }, {
+            "clientId" : "api",
+            "bearerOnly" : true
+          } ],
+          "identityProviders" : [ { "alias" : "corporate", "config" : { "issuer" : "https://{{idp}}" } } ],
+          "tenants" : [ {
+            "realm" : "acme",
+            "company" : "Acme",
+            "scopes" : [ "email", "roles" ],
+            "redirectUris" : [ "https://acme/*" ],
+            "idp" : "idp.acme"
+          }, {
+            "realm" : "globex",
+            "company" : "Globex",
+            "scopes" : [ ],
+            "redirectUris" : [ "https://globex/*", "https://globex.io/*" ],
+            "idp" : "idp.globex"
+          } ]
+        }, {
+          "realm" : "plain"
+        } ]
+        """;
+
+    @Test
+    void testTemplateIsExpandedToRealmsOfTenants() throws IOException {
+        List<RealmDefinition> realms = read(TEMPLATE);
+
+        assertThat(realms).extracting(RealmDefinition::getRealm).containsExactly("acme", "globex", "plain");
+        RealmDefinition acme = realms.get(0);
+        assertThat(acme.getTenants()).isNull();
+        assertThat(acme.getSyncMode()).isEqualTo(SyncMode.MERGE);
+        assertThat(acme.getDisplayName()).isEqualTo("Tenant acme of Acme");
+        assertThat(acme.getDefaultDefaultClientScopes()).containsExactly("profile", "email", "roles");
+        assertThat(acme.getClients().get(0).getRedirectUris()).containsExactly("https://acme/*");
+        assertThat(acme.getIdentityProviders().get(0).getConfig()).containsEntry("issuer", "https://idp.acme");
+        RealmDefinition globex = realms.get(1);
+        assertThat(globex.getDefaultDefaultClientScopes()).containsExactly("profile");
+        assertThat(globex.getClients().get(0).getRedirectUris()).containsExactly("https://globex/*", "https://globex.io/*");
+    }
+
+    @Test
+    void testSectionsWithoutParametersAndIdsAreShared() throws IOException {
+        List<RealmDefinition> realms = read(TEMPLATE);
+        RealmDefinition acme = realms.get(0);
+        RealmDefinition globex = realms.get(1);
+
+        assertThat(acme.getRoles()).isSameAs(globex.getRoles());
+        assertThat(acme.getClients().get(1)).isSameAs(globex.getClients().get(1)).isInstanceOf(ClientDefinition.class);
+        assertThat(acme.getClients().get(0)).isNotSameAs(globex.getClients().get(0));
+        assertThat(acme.getAuthenticationFlows()).isNotSameAs(globex.getAuthenticationFlows());
+    }
+
+    @Test
+    void testIdsAreDerivedFromRealmOfTenant() throws IOException {
+        List<RealmDefinition> realms = read(TEMPLATE);
+        String acmeFlow = realms.get(0).getAuthenticationFlows().get(0).getId();
+        String globexFlow = realms.get(1).getAuthenticationFlows().get(0).getId();
+
+        assertThat(acmeFlow).isNotEqualTo("browser-id").isNotEqualTo(globexFlow);
+        assertThat(realms.get(0).getClients().get(0).getAuthenticationFlowBindingOverrides())
+            .containsEntry("browser", acmeFlow);
+        assertThat(read(TEMPLATE).get(0).getAuthenticationFlows().get(0).getId()).isEqualTo(acmeFlow);
+    }
+
+    @Test
+    void testUndeclaredParameterIsRejected() {
+        String template = """
+            { "realm" : "template", "displayName" : "{{missing}}", "tenants" : [ { "realm" : "acme" } ] }
+            """;
+
+        assertThatThrownBy(() -> read(template))
+            .isInstanceOf(DefinitionTemplateException.class)
+            .hasMessageContaining("missing")
+            .hasMessageContaining("acme");
+    }
+
+    @Test
+    void testTenantWithoutRealmIsRejected() {
+        String template = """
+            { "realm" : "template", "tenants" : [ { "company" : "Acme" } ] }
+            """;
+
+        assertThatThrownBy(() -> read(template)).isInstanceOf(DefinitionTemplateException.class);
+    }
+
+    private static List<RealmDefinition> read(String content) throws IOException {
+        return Deserialization.getRealmsFromStream(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.definition.deserialization;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import com.groocraft.keycloakform.definition.RealmDefinition;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DefinitionInputTest {
+
+    private static final String REALMS = "[ { \"realm\" : \"master\" }, { \"realm\" : \"test\" } ]";
+
+    @Test
+    void testPlainInputIsPassedThrough() throws IOException {
+        assertThat(read(DefinitionInput.decompress(stream(REALMS.getBytes(StandardCharsets.UTF_8))))).isEqualTo(REALMS);
+    }
+
+    @Test
+    void testGzipInputIsDecompressed() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        write(new GZIPOutputStream(compressed));
+
+        assertThat(read(DefinitionInput.decompress(stream(compressed.toByteArray())))).isEqualTo(REALMS);
+    }
+
+    @Test
+    void testZstdInputIsDecompressed() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        write(new ZstdOutputStream(compressed));
+
+        assertThat(read(DefinitionInput.decompress(stream(compressed.toByteArray())))).isEqualTo(REALMS);
+    }
+
+    @Test
+    void testCompressedInputIsParsed() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        write(new GZIPOutputStream(compressed));
+
+        assertThat(Deserialization.getRealmsFromStream(DefinitionInput.decompress(stream(compressed.toByteArray()))))
+            .extracting(RealmDefinition::getRealm).containsExactly("master", "test");
+    }
+
+    @Test
+    void testShortInputIsPassedThrough() throws IOException {
+        assertThat(read(DefinitionInput.decompress(stream(new byte[]{(byte) 0x1f})))).isEqualTo("\u001f");
+    }
+
+    private static void write(OutputStream os) throws IOException {
+        try (os) {
+            os.write(REALMS.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static InputStream stream(byte[] bytes) {
+        return new ByteArrayInputStream(bytes);
+    }
+
+    private static String read(InputStream is) throws IOException {
+        try (is) {
+            return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
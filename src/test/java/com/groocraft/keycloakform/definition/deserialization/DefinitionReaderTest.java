@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.groocraft.keycloakform.definition.deserialization;
+
+import com.groocraft.keycloakform.definition.ClientDefinition;
+import com.groocraft.keycloakform.definition.GroupDefinition;
+import com.groocraft.keycloakform.definition.RealmDefinition;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.keycloak.util.JsonSerialization;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DefinitionReaderTest {
+
+    private static final String REALMS = """
+        [ {
+          "realm" : "test",
+          "clients" : [ { "clientId" : "client" } ],
+          "groups" : [ { "name" : "parent", "subGroups" : [ { "name" : "child", "subGroups" : [ ] } ] } ]
+        }, {
+          "realm" : "master"
+        } ]
+        """;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testMasterRealmIsReadFirst(boolean accelerated) throws IOException {
+        List<RealmDefinition> realms = new DefinitionReader(JsonSerialization.mapper, accelerated).read(stream(REALMS));
+
+        assertThat(realms).extracting(RealmDefinition::getRealm).containsExactly("master", "test");
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testNestedRepresentationsAreBoundToDefinitions(boolean accelerated) throws IOException {
+        RealmDefinition realm = new DefinitionReader(JsonSerialization.mapper, accelerated).read(stream(REALMS)).get(1);
+
+        assertThat(realm.getClients()).singleElement().isInstanceOf(ClientDefinition.class);
+        assertThat(realm.getGroups()).singleElement().isInstanceOf(GroupDefinition.class);
+        assertThat(realm.getGroups().get(0).getSubGroups()).singleElement()
+            .isInstanceOf(GroupDefinition.class)
+            .extracting("name").isEqualTo("child");
+    }
+
+    @Test
+    void testSingleRealmIsRead() throws IOException {
+        DefinitionReader reader = new DefinitionReader(JsonSerialization.mapper, false);
+
+        assertThat(reader.read(stream("{ \"realm\" : \"single\" }")))
+            .extracting(RealmDefinition::getRealm).containsExactly("single");
+    }
+
+    @Test
+    void testReaderIsReusable() throws IOException {
+        DefinitionReader reader = new DefinitionReader(JsonSerialization.mapper, true);
+
+        assertThat(reader.read(stream(REALMS))).hasSize(2);
+        assertThat(reader.read(stream(REALMS))).hasSize(2);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.diff;
+
+import com.groocraft.keycloakform.definition.ClientDefinition;
+
+import org.junit.jupiter.api.Test;
+import org.keycloak.representations.idm.ClientRepresentation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepresentationDiffTest {
+
+    RepresentationDiff diff = new RepresentationDiff(Set.of("id", "syncMode"), Set.of("redirectUris"));
+
+    @Test
+    void testMatchingSnapshotHasNoDifferences() {
+        ClientDefinition definition = new ClientDefinition();
+        definition.setId("1");
+        definition.setClientId("client");
+        definition.setEnabled(true);
+        definition.setWebOrigins(List.of("b", "a"));
+        definition.setAttributes(Map.of("a", "1"));
+
+        ClientRepresentation snapshot = new ClientRepresentation();
+        snapshot.setId("2");
+        snapshot.setClientId("client");
+        snapshot.setEnabled(true);
+        snapshot.setWebOrigins(List.of("a", "b"));
+        snapshot.setAttributes(Map.of("a", "1", "b", "2"));
+        snapshot.setDescription("not part of the definition");
+
+        assertThat(diff.diff(definition, snapshot)).isEmpty();
+    }
+
+    @Test
+    void testDifferentValuesAreReported() {
+        ClientDefinition definition = new ClientDefinition();
+        definition.setClientId("client");
+        definition.setEnabled(false);
+        definition.setAttributes(Map.of("a", "2"));
+        definition.setRedirectUris(List.of("a"));
+        definition.setWebOrigins(List.of("a"));
+
+        ClientRepresentation snapshot = new ClientRepresentation();
+        snapshot.setClientId("client");
+        snapshot.setEnabled(true);
+        snapshot.setAttributes(Map.of("a", "1"));
+        snapshot.setRedirectUris(List.of("a", "b"));
+
+        assertThat(diff.diff(definition, snapshot)).containsExactlyInAnyOrder("enabled", "attributes", "redirectUris",
+            "webOrigins");
+    }
+
+    @Test
+    void testExactFieldsRequireSameEntries() {
+        RepresentationDiff exactDiff = new RepresentationDiff(Set.of(), Set.of("attributes"));
+        ClientRepresentation definition = new ClientRepresentation();
+        definition.setAttributes(Map.of("a", "1"));
+        ClientRepresentation snapshot = new ClientRepresentation();
+        snapshot.setAttributes(Map.of("a", "1", "b", "2"));
+
+        assertThat(exactDiff.diff(definition, snapshot)).containsExactly("attributes");
+        assertThat(diff.diff(definition, snapshot)).isEmpty();
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.dirty;
+
+import com.groocraft.keycloakform.config.ResourceFilter;
+
+import org.junit.jupiter.api.Test;
+import org.keycloak.events.admin.AdminEvent;
+import org.keycloak.events.admin.ResourceType;
+import org.keycloak.models.ClientModel;
+import org.keycloak.models.RealmModel;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DirtyTrackerTest {
+
+    DirtyTracker tracker = new DirtyTracker();
+
+    @Test
+    void testEventsAreRecordedAsSectionsOfTheirRealm() {
+        tracker.record(event("r1", ResourceType.AUTH_EXECUTION, "authentication/executions/e1"));
+        tracker.record(event("r1", ResourceType.PROTOCOL_MAPPER, "client-scopes/s1/protocol-mappers/models/m1"));
+        tracker.record(event("r1", ResourceType.CLIENT_ROLE, "clients/c1/roles/admin"));
+        tracker.record(event("r2", ResourceType.REALM, "realms/r2"));
+
+        Map<String, DirtyResources> dirty = tracker.drain();
+
+        assertThat(dirty).containsOnlyKeys("r1", "r2");
+        assertThat(dirty.get("r1").getTypes()).containsExactlyInAnyOrder(ResourceFilter.FLOWS,
+            ResourceFilter.CLIENT_SCOPES, ResourceFilter.ROLES, ResourceFilter.CLIENTS);
+        assertThat(dirty.get("r1").getClients()).containsExactly("c1");
+        assertThat(dirty.get("r2").getTypes()).containsExactly(ResourceFilter.SETTINGS);
+        assertThat(tracker.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testNotFormedResourcesAndFailedOperationsAreNotRecorded() {
+        tracker.record(event("r1", ResourceType.USER, "users/u1"));
+        AdminEvent failed = event("r1", ResourceType.CLIENT, "clients/c1");
+        failed.setError("forbidden");
+        tracker.record(failed);
+
+        assertThat(tracker.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testRestoredResourcesAreMergedWithNewOnes() {
+        tracker.record(event("r1", ResourceType.GROUP, "groups/g1"));
+        DirtyResources drained = tracker.drain().get("r1");
+        tracker.record(event("r1", ResourceType.COMPONENT, "components/k1"));
+
+        tracker.restore("r1", drained);
+
+        assertThat(tracker.drain().get("r1").getTypes())
+            .containsExactlyInAnyOrder(ResourceFilter.GROUPS, ResourceFilter.COMPONENTS);
+    }
+
+    @Test
+    void testFilterIsNarrowedToDirtySectionsAndClients() {
+        tracker.record(event("r1", ResourceType.CLIENT, "clients/c1"));
+        RealmModel realm = realm("test");
+        ClientModel client = mock(ClientModel.class);
+        when(client.getClientId()).thenReturn("app");
+        when(realm.getClientById("c1")).thenReturn(client);
+
+        ResourceFilter filter = tracker.drain().get("r1").narrow(ResourceFilter.ALL, realm);
+
+        assertThat(filter.skips(ResourceFilter.REALM, "test")).isFalse();
+        assertThat(filter.skips(ResourceFilter.REALM, "other")).isTrue();
+        assertThat(filter.skips(ResourceFilter.TYPE, ResourceFilter.CLIENTS)).isFalse();
+        assertThat(filter.skips(ResourceFilter.TYPE, ResourceFilter.GROUPS)).isTrue();
+        assertThat(filter.skips(ResourceFilter.CLIENT, "app")).isFalse();
+        assertThat(filter.skips(ResourceFilter.CLIENT, "other")).isTrue();
+    }
+
+    @Test
+    void testAllClientsAreReconciledWhenDirtyClientWasDeleted() {
+        tracker.record(event("r1", ResourceType.CLIENT, "clients/c1"));
+
+        ResourceFilter filter = tracker.drain().get("r1").narrow(ResourceFilter.ALL, realm("test"));
+
+        assertThat(filter.skips(ResourceFilter.CLIENT, "other")).isFalse();
+    }
+
+    @Test
+    void testNothingIsFormedWhenDirtySectionsAreOutOfFilter() {
+        tracker.record(event("r1", ResourceType.GROUP, "groups/g1"));
+
+        assertThat(tracker.drain().get("r1").narrow(ResourceFilter.parse(null, "type=groups"), realm("test"))).isNull();
+    }
+
+    @Test
+    void testDirtyClientsOutOfFilterAreNotReconciled() {
+        tracker.record(event("r1", ResourceType.CLIENT, "clients/c1"));
+        tracker.record(event("r1", ResourceType.CLIENT, "clients/c2"));
+        RealmModel realm = realm("test");
+        ClientModel app = mock(ClientModel.class);
+        ClientModel billing = mock(ClientModel.class);
+        when(app.getClientId()).thenReturn("app");
+        when(billing.getClientId()).thenReturn("billing-1");
+        when(realm.getClientById("c1")).thenReturn(app);
+        when(realm.getClientById("c2")).thenReturn(billing);
+
+        ResourceFilter filter = tracker.drain().get("r1").narrow(ResourceFilter.parse("client=billing-*", null), realm);
+
+        assertThat(filter.skips(ResourceFilter.CLIENT, "billing-1")).isFalse();
+        assertThat(filter.skips(ResourceFilter.CLIENT, "billing-2")).isTrue();
+        assertThat(filter.skips(ResourceFilter.CLIENT, "app")).isTrue();
+    }
+
+    @Test
+    void testNothingIsFormedWhenAllDirtyClientsAreOutOfFilter() {
+        tracker.record(event("r1", ResourceType.CLIENT, "clients/c1"));
+        RealmModel realm = realm("test");
+        ClientModel app = mock(ClientModel.class);
+        when(app.getClientId()).thenReturn("app");
+        when(realm.getClientById("c1")).thenReturn(app);
+
+        assertThat(tracker.drain().get("r1").narrow(ResourceFilter.parse("client=billing-*", null), realm)).isNull();
+    }
+
+    private static RealmModel realm(String name) {
+        RealmModel realm = mock(RealmModel.class);
+        when(realm.getName()).thenReturn(name);
+        return realm;
+    }
+
+    private static AdminEvent event(String realmId, ResourceType type, String path) {
+        AdminEvent event = new AdminEvent();
+        event.setRealmId(realmId);
+        event.setResourceType(type);
+        event.setResourcePath(path);
+        return event;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.drift;
+
+import com.groocraft.keycloakform.config.FormerConfig;
+import com.groocraft.keycloakform.definition.RealmDefinition;
+import com.groocraft.keycloakform.definition.deserialization.Deserialization;
+import com.groocraft.keycloakform.health.FormingStatus;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.keycloak.exportimport.util.ExportUtils;
+import org.keycloak.models.KeycloakSession;
+import org.keycloak.models.KeycloakSessionFactory;
+import org.keycloak.models.KeycloakSessionTaskWithResult;
+import org.keycloak.models.RealmModel;
+import org.keycloak.models.utils.KeycloakModelUtils;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DriftDetectorTest {
+
+    @Mock KeycloakSessionFactory factory;
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS) KeycloakSession session;
+    @Mock RealmModel master;
+    @Mock RealmModel test;
+
+    List<RealmDefinition> definitions;
+    List<RealmDefinition> exports;
+    MockedStatic<KeycloakModelUtils> modelUtils;
+    MockedStatic<ExportUtils> exportUtils;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        definitions = read();
+        exports = read();
+        lenient().when(session.realms().getRealmByName("master")).thenReturn(master);
+        lenient().when(session.realms().getRealmByName("test")).thenReturn(test);
+        modelUtils = mockStatic(KeycloakModelUtils.class);
+        modelUtils.when(() -> KeycloakModelUtils.runJobInTransactionWithResult(eq(factory), any()))
+            .thenAnswer(i -> i.<KeycloakSessionTaskWithResult<?>>getArgument(1).run(session));
+        exportUtils = mockStatic(ExportUtils.class);
+        exportUtils.when(() -> ExportUtils.exportRealm(any(), eq(master), eq(false), eq(true))).thenReturn(export("master"));
+        exportUtils.when(() -> ExportUtils.exportRealm(any(), eq(test), eq(false), eq(true))).thenReturn(export("test"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        modelUtils.close();
+        exportUtils.close();
+        FormingStatus.getInstance().completed();
+    }
+
+    @Test
+    void testMatchingInstanceHasNoDrift() {
+        DriftDetector detector = detector(10_000);
+
+        detector.detect(factory);
+
+        assertThat(detector.getDrift()).isEmpty();
+        verify(session.getTransactionManager(), atLeastOnce()).setRollbackOnly();
+    }
+
+    @Test
+    void testChangedResourceIsReportedAsDriftOfItsRealm(@TempDir Path directory) throws IOException {
+        export("test").getClients().stream()
+            .filter(c -> c.getClientId().equals("account-console"))
+            .findFirst().orElseThrow()
+            .setRootUrl("https://changed.example.com");
+        Path report = directory.resolve("drift.txt");
+        DriftDetector detector = new DriftDetector(FormerConfig.builder().driftInterval(60).driftCpuBudget(10_000)
+            .driftReportFile(report.toString()).build(), definitions);
+
+        detector.detect(factory);
+
+        assertThat(detector.getDrift()).containsOnlyKeys("test");
+        assertThat(detector.getDrift().get("test").getChanges()).singleElement()
+            .hasToString("~ realm test / client account-console [rootUrl]");
+        assertThat(Files.readString(report)).contains("Realm test", "~ realm test / client account-console [rootUrl]");
+    }
+
+    @Test
+    void testRunStopsWhenBudgetIsSpentAndNextRunContinues() {
+        export("test").setDisplayName("changed");
+        DriftDetector detector = detector(0);
+
+        detector.detect(factory);
+        assertThat(detector.getDrift()).isEmpty();
+        exportUtils.verify(() -> ExportUtils.exportRealm(any(), eq(test), anyBoolean(), anyBoolean()), never());
+
+        detector.detect(factory);
+        assertThat(detector.getDrift()).containsOnlyKeys("test");
+    }
+
+    @Test
+    void testDetectionWaitsForForming() {
+        FormingStatus.getInstance().scheduled(List.of("test"));
+        DriftDetector detector = detector(10_000);
+
+        detector.detect(factory);
+
+        modelUtils.verify(() -> KeycloakModelUtils.runJobInTransactionWithResult(eq(factory), any()), never());
+    }
+
+    private DriftDetector detector(long cpuBudget) {
+        return new DriftDetector(FormerConfig.builder().driftInterval(60).driftCpuBudget(cpuBudget).build(), definitions);
+    }
+
+    private RealmDefinition export(String realm) {
+        return exports.stream().filter(e -> e.getRealm().equals(realm)).findFirst().orElseThrow();
+    }
+
+    private List<RealmDefinition> read() throws IOException {
+        return Deserialization.getRealmsFromStream(getClass().getClassLoader().getResource("realms.json").openStream());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.groocraft.keycloakform.former;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.models.IdentityProviderMapperModel;
+import org.keycloak.models.IdentityProviderModel;
+import org.keycloak.models.IdentityProviderStorageProvider;
+import org.keycloak.models.KeycloakSession;
+import org.keycloak.models.RealmModel;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdentityProviderIndexTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS) KeycloakSession session;
+    @Mock IdentityProviderStorageProvider storage;
+    @Mock RealmModel realm;
+
+    FormerContext context;
+    List<IdentityProviderModel> providers = IntStream.range(0, IdentityProviderIndex.PAGE_SIZE + 1)
+        .mapToObj(i -> provider("customer-" + i))
+        .toList();
+
+    @BeforeEach
+    void setUp() {
+        context = new FormerContext(session);
+        when(session.getContext().getRealm()).thenReturn(realm);
+        when(session.identityProviders()).thenReturn(storage);
+        when(realm.getId()).thenReturn("realm-id");
+        when(storage.getAllStream(any(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            int first = invocation.getArgument(1);
+            int max = invocation.getArgument(2);
+            return providers.stream().skip(first).limit(max);
+        });
+    }
+
+    @Test
+    void testProvidersAreReadPageByPage() {
+        IdentityProviderIndex index = IdentityProviderIndex.of(context);
+
+        assertThat(index.getAll()).hasSize(providers.size());
+        assertThat(index.get("customer-" + IdentityProviderIndex.PAGE_SIZE)).isNotNull();
+        verify(storage).getAllStream(any(), eq(0), anyInt());
+        verify(storage).getAllStream(any(), eq(IdentityProviderIndex.PAGE_SIZE), anyInt());
+    }
+
+    @Test
+    void testIndexIsReusedWithinRealm() {
+        IdentityProviderIndex index = IdentityProviderIndex.of(context);
+
+        assertThat(IdentityProviderIndex.of(context)).isSameAs(index);
+        verify(storage, times(2)).getAllStream(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testMappersAreGroupedByProviderAndMatchedByIdOrName() {
+        IdentityProviderMapperModel first = mapper("first", "customer-1", "email");
+        IdentityProviderMapperModel second = mapper("second", "customer-2", "email");
+        when(storage.getMappersStream(any(), anyInt(), anyInt())).thenReturn(Stream.of(first, second));
+
+        IdentityProviderIndex index = IdentityProviderIndex.of(context);
+
+        assertThat(index.getMappers("customer-1")).containsOnlyKeys("first");
+        assertThat(index.getMapperAliases()).containsExactly("customer-1", "customer-2");
+        assertThat(index.findMapper("customer-2", null, "email")).isSameAs(second);
+        //mapper moved to another provider is still found by its id
+        assertThat(index.findMapper("customer-3", "first", "email")).isSameAs(first);
+        verify(storage, times(1)).getMappersStream(any(), anyInt(), anyInt());
+    }
+
+    private static IdentityProviderModel provider(String alias) {
+        IdentityProviderModel provider = new IdentityProviderModel();
+        provider.setAlias(alias);
+        return provider;
+    }
+
+    private static IdentityProviderMapperModel mapper(String id, String alias, String name) {
+        IdentityProviderMapperModel mapper = new IdentityProviderMapperModel();
+        mapper.setId(id);
+        mapper.setIdentityProviderAlias(alias);
+        mapper.setName(name);
+        return mapper;
+    }
+
+}
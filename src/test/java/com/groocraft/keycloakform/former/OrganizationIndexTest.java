@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.former;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.models.KeycloakSession;
+import org.keycloak.models.OrganizationModel;
+import org.keycloak.models.RealmModel;
+import org.keycloak.organization.OrganizationProvider;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrganizationIndexTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS) KeycloakSession session;
+    @Mock OrganizationProvider provider;
+    @Mock RealmModel realm;
+
+    FormerContext context;
+    List<OrganizationModel> organizations = IntStream.range(0, OrganizationIndex.PAGE_SIZE + 1)
+        .mapToObj(i -> organization("customer-" + i))
+        .toList();
+
+    @BeforeEach
+    void setUp() {
+        context = new FormerContext(session);
+        when(session.getContext().getRealm()).thenReturn(realm);
+        doReturn(provider).when(session).getProvider(OrganizationProvider.class);
+        when(realm.getId()).thenReturn("realm-id");
+        when(provider.getAllStream(anyString(), any(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            int first = invocation.getArgument(2);
+            int max = invocation.getArgument(3);
+            return organizations.stream().skip(first).limit(max);
+        });
+    }
+
+    @Test
+    void testOrganizationsAreReadPageByPage() {
+        OrganizationIndex index = OrganizationIndex.of(context);
+
+        assertThat(index.getAll()).hasSize(organizations.size());
+        assertThat(index.get("customer-" + OrganizationIndex.PAGE_SIZE)).isNotNull();
+        verify(provider).getAllStream(anyString(), any(), eq(0), anyInt());
+        verify(provider).getAllStream(anyString(), any(), eq(OrganizationIndex.PAGE_SIZE), anyInt());
+    }
+
+    @Test
+    void testIndexIsReusedWithinRealmAndKeptCurrent() {
+        OrganizationIndex index = OrganizationIndex.of(context);
+        OrganizationModel created = organization("created");
+        index.put(created);
+        index.remove("customer-0");
+
+        assertThat(OrganizationIndex.of(context)).isSameAs(index);
+        assertThat(index.get("created")).isSameAs(created);
+        assertThat(index.get("customer-0")).isNull();
+        verify(provider, times(2)).getAllStream(anyString(), any(), anyInt(), anyInt());
+    }
+
+    private static OrganizationModel organization(String alias) {
+        OrganizationModel organization = mock(OrganizationModel.class);
+        when(organization.getAlias()).thenReturn(alias);
+        return organization;
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.former.collection;
+
+import com.groocraft.keycloakform.definition.AuthenticationExecutionDefinition;
+import com.groocraft.keycloakform.former.FormerContext;
+import com.groocraft.keycloakform.former.SyncMode;
+import com.groocraft.keycloakform.former.item.AuthenticationExecutionFormer;
+import com.groocraft.keycloakform.utils.TestFormersFactory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.models.AuthenticationExecutionModel;
+import org.keycloak.models.AuthenticationFlowModel;
+import org.keycloak.models.KeycloakSession;
+import org.keycloak.models.RealmModel;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticationExecutionsFormerTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS) KeycloakSession session;
+    @Mock RealmModel realm;
+    @Mock AuthenticationExecutionFormer executionFormer;
+
+    TestFormersFactory formersFactory = new TestFormersFactory();
+    AuthenticationExecutionsFormer former;
+    FormerContext context;
+    AuthenticationExecutionModel cookie = execution("auth-cookie", 10);
+    AuthenticationExecutionModel kerberos = execution("auth-spnego", 20);
+
+    @BeforeEach
+    void setUp() {
+        formersFactory.registerMock(AuthenticationExecutionDefinition.class, executionFormer);
+        former = new AuthenticationExecutionsFormer(formersFactory);
+        when(session.getContext().getRealm()).thenReturn(realm);
+        context = new FormerContext(session);
+        AuthenticationFlowModel flow = new AuthenticationFlowModel();
+        flow.setId("flow-id");
+        flow.setAlias("browser");
+        context.setAuthenticationFlow(flow);
+    }
+
+    @Test
+    void testMatchingExecutionsAreKeptAndUndeclaredRemovedInFullMode() {
+        when(realm.getAuthenticationExecutionsStream("flow-id")).thenAnswer(i -> Stream.of(cookie, kerberos));
+        AuthenticationExecutionDefinition definition = definition("auth-cookie", 10);
+
+        former.form(List.of(definition), context, SyncMode.FULL);
+
+        verify(realm).removeAuthenticatorExecution(kerberos);
+        verify(realm, never()).removeAuthenticatorExecution(cookie);
+        verify(executionFormer).form(definition, context);
+    }
+
+    @Test
+    void testReorderedExecutionIsReplaced() {
+        when(realm.getAuthenticationExecutionsStream("flow-id")).thenAnswer(i -> Stream.of(cookie, kerberos));
+        AuthenticationExecutionDefinition movedCookie = definition("auth-cookie", 30);
+        AuthenticationExecutionDefinition sameKerberos = definition("auth-spnego", 20);
+
+        former.form(List.of(sameKerberos, movedCookie), context, SyncMode.FULL);
+
+        //priority identifies the execution, the moved one is created again by its former
+        verify(realm).removeAuthenticatorExecution(cookie);
+        verify(realm, never()).removeAuthenticatorExecution(kerberos);
+        verify(executionFormer).form(movedCookie, context);
+        verify(executionFormer).form(sameKerberos, context);
+    }
+
+    @Test
+    void testNothingIsRemovedInMergeMode() {
+        former.form(List.of(definition("auth-cookie", 30)), context, SyncMode.MERGE);
+
+        verify(realm, never()).removeAuthenticatorExecution(any());
+    }
+
+    private static AuthenticationExecutionModel execution(String authenticator, int priority) {
+        AuthenticationExecutionModel model = new AuthenticationExecutionModel();
+        model.setAuthenticator(authenticator);
+        model.setPriority(priority);
+        model.setRequirement(AuthenticationExecutionModel.Requirement.ALTERNATIVE);
+        return model;
+    }
+
+    private static AuthenticationExecutionDefinition definition(String authenticator, int priority) {
+        AuthenticationExecutionDefinition definition = new AuthenticationExecutionDefinition();
+        definition.setAuthenticator(authenticator);
+        definition.setPriority(priority);
+        definition.setRequirement(AuthenticationExecutionModel.Requirement.ALTERNATIVE.name());
+        return definition;
+    }
+
+}
@@ -16,6 +16,7 @@
 
 package com.groocraft.keycloakform.former.collection;
 
+import com.groocraft.keycloakform.config.ResourceFilter;
 import com.groocraft.keycloakform.definition.ClientDefinition;
 import com.groocraft.keycloakform.definition.DefinitionMapping;
 import com.groocraft.keycloakform.definition.deserialization.Deserialization;
@@ -117,4 +118,25 @@ class ClientsFormerTest {
 
     }
 
+    @Test
+    void testFormerIsSkippingClientsOutOfFilterScope() {
+        ClientModel inScopeModel = mock(ClientModel.class);
+        ClientModel outOfScopeModel = mock(ClientModel.class);
+        when(inScopeModel.getClientId()).thenReturn("billing-legacy");
+        when(inScopeModel.getId()).thenReturn("billing-legacy-id");
+        when(outOfScopeModel.getClientId()).thenReturn("first");
+
+        when(context.getFilter()).thenReturn(ResourceFilter.parse("client=billing-*,test", null));
+        when(context.getRealm().getClientsStream()).thenReturn(Stream.of(inScopeModel, outOfScopeModel));
+        when(context.getRealm().removeClient("billing-legacy-id")).thenReturn(true);
+
+        former.form(definitions, context, SyncMode.FULL);
+
+        ArgumentCaptor<ClientDefinition> definitionCaptor = ArgumentCaptor.forClass(ClientDefinition.class);
+        verify(clientFormer).form(definitionCaptor.capture(), eq(context));
+        assertThat(definitionCaptor.getValue().getName()).isEqualTo("Test");
+        verify(context.getRealm()).removeClient("billing-legacy-id");
+        verify(context.getRealm(), never()).removeClient(null);
+    }
+
 }
\ No newline at end of file
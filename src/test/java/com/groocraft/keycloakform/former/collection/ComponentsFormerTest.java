@@ -0,0 +1,142 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.groocraft.keycloakform.former.collection;
+
+import com.groocraft.keycloakform.definition.ComponentDefinition;
+import com.groocraft.keycloakform.former.FormerContext;
+import com.groocraft.keycloakform.former.SyncMode;
+import com.groocraft.keycloakform.former.item.ComponentFormer;
+import com.groocraft.keycloakform.utils.TestFormersFactory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.component.ComponentModel;
+import org.keycloak.models.KeycloakSession;
+import org.keycloak.models.RealmModel;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ComponentsFormerTest {
+
+    private static final String REALM_ID = "realm-id";
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS) KeycloakSession session;
+    @Mock RealmModel realm;
+    @Mock ComponentFormer componentFormer;
+
+    TestFormersFactory formersFactory = new TestFormersFactory();
+    FormerContext context;
+    ComponentsFormer former;
+
+    ComponentModel ldap = component("ldap", REALM_ID, "org.keycloak.storage.UserStorageProvider", "ldap");
+    ComponentModel firstMapper = component("first-mapper", "ldap", "org.keycloak.storage.ldap.mappers.LDAPStorageMapper", "first");
+    ComponentModel secondMapper = component("second-mapper", "ldap", "org.keycloak.storage.ldap.mappers.LDAPStorageMapper", "second");
+    ComponentModel key = component("key", REALM_ID, "org.keycloak.keys.KeyProvider", "rsa-generated");
+
+    @BeforeEach
+    void setUp() {
+        formersFactory.registerMock(ComponentDefinition.class, componentFormer);
+        former = new ComponentsFormer(formersFactory);
+        context = new FormerContext(session);
+        when(session.getContext().getRealm()).thenReturn(realm);
+        when(realm.getComponentsStream()).thenReturn(Stream.of(ldap, firstMapper, secondMapper, key));
+    }
+
+    @Test
+    void testUndeclaredComponentsAreRemovedByIdentity() {
+        former.form(List.of(definition(ldap), definition(firstMapper)), context, SyncMode.FULL);
+
+        assertThat(removed()).containsExactlyInAnyOrder("second-mapper", "key");
+    }
+
+    @Test
+    void testUndeclaredComponentsAreRemovedBottomUp() {
+        former.form(List.of(definition(key)), context, SyncMode.FULL);
+
+        assertThat(removed()).containsExactlyInAnyOrder("ldap", "first-mapper", "second-mapper");
+        assertThat(removed().indexOf("ldap")).isGreaterThan(removed().indexOf("first-mapper"))
+            .isGreaterThan(removed().indexOf("second-mapper"));
+    }
+
+    @Test
+    void testDefinitionWithoutIdIsMatchedByParentProviderTypeAndName() {
+        ComponentDefinition mapperWithoutId = definition(secondMapper);
+        mapperWithoutId.setId(null);
+
+        former.form(List.of(definition(ldap), definition(firstMapper), mapperWithoutId, definition(key)), context, SyncMode.FULL);
+
+        verify(realm, never()).removeComponent(any());
+    }
+
+    @Test
+    void testExistingComponentsAreScannedOnce() {
+        former.form(List.of(definition(ldap), definition(firstMapper), definition(secondMapper)), context, SyncMode.FULL);
+
+        verify(realm, times(1)).getComponentsStream();
+        verify(componentFormer, times(3)).form(any(), any());
+        assertThat(removed()).containsExactly("key");
+        assertThat(context.getComponentTree()).isNull();
+    }
+
+    @Test
+    void testNoComponentIsRemovedWhenSyncModeIsNotFull() {
+        former.form(List.of(), context, SyncMode.MERGE);
+
+        verify(realm, never()).removeComponent(any());
+    }
+
+    private List<String> removed() {
+        ArgumentCaptor<ComponentModel> captor = ArgumentCaptor.forClass(ComponentModel.class);
+        verify(realm, atLeast(0)).removeComponent(captor.capture());
+        return captor.getAllValues().stream().map(ComponentModel::getId).toList();
+    }
+
+    private static ComponentModel component(String id, String parentId, String providerType, String name) {
+        ComponentModel model = new ComponentModel();
+        model.setId(id);
+        model.setParentId(parentId);
+        model.setProviderType(providerType);
+        model.setName(name);
+        return model;
+    }
+
+    private static ComponentDefinition definition(ComponentModel model) {
+        ComponentDefinition definition = new ComponentDefinition();
+        definition.setId(model.getId());
+        definition.setParentId(model.getParentId());
+        definition.setProviderType(model.getProviderType());
+        definition.setName(model.getName());
+        return definition;
+    }
+
+}
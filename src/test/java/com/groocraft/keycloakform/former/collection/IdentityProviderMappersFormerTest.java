@@ -0,0 +1,111 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.groocraft.keycloakform.former.collection;
+
+import com.groocraft.keycloakform.definition.IdentityProviderMapperDefinition;
+import com.groocraft.keycloakform.former.FormerContext;
+import com.groocraft.keycloakform.former.SyncMode;
+import com.groocraft.keycloakform.former.item.IdentityProviderMapperFormer;
+import com.groocraft.keycloakform.utils.TestFormersFactory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.models.IdentityProviderMapperModel;
+import org.keycloak.models.IdentityProviderStorageProvider;
+import org.keycloak.models.KeycloakSession;
+import org.keycloak.models.RealmModel;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class IdentityProviderMappersFormerTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS) KeycloakSession session;
+    @Mock IdentityProviderStorageProvider storage;
+    @Mock RealmModel realm;
+    @Mock IdentityProviderMapperFormer mapperFormer;
+
+    TestFormersFactory formersFactory = new TestFormersFactory();
+    FormerContext context;
+    IdentityProviderMappersFormer former;
+
+    IdentityProviderMapperModel declared = mapper("declared", "customer-1", "email");
+    IdentityProviderMapperModel declaredByName = mapper("declared-by-name", "customer-2", "email");
+    IdentityProviderMapperModel undeclared = mapper("undeclared", "customer-2", "name");
+
+    @BeforeEach
+    void setUp() {
+        formersFactory.registerMock(IdentityProviderMapperDefinition.class, mapperFormer);
+        former = new IdentityProviderMappersFormer(formersFactory);
+        context = new FormerContext(session);
+        //storage is not touched when nothing is deleted
+        lenient().when(session.getContext().getRealm()).thenReturn(realm);
+        lenient().when(session.identityProviders()).thenReturn(storage);
+        lenient().when(storage.getAllStream(any(), anyInt(), anyInt())).thenReturn(Stream.empty());
+        lenient().when(storage.getMappersStream(any(), anyInt(), anyInt()))
+            .thenReturn(Stream.of(declared, declaredByName, undeclared));
+    }
+
+    @Test
+    void testUndeclaredMappersAreRemovedPerProvider() {
+        former.form(List.of(definition("declared", "customer-1", "email"), definition(null, "customer-2", "email")),
+            context, SyncMode.FULL);
+
+        ArgumentCaptor<IdentityProviderMapperModel> removed = ArgumentCaptor.forClass(IdentityProviderMapperModel.class);
+        verify(storage).removeMapper(removed.capture());
+        assertThat(removed.getAllValues()).containsExactly(undeclared);
+        assertThat(context.getIdentityProviderIndex().getMappers("customer-2")).containsOnlyKeys("declared-by-name");
+    }
+
+    @Test
+    void testNoMapperIsRemovedWhenSyncModeIsNotFull() {
+        former.form(List.of(), context, SyncMode.MERGE);
+
+        verify(storage, never()).removeMapper(any());
+    }
+
+    private static IdentityProviderMapperModel mapper(String id, String alias, String name) {
+        IdentityProviderMapperModel mapper = new IdentityProviderMapperModel();
+        mapper.setId(id);
+        mapper.setIdentityProviderAlias(alias);
+        mapper.setName(name);
+        return mapper;
+    }
+
+    private static IdentityProviderMapperDefinition definition(String id, String alias, String name) {
+        IdentityProviderMapperDefinition definition = new IdentityProviderMapperDefinition();
+        definition.setId(id);
+        definition.setIdentityProviderAlias(alias);
+        definition.setName(name);
+        return definition;
+    }
+
+}
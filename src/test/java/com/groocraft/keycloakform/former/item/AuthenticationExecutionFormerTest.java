@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.former.item;
+
+import com.groocraft.keycloakform.definition.AuthenticationExecutionDefinition;
+import com.groocraft.keycloakform.former.FormerContext;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.models.AuthenticationExecutionModel;
+import org.keycloak.models.AuthenticatorConfigModel;
+import org.keycloak.models.KeycloakSession;
+import org.keycloak.models.RealmModel;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticationExecutionFormerTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS) KeycloakSession session;
+    @Mock RealmModel realm;
+
+    FormerContext context;
+
+    @BeforeEach
+    void setUp() {
+        when(session.getContext().getRealm()).thenReturn(realm);
+        context = new FormerContext(session);
+    }
+
+    @Test
+    void testExecutionWithoutConfigMatchesDefinitionWithoutConfig() {
+        assertThat(AuthenticationExecutionFormer.isMatching(execution("auth-cookie", 10, null),
+            definition("auth-cookie", 10, null), context)).isTrue();
+    }
+
+    @Test
+    void testExecutionWithConfigDoesNotMatchDefinitionWithoutConfig() {
+        assertThat(AuthenticationExecutionFormer.isMatching(execution("auth-cookie", 10, "config-id"),
+            definition("auth-cookie", 10, null), context)).isFalse();
+    }
+
+    @Test
+    void testConfigIsMatchedByAliasOfDefinition() {
+        AuthenticatorConfigModel config = new AuthenticatorConfigModel();
+        config.setId("config-id");
+        when(realm.getAuthenticatorConfigByAlias("otp")).thenReturn(config);
+
+        assertThat(AuthenticationExecutionFormer.isMatching(execution("auth-otp-form", 20, "config-id"),
+            definition("auth-otp-form", 20, "otp"), context)).isTrue();
+        assertThat(AuthenticationExecutionFormer.isMatching(execution("auth-otp-form", 20, "other-id"),
+            definition("auth-otp-form", 20, "otp"), context)).isFalse();
+    }
+
+    @Test
+    void testReorderedExecutionDoesNotMatch() {
+        assertThat(AuthenticationExecutionFormer.isMatching(execution("auth-cookie", 10, null),
+            definition("auth-cookie", 20, null), context)).isFalse();
+    }
+
+    @Test
+    void testMissingConfigIsRejected() {
+        assertThatIllegalStateException().isThrownBy(() -> AuthenticationExecutionFormer.isMatching(
+            execution("auth-otp-form", 20, "config-id"), definition("auth-otp-form", 20, "missing"), context));
+    }
+
+    static AuthenticationExecutionModel execution(String authenticator, int priority, String configId) {
+        AuthenticationExecutionModel model = new AuthenticationExecutionModel();
+        model.setAuthenticator(authenticator);
+        model.setPriority(priority);
+        model.setRequirement(AuthenticationExecutionModel.Requirement.REQUIRED);
+        model.setAuthenticatorConfig(configId);
+        return model;
+    }
+
+    static AuthenticationExecutionDefinition definition(String authenticator, int priority, String configAlias) {
+        AuthenticationExecutionDefinition definition = new AuthenticationExecutionDefinition();
+        definition.setAuthenticator(authenticator);
+        definition.setPriority(priority);
+        definition.setRequirement(AuthenticationExecutionModel.Requirement.REQUIRED.name());
+        definition.setAuthenticatorConfig(configAlias);
+        return definition;
+    }
+
+}
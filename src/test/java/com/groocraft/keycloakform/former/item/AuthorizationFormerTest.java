@@ -0,0 +1,304 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.former.item;
+
+import com.groocraft.keycloakform.definition.AuthorizationDefinitionHelper;
+import com.groocraft.keycloakform.former.FormerContext;
+import com.groocraft.keycloakform.former.SyncMode;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.authorization.AuthorizationProvider;
+import org.keycloak.authorization.model.Policy;
+import org.keycloak.authorization.model.Resource;
+import org.keycloak.authorization.model.ResourceServer;
+import org.keycloak.authorization.model.Scope;
+import org.keycloak.authorization.store.PolicyStore;
+import org.keycloak.authorization.store.ResourceServerStore;
+import org.keycloak.authorization.store.ResourceStore;
+import org.keycloak.authorization.store.ScopeStore;
+import org.keycloak.authorization.store.StoreFactory;
+import org.keycloak.models.ClientModel;
+import org.keycloak.models.KeycloakSession;
+import org.keycloak.models.utils.ModelToRepresentation;
+import org.keycloak.models.utils.RepresentationToModel;
+import org.keycloak.representations.idm.authorization.DecisionStrategy;
+import org.keycloak.representations.idm.authorization.Logic;
+import org.keycloak.representations.idm.authorization.PolicyEnforcementMode;
+import org.keycloak.representations.idm.authorization.PolicyRepresentation;
+import org.keycloak.representations.idm.authorization.ResourceRepresentation;
+import org.keycloak.representations.idm.authorization.ResourceServerRepresentation;
+import org.keycloak.representations.idm.authorization.ScopeRepresentation;
+import org.mockito.Answers;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorizationFormerTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS) KeycloakSession session;
+    @Mock ClientModel client;
+    @Mock AuthorizationProvider authorization;
+    @Mock StoreFactory storeFactory;
+    @Mock ResourceServerStore resourceServerStore;
+    @Mock ScopeStore scopeStore;
+    @Mock ResourceStore resourceStore;
+    @Mock PolicyStore policyStore;
+    @Mock ResourceServer resourceServer;
+
+    AuthorizationFormer former = new AuthorizationFormer();
+    FormerContext context;
+    MockedStatic<RepresentationToModel> representationToModel;
+    MockedStatic<ModelToRepresentation> modelToRepresentation;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(session.getContext().getClient()).thenReturn(client);
+        lenient().doReturn(authorization).when(session).getProvider(AuthorizationProvider.class);
+        context = new FormerContext(session);
+        lenient().when(client.getClientId()).thenReturn("app");
+        lenient().when(authorization.getStoreFactory()).thenReturn(storeFactory);
+        lenient().when(storeFactory.getResourceServerStore()).thenReturn(resourceServerStore);
+        lenient().when(storeFactory.getScopeStore()).thenReturn(scopeStore);
+        lenient().when(storeFactory.getResourceStore()).thenReturn(resourceStore);
+        lenient().when(storeFactory.getPolicyStore()).thenReturn(policyStore);
+        lenient().when(resourceServer.getClientId()).thenReturn("app-id");
+        lenient().when(resourceServer.getPolicyEnforcementMode()).thenReturn(PolicyEnforcementMode.ENFORCING);
+        lenient().when(resourceServer.getDecisionStrategy()).thenReturn(DecisionStrategy.UNANIMOUS);
+        representationToModel = mockStatic(RepresentationToModel.class);
+        modelToRepresentation = mockStatic(ModelToRepresentation.class);
+        representationToModel.when(() -> RepresentationToModel.toModel(any(PolicyRepresentation.class),
+            any(AuthorizationProvider.class), any(Policy.class))).thenAnswer(i -> i.getArgument(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        representationToModel.close();
+        modelToRepresentation.close();
+    }
+
+    @Test
+    void testResourceServerIsCreatedAndItemsAreCreatedInOrderOfDependencies() {
+        representationToModel.when(() -> RepresentationToModel.createResourceServer(client, session, true))
+            .thenReturn(resourceServer);
+        Scope view = scope("view");
+        when(scopeStore.create(resourceServer, null, "view")).thenReturn(view);
+        Resource document = resource("document", "app-id");
+        when(resourceStore.create(resourceServer, null, "document", "app-id")).thenReturn(document);
+        when(policyStore.create(eq(resourceServer), any())).thenAnswer(i -> {
+            PolicyRepresentation representation = i.getArgument(1);
+            return policy(representation.getName(), representation.getType());
+        });
+
+        former.form(helper(SyncMode.FULL, settings(
+            List.of(scopeDefinition("view")),
+            List.of(resourceDefinition("document", "view")),
+            List.of(policyDefinition("document-permission", "scope", Map.of("applyPolicies", "[\"admins\"]")),
+                policyDefinition("admins", "aggregate", Map.of("applyPolicies", "[\"role\"]")),
+                policyDefinition("role", "role", Map.of())))), context);
+
+        InOrder order = inOrder(scopeStore, resourceStore, policyStore);
+        order.verify(scopeStore).create(resourceServer, null, "view");
+        order.verify(resourceStore).create(resourceServer, null, "document", "app-id");
+        order.verify(policyStore).create(eq(resourceServer), argThat(p -> p.getName().equals("role")));
+        order.verify(policyStore).create(eq(resourceServer), argThat(p -> p.getName().equals("admins")));
+        order.verify(policyStore).create(eq(resourceServer), argThat(p -> p.getName().equals("document-permission")));
+        verify(document).updateScopes(Set.of(view));
+    }
+
+    @Test
+    void testUnchangedItemsAreNotWritten() {
+        when(resourceServerStore.findByClient(client)).thenReturn(resourceServer);
+        Scope view = scope("view");
+        when(scopeStore.findByResourceServer(resourceServer)).thenReturn(List.of(view));
+        Resource document = resource("document", "app-id");
+        when(document.getScopes()).thenReturn(List.of(view));
+        when(resourceStore.findByResourceServer(resourceServer)).thenReturn(List.of(document));
+        Policy role = policy("role", "role");
+        when(role.getScopes()).thenReturn(Set.of(view));
+        when(policyStore.findByResourceServer(resourceServer)).thenReturn(List.of(role));
+        PolicyRepresentation exported = new PolicyRepresentation();
+        exported.setConfig(Map.of("roles", "[{\"id\":\"admin\",\"required\":false},{\"id\":\"user\",\"required\":true}]"));
+        modelToRepresentation.when(() -> ModelToRepresentation.toRepresentation(role, authorization, true, true))
+            .thenReturn(exported);
+
+        former.form(helper(SyncMode.FULL, settings(
+            List.of(scopeDefinition("view")),
+            List.of(resourceDefinition("document", "view")),
+            List.of(policyDefinition("role", "role", Map.of("scopes", "[\"view\"]",
+                "roles", "[ {\"id\" : \"user\", \"required\" : true}, {\"id\" : \"admin\", \"required\" : false} ]"))))),
+            context);
+
+        verify(view, never()).setDisplayName(any());
+        verify(document, never()).updateScopes(any());
+        verify(document, never()).setAttribute(anyString(), any());
+        representationToModel.verify(() -> RepresentationToModel.toModel(any(PolicyRepresentation.class),
+            any(AuthorizationProvider.class), any(Policy.class)), never());
+        verify(policyStore, never()).delete(any());
+        verify(resourceStore, never()).delete(any());
+        verify(scopeStore, never()).delete(any());
+    }
+
+    @Test
+    void testChangedPolicyIsUpdatedAndUndeclaredItemsAreRemovedInFullMode() {
+        when(resourceServerStore.findByClient(client)).thenReturn(resourceServer);
+        Scope unused = scope("unused");
+        when(scopeStore.findByResourceServer(resourceServer)).thenReturn(List.of(unused));
+        Resource undeclared = resource("undeclared", "app-id");
+        Resource ownedByUser = resource("owned", "user-id");
+        when(resourceStore.findByResourceServer(resourceServer)).thenReturn(List.of(undeclared, ownedByUser));
+        Policy role = policy("role", "role");
+        Policy permission = policy("permission", "resource");
+        when(policyStore.findByResourceServer(resourceServer)).thenReturn(List.of(role, permission));
+        PolicyRepresentation changed = policyDefinition("role", "role", Map.of());
+        changed.setLogic(Logic.NEGATIVE);
+
+        former.form(helper(SyncMode.FULL, settings(List.of(), List.of(), List.of(changed))), context);
+
+        representationToModel.verify(() -> RepresentationToModel.toModel(
+            argThat((PolicyRepresentation p) -> p != changed && p.getLogic() == Logic.NEGATIVE), eq(authorization), eq(role)));
+        verify(policyStore).delete("permission-id");
+        verify(policyStore, never()).delete("role-id");
+        verify(resourceStore).delete("undeclared-id");
+        verify(resourceStore, never()).delete("owned-id");
+        verify(scopeStore).delete("unused-id");
+    }
+
+    @Test
+    void testUndeclaredItemsAreKeptInMergeMode() {
+        when(resourceServerStore.findByClient(client)).thenReturn(resourceServer);
+        Policy role = policy("role", "role");
+        when(policyStore.findByResourceServer(resourceServer)).thenReturn(List.of(role));
+
+        former.form(helper(SyncMode.MERGE, settings(List.of(), List.of(), List.of())), context);
+
+        verify(policyStore, never()).delete(any());
+        verify(resourceServer, never()).setPolicyEnforcementMode(any());
+    }
+
+    @Test
+    void testResourceServerIsRemovedWhenAuthorizationIsDisabled() {
+        when(resourceServerStore.findByClient(client)).thenReturn(resourceServer);
+
+        former.form(new AuthorizationDefinitionHelper(SyncMode.FULL, false, null), context);
+
+        verify(resourceServerStore).delete(client);
+    }
+
+    @Test
+    void testPoliciesApplyingEachOtherAreRejected() {
+        List<PolicyRepresentation> policies = List.of(
+            policyDefinition("first", "aggregate", Map.of("applyPolicies", "[\"second\"]")),
+            policyDefinition("second", "aggregate", Map.of("applyPolicies", "[\"first\"]")));
+
+        assertThatThrownBy(() -> AuthorizationFormer.order(policies))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("first");
+    }
+
+    @Test
+    void testPermissionsFollowPolicies() {
+        List<PolicyRepresentation> ordered = AuthorizationFormer.order(List.of(
+            policyDefinition("permission", "resource", Map.of()),
+            policyDefinition("policy", "js", Map.of())));
+
+        assertThat(ordered).extracting(PolicyRepresentation::getName).containsExactly("policy", "permission");
+    }
+
+    private static AuthorizationDefinitionHelper helper(SyncMode syncMode, ResourceServerRepresentation settings) {
+        return new AuthorizationDefinitionHelper(syncMode, true, settings);
+    }
+
+    private static ResourceServerRepresentation settings(List<ScopeRepresentation> scopes,
+                                                         List<ResourceRepresentation> resources,
+                                                         List<PolicyRepresentation> policies) {
+        ResourceServerRepresentation settings = new ResourceServerRepresentation();
+        settings.setScopes(scopes);
+        settings.setResources(resources);
+        settings.setPolicies(policies);
+        return settings;
+    }
+
+    private static ScopeRepresentation scopeDefinition(String name) {
+        return new ScopeRepresentation(name);
+    }
+
+    private static ResourceRepresentation resourceDefinition(String name, String scope) {
+        ResourceRepresentation resource = new ResourceRepresentation();
+        resource.setName(name);
+        resource.setScopes(Set.of(new ScopeRepresentation(scope)));
+        return resource;
+    }
+
+    private static PolicyRepresentation policyDefinition(String name, String type, Map<String, String> config) {
+        PolicyRepresentation policy = new PolicyRepresentation();
+        policy.setName(name);
+        policy.setType(type);
+        policy.setConfig(new HashMap<>(config));
+        return policy;
+    }
+
+    private static Scope scope(String name) {
+        Scope scope = mock(Scope.class);
+        lenient().when(scope.getId()).thenReturn(name + "-id");
+        lenient().when(scope.getName()).thenReturn(name);
+        return scope;
+    }
+
+    private static Resource resource(String name, String owner) {
+        Resource resource = mock(Resource.class);
+        lenient().when(resource.getId()).thenReturn(name + "-id");
+        lenient().when(resource.getName()).thenReturn(name);
+        lenient().when(resource.getOwner()).thenReturn(owner);
+        lenient().when(resource.getAttributes()).thenReturn(Map.of());
+        return resource;
+    }
+
+    private static Policy policy(String name, String type) {
+        Policy policy = mock(Policy.class);
+        lenient().when(policy.getId()).thenReturn(name + "-id");
+        lenient().when(policy.getName()).thenReturn(name);
+        lenient().when(policy.getType()).thenReturn(type);
+        lenient().when(policy.getLogic()).thenReturn(Logic.POSITIVE);
+        lenient().when(policy.getDecisionStrategy()).thenReturn(DecisionStrategy.UNANIMOUS);
+        return policy;
+    }
+}
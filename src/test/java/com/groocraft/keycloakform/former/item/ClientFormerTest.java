@@ -48,6 +48,7 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -85,6 +86,8 @@ class ClientFormerTest {
 
         when(context.getRealm()).thenReturn(realmModel);
         when(context.getRealmDefinition()).thenReturn(realmDefinition);
+        //value required by the snapshot of the current client state
+        lenient().when(clientModel.getId()).thenReturn("a0d1ba7e-3b43-4b4b-a1c4-1a6aeb53a9b9");
     }
 
     @Test
@@ -40,6 +40,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.io.IOException;
 import java.net.URL;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -134,4 +135,33 @@ class ClientScopeFormerTest {
         verify(clientScopeModel).setDescription("OpenID Connect built-in scope: email");
     }
 
-}
\ No newline at end of file
+    @Test
+    void testFormerSkipsBulkUpdateOfMatchingClientScope() {
+        when(context.getRealm()).thenReturn(realmModel);
+        when(realmModel.getClientScopesStream()).thenReturn(Stream.of(clientScopeModel));
+        when(clientScopeModel.getName()).thenReturn("email");
+        when(clientScopeModel.getDescription()).thenReturn("OpenID Connect built-in scope: email");
+        when(clientScopeModel.getProtocol()).thenReturn("openid-connect");
+        when(clientScopeModel.getAttributes()).thenReturn(Map.of("include.in.token.scope", "true",
+            "consent.screen.text", "${emailScopeConsentText}", "display.on.consent.screen", "true", "gui.order", ""));
+
+        former.form(definition, context);
+
+        verify(clientScopeModel, Mockito.never()).setDescription(any());
+        verify(clientScopeModel, Mockito.never()).setAttribute(any(), any());
+    }
+
+    @Test
+    void testFormerPopulatesCreatedClientScopeWithoutComparison() {
+        when(context.getRealm()).thenReturn(realmModel);
+        when(realmModel.getClientScopesStream()).thenReturn(Stream.of());
+        when(realmModel.addClientScope(any(), any())).thenReturn(clientScopeModel);
+
+        former.form(definition, context);
+
+        verify(clientScopeModel).setDescription("OpenID Connect built-in scope: email");
+        verify(clientScopeModel, Mockito.never()).getDescription();
+        verify(clientScopeModel, Mockito.never()).getAttributes();
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.former.item;
+
+import com.groocraft.keycloakform.definition.ComponentDefinition;
+import com.groocraft.keycloakform.former.FormerContext;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.common.util.MultivaluedHashMap;
+import org.keycloak.component.ComponentModel;
+import org.keycloak.models.KeycloakSession;
+import org.keycloak.models.RealmModel;
+import org.keycloak.models.utils.ComponentUtil;
+import org.keycloak.provider.ProviderConfigProperty;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ComponentFormerTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS) KeycloakSession session;
+    @Mock RealmModel realm;
+
+    ComponentFormer former = new ComponentFormer();
+    FormerContext context;
+    ComponentModel model;
+
+    @BeforeEach
+    void setUp() {
+        when(session.getContext().getRealm()).thenReturn(realm);
+        context = new FormerContext(session);
+        model = new ComponentModel();
+        model.setId("component-id");
+        model.setName("rsa-generated");
+        model.setProviderId("rsa-generated");
+        model.setProviderType("org.keycloak.keys.KeyProvider");
+        model.setConfig(config("2048"));
+        when(realm.getComponent("component-id")).thenReturn(model);
+    }
+
+    @Test
+    void testUnchangedComponentIsNotWrittenBack() {
+        try (MockedStatic<ComponentUtil> cu = mockStatic(ComponentUtil.class)) {
+            cu.when(() -> ComponentUtil.getComponentConfigProperties(any(KeycloakSession.class), any(ComponentModel.class)))
+                .thenReturn(Map.of("keySize", new ProviderConfigProperty()));
+
+            former.form(definition("2048"), context);
+        }
+
+        verify(realm, never()).updateComponent(any());
+    }
+
+    @Test
+    void testChangedConfigIsWrittenBack() {
+        try (MockedStatic<ComponentUtil> cu = mockStatic(ComponentUtil.class)) {
+            cu.when(() -> ComponentUtil.getComponentConfigProperties(any(KeycloakSession.class), any(ComponentModel.class)))
+                .thenReturn(Map.of("keySize", new ProviderConfigProperty()));
+
+            former.form(definition("4096"), context);
+        }
+
+        verify(realm).updateComponent(any());
+        assertThat(model.getConfig().getFirst("keySize")).isEqualTo("4096");
+    }
+
+    private static ComponentDefinition definition(String keySize) {
+        ComponentDefinition definition = new ComponentDefinition();
+        definition.setId("component-id");
+        definition.setName("rsa-generated");
+        definition.setProviderId("rsa-generated");
+        definition.setProviderType("org.keycloak.keys.KeyProvider");
+        definition.setConfig(config(keySize));
+        return definition;
+    }
+
+    private static MultivaluedHashMap<String, String> config(String keySize) {
+        MultivaluedHashMap<String, String> config = new MultivaluedHashMap<>();
+        config.putSingle("keySize", keySize);
+        return config;
+    }
+
+}
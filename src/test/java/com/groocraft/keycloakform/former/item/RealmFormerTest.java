@@ -24,6 +24,7 @@ import com.groocraft.keycloakform.definition.ComponentDefinition;
 import com.groocraft.keycloakform.definition.GroupDefinition;
 import com.groocraft.keycloakform.definition.IdentityProviderDefinition;
 import com.groocraft.keycloakform.definition.IdentityProviderMapperDefinition;
+import com.groocraft.keycloakform.definition.OrganizationDefinition;
 import com.groocraft.keycloakform.definition.RealmDefinition;
 import com.groocraft.keycloakform.definition.RequiredActionDefinition;
 import com.groocraft.keycloakform.definition.RoleDefinition;
@@ -40,23 +41,30 @@ import com.groocraft.keycloakform.former.collection.ComponentsFormer;
 import com.groocraft.keycloakform.former.collection.GroupsFormer;
 import com.groocraft.keycloakform.former.collection.IdentityProviderMappersFormer;
 import com.groocraft.keycloakform.former.collection.IdentityProvidersFormer;
+import com.groocraft.keycloakform.former.collection.OrganizationsFormer;
 import com.groocraft.keycloakform.former.collection.RequiredActionsFormer;
 import com.groocraft.keycloakform.former.collection.RolesFormer;
 import com.groocraft.keycloakform.utils.TestFormersFactory;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.keycloak.models.CibaConfig;
 import org.keycloak.models.ClientModel;
+import org.keycloak.models.KeycloakSession;
 import org.keycloak.models.OAuth2DeviceConfig;
 import org.keycloak.models.ParConfig;
 import org.keycloak.models.RealmModel;
+import org.keycloak.models.utils.ModelToRepresentation;
+import org.keycloak.representations.idm.ClientRepresentation;
+import org.keycloak.representations.idm.RealmRepresentation;
 import org.keycloak.services.managers.RealmManager;
 import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedConstruction;
+import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
@@ -66,8 +74,11 @@ import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.mockConstruction;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -93,6 +104,7 @@ class RealmFormerTest {
     @Mock IdentityProvidersFormer identityProvidersFormer;
     @Mock GroupsFormer groupsFormer;
     @Mock IdentityProviderMappersFormer identityProviderMappersFormer;
+    @Mock OrganizationsFormer organizationsFormer;
     @Mock OAuth2DeviceConfig oAuth2DeviceConfig;
     @Mock CibaConfig cibaConfig;
     @Mock ParConfig parConfig;
@@ -100,6 +112,7 @@ class RealmFormerTest {
     RealmFormer former;
     RealmDefinition testDefinition;
     RealmDefinition masterDefinition;
+    MockedStatic<ModelToRepresentation> modelToRepresentationMock;
 
     @BeforeEach
     void setUp() throws IOException {
@@ -115,7 +128,12 @@ class RealmFormerTest {
         formersFactory.registerCollectionMock(IdentityProviderDefinition.class, identityProvidersFormer);
         formersFactory.registerCollectionMock(IdentityProviderMapperDefinition.class, identityProviderMappersFormer);
         formersFactory.registerCollectionMock(GroupDefinition.class, groupsFormer);
+        formersFactory.registerCollectionMock(OrganizationDefinition.class, organizationsFormer);
         former = new RealmFormer(formersFactory);
+        //the snapshot of the current realm state needs the whole Keycloak runtime, empty realm is used instead
+        modelToRepresentationMock = mockStatic(ModelToRepresentation.class, Answers.CALLS_REAL_METHODS);
+        modelToRepresentationMock.when(() -> ModelToRepresentation.toRepresentation(any(KeycloakSession.class), any(RealmModel.class),
+            anyBoolean())).thenAnswer(i -> new RealmRepresentation());
         URL definitionUrl = getClass().getClassLoader().getResource("realms.json");
         List<RealmDefinition> definitions = Deserialization.getRealmsFromStream(definitionUrl.openStream());
         testDefinition = definitions
@@ -124,6 +142,11 @@ class RealmFormerTest {
             .stream().filter(rd -> rd.getRealm().equals("master")).findFirst().orElseThrow();
     }
 
+    @AfterEach
+    void tearDown() {
+        modelToRepresentationMock.close();
+    }
+
     @Test
     void testSubFormersAreCalledPassingProperValues() {
         when(context.getSession().realms().getRealmByName(anyString())).thenReturn(realmModel);
@@ -213,4 +236,26 @@ class RealmFormerTest {
         verify(realmModel).setAccessTokenLifespan(300);
     }
 
-}
\ No newline at end of file
+    @Test
+    void testFormerImportsMissingRealmWhenNativeImport() {
+        when(context.getConfig().isNativeImport()).thenReturn(true);
+        when(context.getSession().realms().getRealmByName("test")).thenReturn(null);
+        when(realmModel.getName()).thenReturn("test");
+        ArgumentCaptor<RealmRepresentation> representationCaptor = ArgumentCaptor.forClass(RealmRepresentation.class);
+
+        try (MockedConstruction<RealmManager> mrm = mockConstruction(RealmManager.class,
+            (m, c) -> when(m.importRealm(representationCaptor.capture())).thenReturn(realmModel))) {
+            former.form(testDefinition, context);
+            assertThat(mrm.constructed()).hasSize(1);
+        }
+
+        RealmRepresentation representation = representationCaptor.getValue();
+        assertThat(representation).isNotInstanceOf(RealmDefinition.class);
+        assertThat(representation.getRealm()).isEqualTo("test");
+        assertThat(representation.getClients()).extracting(ClientRepresentation::getClientId).doesNotContain("test");
+        assertThat(representation.getIdentityProviders().get(0).getConfig()).containsEntry("syncMode", "LEGACY");
+        verify(clientsFormer, never()).form(any(), any(), any());
+        verify(context.getSession().realms(), never()).createRealm(any(), any());
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.former.item;
+
+import com.groocraft.keycloakform.config.ResourceFilter;
+import com.groocraft.keycloakform.definition.RealmDefinition;
+import com.groocraft.keycloakform.definition.RoleDefinition;
+import com.groocraft.keycloakform.definition.RolesDefinition;
+import com.groocraft.keycloakform.former.FormerContext;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.models.ClientModel;
+import org.keycloak.models.KeycloakSession;
+import org.keycloak.models.RealmModel;
+import org.keycloak.models.RoleModel;
+import org.keycloak.representations.idm.RoleRepresentation;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoleCompositesFormerTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS) KeycloakSession session;
+    @Mock RealmModel realm;
+    @Mock ClientModel billing;
+    @Mock RoleModel billingAdmin;
+    @Mock RoleModel user;
+    @Mock RoleModel stale;
+
+    RoleCompositesFormer former = new RoleCompositesFormer();
+    FormerContext context;
+
+    @BeforeEach
+    void setUp() {
+        when(session.getContext().getRealm()).thenReturn(realm);
+        context = new FormerContext(session);
+        context.setRealmDefinition(new RealmDefinition());
+    }
+
+    @Test
+    void testCompositesOfRolesOfClientsOutOfFilterAreNotTouched() {
+        context.setFilter(ResourceFilter.parse("client=billing-*", null));
+        when(realm.getClientByClientId("billing-1")).thenReturn(billing);
+        when(billing.getRole("billing-admin")).thenReturn(billingAdmin);
+        when(realm.getRole("user")).thenReturn(user);
+        when(user.getName()).thenReturn("user");
+        when(stale.getName()).thenReturn("stale");
+        when(billingAdmin.getCompositesStream()).thenAnswer(i -> Stream.of(user, stale));
+        when(billingAdmin.hasRole(user)).thenReturn(true);
+        Map<String, List<RoleRepresentation>> clientRoles = new LinkedHashMap<>();
+        clientRoles.put("app", List.of(role("app-admin", "user")));
+        clientRoles.put("billing-1", List.of(role("billing-admin", "user")));
+        RolesDefinition definition = new RolesDefinition();
+        definition.setRealm(List.of());
+        definition.setClient(clientRoles);
+
+        former.form(definition, context);
+
+        verify(billingAdmin).removeCompositeRole(stale);
+        verify(billingAdmin, never()).removeCompositeRole(user);
+        verify(billingAdmin, never()).addCompositeRole(any());
+        verify(realm, never()).getClientByClientId("app");
+    }
+
+    private static RoleDefinition role(String name, String realmComposite) {
+        RoleDefinition role = new RoleDefinition();
+        role.setName(name);
+        RoleRepresentation.Composites composites = new RoleRepresentation.Composites();
+        composites.setRealm(Set.of(realmComposite));
+        role.setComposites(composites);
+        return role;
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.former.item;
+
+import com.groocraft.keycloakform.config.ResourceFilter;
+import com.groocraft.keycloakform.definition.ScopeDefinitionHelper;
+import com.groocraft.keycloakform.former.FormerContext;
+import com.groocraft.keycloakform.former.SyncMode;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.models.ClientModel;
+import org.keycloak.models.ClientScopeModel;
+import org.keycloak.models.KeycloakSession;
+import org.keycloak.models.RealmModel;
+import org.keycloak.models.RoleModel;
+import org.keycloak.representations.idm.ScopeMappingRepresentation;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScopeMappingsFormerTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS) KeycloakSession session;
+    @Mock RealmModel realm;
+    @Mock ClientModel client;
+    @Mock ClientScopeModel clientScope;
+
+    ScopeMappingsFormer former = new ScopeMappingsFormer();
+    FormerContext context;
+    RoleModel admin;
+    RoleModel user;
+    RoleModel foreign;
+
+    @BeforeEach
+    void setUp() {
+        when(session.getContext().getRealm()).thenReturn(realm);
+        context = new FormerContext(session);
+        lenient().when(realm.getId()).thenReturn("realm-id");
+        admin = role("admin", "realm-id");
+        user = role("user", "realm-id");
+        foreign = role("foreign", "client-id");
+        lenient().when(realm.getRolesStream()).thenAnswer(i -> Stream.of(admin, user));
+        lenient().when(realm.getClientScopesStream()).thenAnswer(i -> Stream.of(clientScope));
+        lenient().when(clientScope.getName()).thenReturn("scope");
+    }
+
+    @Test
+    void testOnlyMissingMappingsAreAddedAndUndeclaredRemovedInFullMode() {
+        when(realm.getClientByClientId("app")).thenReturn(client);
+        when(client.getScopeMappingsStream()).thenReturn(Stream.of(user, foreign));
+
+        former.form(helper(SyncMode.FULL, List.of(mapping("app", null, "admin"))), context);
+
+        verify(client).addScopeMapping(admin);
+        verify(client).deleteScopeMapping(user);
+        verify(client, never()).deleteScopeMapping(foreign);
+        verify(realm, never()).addRole(any());
+    }
+
+    @Test
+    void testMappingsOfSameContainerAreMergedAndReadOnce() {
+        when(realm.getClientByClientId("app")).thenReturn(client);
+        when(client.getScopeMappingsStream()).thenReturn(Stream.of(user));
+
+        former.form(helper(SyncMode.FULL, List.of(mapping("app", null, "user"), mapping("app", null, "admin"))), context);
+
+        verify(realm, times(1)).getClientByClientId("app");
+        verify(client, times(1)).getScopeMappingsStream();
+        verify(client).addScopeMapping(admin);
+        verify(client, never()).deleteScopeMapping(any());
+    }
+
+    @Test
+    void testMissingRoleIsCreatedAndMappingIsKeptInMergeMode() {
+        RoleModel created = role("new", "realm-id");
+        when(realm.addRole("new")).thenReturn(created);
+        when(clientScope.getScopeMappingsStream()).thenReturn(Stream.of(user));
+
+        former.form(helper(SyncMode.MERGE, List.of(mapping(null, "scope", "new"))), context);
+
+        verify(clientScope).addScopeMapping(created);
+        verify(clientScope, never()).deleteScopeMapping(any());
+    }
+
+    @Test
+    void testClientRolesAreResolvedInClientRoleTable() {
+        ClientModel roleClient = mock(ClientModel.class);
+        when(roleClient.getId()).thenReturn("client-id");
+        when(roleClient.getRolesStream()).thenReturn(Stream.of(foreign));
+        when(realm.getClientByClientId("roles")).thenReturn(roleClient);
+        when(clientScope.getScopeMappingsStream()).thenReturn(Stream.of(user));
+
+        former.form(new ScopeDefinitionHelper(SyncMode.FULL, null,
+            Map.of("roles", List.of(mapping(null, "scope", "foreign")))), context);
+
+        verify(clientScope).addScopeMapping(foreign);
+        verify(clientScope, never()).deleteScopeMapping(user);
+    }
+
+    @Test
+    void testMappingsOfClientsOutOfFilterAreNotTouched() {
+        context.setFilter(ResourceFilter.parse("client=billing-*", null));
+        when(realm.getClientByClientId("billing-1")).thenReturn(client);
+        when(client.getScopeMappingsStream()).thenReturn(Stream.of(user));
+
+        former.form(new ScopeDefinitionHelper(SyncMode.FULL,
+            List.of(mapping("app", null, "admin"), mapping("billing-1", null, "admin")),
+            Map.of("roles", List.of(mapping(null, "scope", "foreign")))), context);
+
+        verify(client).addScopeMapping(admin);
+        verify(client).deleteScopeMapping(user);
+        verify(realm, never()).getClientByClientId("app");
+        verify(realm, never()).getClientByClientId("roles");
+        verify(clientScope, never()).addScopeMapping(any());
+    }
+
+    @Test
+    void testIgnoredMappingsAreNotTouched() {
+        former.form(helper(SyncMode.IGNORE, List.of(mapping("app", null, "admin"))), context);
+
+        verify(realm, never()).getClientByClientId(any());
+    }
+
+    private static ScopeDefinitionHelper helper(SyncMode syncMode, List<ScopeMappingRepresentation> mappings) {
+        return new ScopeDefinitionHelper(syncMode, mappings, null);
+    }
+
+    private static ScopeMappingRepresentation mapping(String client, String clientScope, String role) {
+        ScopeMappingRepresentation mapping = new ScopeMappingRepresentation();
+        mapping.setClient(client);
+        mapping.setClientScope(clientScope);
+        mapping.setRoles(Set.of(role));
+        return mapping;
+    }
+
+    private static RoleModel role(String name, String containerId) {
+        RoleModel role = mock(RoleModel.class);
+        lenient().when(role.getName()).thenReturn(name);
+        lenient().when(role.getId()).thenReturn(name + "-id");
+        lenient().when(role.getContainerId()).thenReturn(containerId);
+        return role;
+    }
+
+}
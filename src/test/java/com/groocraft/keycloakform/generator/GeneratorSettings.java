@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.generator;
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Sizes of the definition generated by {@link SyntheticRealmGenerator}. Counts are per parent, e.g. clients are
+ * generated for every realm, protocol mappers for every client.
+ *
+ * @author Majlanky
+ */
+@Builder
+@Getter
+public class GeneratorSettings {
+
+    @Builder.Default
+    private long seed = 0;
+    @Builder.Default
+    private int realms = 1;
+    @Builder.Default
+    private int clients = 10;
+    @Builder.Default
+    private int clientProtocolMappers = 2;
+    @Builder.Default
+    private int clientRoles = 5;
+    @Builder.Default
+    private int clientScopes = 5;
+    @Builder.Default
+    private int clientScopeProtocolMappers = 2;
+    @Builder.Default
+    private int realmRoles = 10;
+    @Builder.Default
+    private int compositeDepth = 2;
+    @Builder.Default
+    private int groups = 5;
+    @Builder.Default
+    private int subGroups = 2;
+    @Builder.Default
+    private int groupDepth = 2;
+    @Builder.Default
+    private int flows = 2;
+    @Builder.Default
+    private int flowExecutions = 3;
+    @Builder.Default
+    private int identityProviders = 2;
+    @Builder.Default
+    private int identityProviderMappers = 2;
+
+    private static final Map<String, BiConsumer<GeneratorSettingsBuilder, String>> OPTIONS = Map.ofEntries(
+        Map.entry("seed", (b, v) -> b.seed(Long.parseLong(v))),
+        Map.entry("realms", (b, v) -> b.realms(Integer.parseInt(v))),
+        Map.entry("clients", (b, v) -> b.clients(Integer.parseInt(v))),
+        Map.entry("clientProtocolMappers", (b, v) -> b.clientProtocolMappers(Integer.parseInt(v))),
+        Map.entry("clientRoles", (b, v) -> b.clientRoles(Integer.parseInt(v))),
+        Map.entry("clientScopes", (b, v) -> b.clientScopes(Integer.parseInt(v))),
+        Map.entry("clientScopeProtocolMappers", (b, v) -> b.clientScopeProtocolMappers(Integer.parseInt(v))),
+        Map.entry("realmRoles", (b, v) -> b.realmRoles(Integer.parseInt(v))),
+        Map.entry("compositeDepth", (b, v) -> b.compositeDepth(Integer.parseInt(v))),
+        Map.entry("groups", (b, v) -> b.groups(Integer.parseInt(v))),
+        Map.entry("subGroups", (b, v) -> b.subGroups(Integer.parseInt(v))),
+        Map.entry("groupDepth", (b, v) -> b.groupDepth(Integer.parseInt(v))),
+        Map.entry("flows", (b, v) -> b.flows(Integer.parseInt(v))),
+        Map.entry("flowExecutions", (b, v) -> b.flowExecutions(Integer.parseInt(v))),
+        Map.entry("identityProviders", (b, v) -> b.identityProviders(Integer.parseInt(v))),
+        Map.entry("identityProviderMappers", (b, v) -> b.identityProviderMappers(Integer.parseInt(v))));
+
+    /**
+     * Applies an option in the form name=value to the builder.
+     *
+     * @param builder builder the option is applied to
+     * @param option  option in the form name=value, name is a name of a settings property
+     */
+    public static void apply(GeneratorSettingsBuilder builder, String option) {
+        String[] nameAndValue = option.split("=", 2);
+        BiConsumer<GeneratorSettingsBuilder, String> setter = OPTIONS.get(nameAndValue[0]);
+        if (setter == null || nameAndValue.length != 2) {
+            throw new IllegalArgumentException("Unknown generator option " + option + ", possible options are " + OPTIONS.keySet());
+        }
+        setter.accept(builder, nameAndValue[1]);
+    }
+
+}
@@ -0,0 +1,356 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.generator;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import org.keycloak.util.JsonSerialization;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Generator of large synthetic realm definitions for load and soak testing of the formers. The definition is written
+ * by a streaming {@link JsonGenerator}, so the memory consumption does not depend on the size of the output. The
+ * generation is driven by a seeded random, the same settings always produce the same definition.
+ * Usage (from the project root):
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.groocraft.keycloakform.generator.SyntheticRealmGenerator \
+ *   -Dexec.args="target/large-realms.json seed=42 realms=5 clients=2000"
+ * </pre>
+ *
+ * @author Majlanky
+ */
+public class SyntheticRealmGenerator {
+
+    private static final String OIDC = "openid-connect";
+    private static final List<String> AUTHENTICATORS = List.of("auth-cookie", "auth-spnego", "identity-provider-redirector",
+        "auth-username-password-form", "auth-otp-form", "conditional-user-configured");
+    private static final List<String> REQUIREMENTS = List.of("ALTERNATIVE", "REQUIRED", "DISABLED", "CONDITIONAL");
+
+    private final GeneratorSettings settings;
+    private final Random random;
+
+    public SyntheticRealmGenerator(GeneratorSettings settings) {
+        this.settings = settings;
+        this.random = new Random(settings.getSeed());
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Output file must be provided as the first argument");
+        }
+        GeneratorSettings.GeneratorSettingsBuilder builder = GeneratorSettings.builder();
+        Arrays.stream(args).skip(1).forEach(option -> GeneratorSettings.apply(builder, option));
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(Path.of(args[0])))) {
+            new SyntheticRealmGenerator(builder.build()).write(output);
+        }
+    }
+
+    /**
+     * Writes the definition, an array of realms, to the given stream. The stream is not closed.
+     *
+     * @param output stream the definition is written to
+     * @throws IOException when writing fails
+     */
+    public void write(OutputStream output) throws IOException {
+        try (JsonGenerator generator = JsonSerialization.mapper.getFactory().createGenerator(output, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            for (int realm = 0; realm < settings.getRealms(); realm++) {
+                writeRealm(generator, "realm-" + realm);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private void writeRealm(JsonGenerator generator, String realm) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", uuid());
+        generator.writeStringField("realm", realm);
+        generator.writeStringField("displayName", "Synthetic " + realm);
+        generator.writeBooleanField("enabled", true);
+        generator.writeNumberField("accessTokenLifespan", 60 + random.nextInt(600));
+        generator.writeStringField("sslRequired", "external");
+
+        generator.writeObjectFieldStart("roles");
+        generator.writeArrayFieldStart("realm");
+        writeRoles(generator, "role", settings.getRealmRoles(), null);
+        generator.writeEndArray();
+        generator.writeObjectFieldStart("client");
+        for (int client = 0; client < settings.getClients(); client++) {
+            String clientId = clientId(client);
+            generator.writeArrayFieldStart(clientId);
+            writeRoles(generator, clientId + "-role", settings.getClientRoles(), clientId);
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+
+        generator.writeArrayFieldStart("groups");
+        for (int group = 0; group < settings.getGroups(); group++) {
+            writeGroup(generator, "group-" + group, "", 1);
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("clientScopes");
+        for (int scope = 0; scope < settings.getClientScopes(); scope++) {
+            writeClientScope(generator, scope);
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("clients");
+        for (int client = 0; client < settings.getClients(); client++) {
+            writeClient(generator, client);
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("identityProviders");
+        for (int idp = 0; idp < settings.getIdentityProviders(); idp++) {
+            writeIdentityProvider(generator, idp);
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("identityProviderMappers");
+        for (int idp = 0; idp < settings.getIdentityProviders(); idp++) {
+            for (int mapper = 0; mapper < settings.getIdentityProviderMappers(); mapper++) {
+                writeIdentityProviderMapper(generator, idp, mapper);
+            }
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("authenticationFlows");
+        for (int flow = 0; flow < settings.getFlows(); flow++) {
+            writeFlow(generator, flow);
+        }
+        generator.writeEndArray();
+
+        generator.writeEndObject();
+    }
+
+    /**
+     * Roles are chained by composites, every role is composed of the following one unless the chain reached the
+     * composite depth.
+     */
+    private void writeRoles(JsonGenerator generator, String prefix, int count, String clientId) throws IOException {
+        for (int role = 0; role < count; role++) {
+            boolean composite = settings.getCompositeDepth() > 0 && role + 1 < count
+                && role % (settings.getCompositeDepth() + 1) != settings.getCompositeDepth();
+            generator.writeStartObject();
+            generator.writeStringField("id", uuid());
+            generator.writeStringField("name", prefix + "-" + role);
+            generator.writeStringField("description", "Synthetic role " + role);
+            generator.writeBooleanField("composite", composite);
+            if (composite) {
+                generator.writeObjectFieldStart("composites");
+                if (clientId == null) {
+                    generator.writeArrayFieldStart("realm");
+                    generator.writeString(prefix + "-" + (role + 1));
+                    generator.writeEndArray();
+                } else {
+                    generator.writeObjectFieldStart("client");
+                    generator.writeArrayFieldStart(clientId);
+                    generator.writeString(prefix + "-" + (role + 1));
+                    generator.writeEndArray();
+                    generator.writeEndObject();
+                }
+                generator.writeEndObject();
+            }
+            generator.writeBooleanField("clientRole", clientId != null);
+            writeAttributes(generator);
+            generator.writeEndObject();
+        }
+    }
+
+    private void writeGroup(JsonGenerator generator, String name, String parentPath, int depth) throws IOException {
+        String path = parentPath + "/" + name;
+        generator.writeStartObject();
+        generator.writeStringField("id", uuid());
+        generator.writeStringField("name", name);
+        generator.writeStringField("path", path);
+        writeAttributes(generator);
+        generator.writeArrayFieldStart("realmRoles");
+        if (settings.getRealmRoles() > 0) {
+            generator.writeString("role-" + random.nextInt(settings.getRealmRoles()));
+        }
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("subGroups");
+        if (depth < settings.getGroupDepth()) {
+            for (int subGroup = 0; subGroup < settings.getSubGroups(); subGroup++) {
+                writeGroup(generator, name + "-" + subGroup, path, depth + 1);
+            }
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private void writeClientScope(JsonGenerator generator, int scope) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", uuid());
+        generator.writeStringField("name", "scope-" + scope);
+        generator.writeStringField("description", "Synthetic client scope " + scope);
+        generator.writeStringField("protocol", OIDC);
+        generator.writeObjectFieldStart("attributes");
+        generator.writeStringField("include.in.token.scope", "true");
+        generator.writeStringField("display.on.consent.screen", Boolean.toString(random.nextBoolean()));
+        generator.writeEndObject();
+        writeProtocolMappers(generator, settings.getClientScopeProtocolMappers());
+        generator.writeEndObject();
+    }
+
+    private void writeClient(JsonGenerator generator, int client) throws IOException {
+        String clientId = clientId(client);
+        generator.writeStartObject();
+        generator.writeStringField("id", uuid());
+        generator.writeStringField("clientId", clientId);
+        generator.writeStringField("name", "Synthetic client " + client);
+        generator.writeBooleanField("enabled", true);
+        generator.writeStringField("protocol", OIDC);
+        generator.writeStringField("clientAuthenticatorType", "client-secret");
+        generator.writeStringField("secret", uuid());
+        generator.writeBooleanField("publicClient", false);
+        generator.writeBooleanField("standardFlowEnabled", true);
+        generator.writeBooleanField("serviceAccountsEnabled", false);
+        generator.writeBooleanField("fullScopeAllowed", false);
+        generator.writeStringField("rootUrl", "https://" + clientId + ".example.com");
+        generator.writeArrayFieldStart("redirectUris");
+        generator.writeString("https://" + clientId + ".example.com/*");
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("webOrigins");
+        generator.writeString("+");
+        generator.writeEndArray();
+        generator.writeObjectFieldStart("attributes");
+        generator.writeStringField("post.logout.redirect.uris", "+");
+        generator.writeStringField("pkce.code.challenge.method", "S256");
+        generator.writeEndObject();
+        writeProtocolMappers(generator, settings.getClientProtocolMappers());
+        generator.writeArrayFieldStart("defaultClientScopes");
+        if (settings.getClientScopes() > 0) {
+            generator.writeString("scope-" + random.nextInt(settings.getClientScopes()));
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private void writeProtocolMappers(JsonGenerator generator, int count) throws IOException {
+        generator.writeArrayFieldStart("protocolMappers");
+        for (int mapper = 0; mapper < count; mapper++) {
+            generator.writeStartObject();
+            generator.writeStringField("id", uuid());
+            generator.writeStringField("name", "mapper-" + mapper);
+            generator.writeStringField("protocol", OIDC);
+            generator.writeStringField("protocolMapper", "oidc-hardcoded-claim-mapper");
+            generator.writeBooleanField("consentRequired", false);
+            generator.writeObjectFieldStart("config");
+            generator.writeStringField("claim.name", "claim_" + mapper);
+            generator.writeStringField("claim.value", Long.toHexString(random.nextLong()));
+            generator.writeStringField("jsonType.label", "String");
+            generator.writeStringField("access.token.claim", "true");
+            generator.writeStringField("id.token.claim", Boolean.toString(random.nextBoolean()));
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeIdentityProvider(JsonGenerator generator, int idp) throws IOException {
+        String alias = "idp-" + idp;
+        generator.writeStartObject();
+        generator.writeStringField("alias", alias);
+        generator.writeStringField("displayName", "Synthetic IdP " + idp);
+        generator.writeStringField("internalId", uuid());
+        generator.writeStringField("providerId", "oidc");
+        generator.writeBooleanField("enabled", true);
+        generator.writeBooleanField("trustEmail", random.nextBoolean());
+        generator.writeObjectFieldStart("config");
+        generator.writeStringField("clientId", alias);
+        generator.writeStringField("clientSecret", uuid());
+        generator.writeStringField("clientAuthMethod", "client_secret_post");
+        generator.writeStringField("authorizationUrl", "https://" + alias + ".example.com/auth");
+        generator.writeStringField("tokenUrl", "https://" + alias + ".example.com/token");
+        generator.writeStringField("syncMode", "LEGACY");
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private void writeIdentityProviderMapper(JsonGenerator generator, int idp, int mapper) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", uuid());
+        generator.writeStringField("name", "idp-" + idp + "-mapper-" + mapper);
+        generator.writeStringField("identityProviderAlias", "idp-" + idp);
+        generator.writeStringField("identityProviderMapper", "hardcoded-attribute-idp-mapper");
+        generator.writeObjectFieldStart("config");
+        generator.writeStringField("syncMode", "INHERIT");
+        generator.writeStringField("attribute", "attribute_" + mapper);
+        generator.writeStringField("attribute.value", Long.toHexString(random.nextLong()));
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private void writeFlow(JsonGenerator generator, int flow) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", uuid());
+        generator.writeStringField("alias", "flow-" + flow);
+        generator.writeStringField("description", "Synthetic flow " + flow);
+        generator.writeStringField("providerId", "basic-flow");
+        generator.writeBooleanField("topLevel", true);
+        generator.writeBooleanField("builtIn", false);
+        generator.writeArrayFieldStart("authenticationExecutions");
+        for (int execution = 0; execution < settings.getFlowExecutions(); execution++) {
+            generator.writeStartObject();
+            generator.writeStringField("authenticator", AUTHENTICATORS.get(random.nextInt(AUTHENTICATORS.size())));
+            generator.writeBooleanField("authenticatorFlow", false);
+            generator.writeStringField("requirement", REQUIREMENTS.get(random.nextInt(REQUIREMENTS.size())));
+            generator.writeNumberField("priority", (execution + 1) * 10);
+            generator.writeBooleanField("userSetupAllowed", false);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private void writeAttributes(JsonGenerator generator) throws IOException {
+        generator.writeObjectFieldStart("attributes");
+        generator.writeArrayFieldStart("synthetic");
+        generator.writeString(Long.toHexString(random.nextLong()));
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private String clientId(int client) {
+        return "client-" + client;
+    }
+
+    /**
+     * @return random-based (version 4) UUID taken from the seeded random
+     */
+    private String uuid() {
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least).toString();
+    }
+
+}
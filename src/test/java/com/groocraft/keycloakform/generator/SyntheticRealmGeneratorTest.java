@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.generator;
+
+import com.groocraft.keycloakform.definition.RealmDefinition;
+import com.groocraft.keycloakform.definition.deserialization.Deserialization;
+
+import org.junit.jupiter.api.Test;
+import org.keycloak.representations.idm.GroupRepresentation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class SyntheticRealmGeneratorTest {
+
+    @Test
+    void testGeneratedDefinitionIsDeserializableWithConfiguredCounts() throws IOException {
+        GeneratorSettings settings = GeneratorSettings.builder()
+            .realms(2).clients(3).clientProtocolMappers(2).clientRoles(4).clientScopes(2).realmRoles(6).compositeDepth(2)
+            .groups(2).subGroups(3).groupDepth(3).flows(2).flowExecutions(4).identityProviders(2).identityProviderMappers(3)
+            .build();
+
+        List<RealmDefinition> realms = Deserialization.getRealmsFromStream(new ByteArrayInputStream(generate(settings)));
+
+        assertThat(realms).hasSize(2).map(RealmDefinition::getRealm).containsExactly("realm-0", "realm-1");
+        RealmDefinition realm = realms.get(0);
+        assertThat(realm.getClients()).hasSize(3)
+            .allSatisfy(c -> assertThat(c.getProtocolMappers()).hasSize(2));
+        assertThat(realm.getClientScopes()).hasSize(2);
+        assertThat(realm.getRoles().getRealm()).hasSize(6);
+        assertThat(realm.getRoles().getRealm().get(0).getComposites().getRealm()).containsExactly("role-1");
+        assertThat(realm.getRoles().getRealm().get(2).isComposite()).isFalse();
+        assertThat(realm.getRoles().getClient()).hasSize(3).allSatisfy((c, roles) -> assertThat(roles).hasSize(4));
+        assertThat(realm.getGroups()).hasSize(2);
+        GroupRepresentation deepest = realm.getGroups().get(0).getSubGroups().get(0).getSubGroups().get(0);
+        assertThat(deepest.getPath()).isEqualTo("/group-0/group-0-0/group-0-0-0");
+        assertThat(deepest.getSubGroups()).isEmpty();
+        assertThat(realm.getAuthenticationFlows()).hasSize(2)
+            .allSatisfy(f -> assertThat(f.getAuthenticationExecutions()).hasSize(4));
+        assertThat(realm.getIdentityProviders()).hasSize(2);
+        assertThat(realm.getIdentityProviderMappers()).hasSize(6);
+    }
+
+    @Test
+    void testGenerationIsReproducibleBySeed() throws IOException {
+        assertThat(generate(GeneratorSettings.builder().seed(42).build()))
+            .isEqualTo(generate(GeneratorSettings.builder().seed(42).build()))
+            .isNotEqualTo(generate(GeneratorSettings.builder().seed(43).build()));
+    }
+
+    @Test
+    void testUnknownOptionIsRejected() {
+        GeneratorSettings.GeneratorSettingsBuilder builder = GeneratorSettings.builder();
+        GeneratorSettings.apply(builder, "clients=7");
+
+        assertThat(builder.build().getClients()).isEqualTo(7);
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> GeneratorSettings.apply(builder, "users=7"));
+    }
+
+    private byte[] generate(GeneratorSettings settings) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new SyntheticRealmGenerator(settings).write(output);
+        return output.toByteArray();
+    }
+
+}
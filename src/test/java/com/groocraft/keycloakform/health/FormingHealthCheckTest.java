@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.groocraft.keycloakform.health;
+
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FormingHealthCheckTest {
+
+    FormingStatus status = FormingStatus.getInstance();
+    FormingHealthCheck check = new FormingHealthCheck();
+
+    @AfterEach
+    void tearDown() {
+        status.completed();
+    }
+
+    @Test
+    void testCheckIsUpWhenNoFormingIsScheduled() {
+        assertThat(check.call().getStatus()).isEqualTo(HealthCheckResponse.Status.UP);
+    }
+
+    @Test
+    void testCheckIsDownUntilFormingIsCompletedAndReportsRealms() {
+        status.scheduled(List.of("master", "tenant"));
+        status.started();
+        status.realmStarted("master");
+        status.realmFormed("master");
+
+        HealthCheckResponse response = check.call();
+
+        assertThat(response.getStatus()).isEqualTo(HealthCheckResponse.Status.DOWN);
+        assertThat(response.getData()).hasValueSatisfying(data -> assertThat(data)
+            .containsEntry("state", "FORMING")
+            .containsEntry("realm master", "FORMED")
+            .containsEntry("realm tenant", "PENDING"));
+
+        status.completed();
+
+        assertThat(check.call().getStatus()).isEqualTo(HealthCheckResponse.Status.UP);
+    }
+
+    @Test
+    void testCheckIsDownWhenFormingFailed() {
+        status.scheduled(List.of("tenant"));
+        status.started();
+        status.realmStarted("tenant");
+        status.failed(new IllegalStateException("broken"));
+
+        HealthCheckResponse response = check.call();
+
+        assertThat(response.getStatus()).isEqualTo(HealthCheckResponse.Status.DOWN);
+        assertThat(response.getData()).hasValueSatisfying(data -> assertThat(data)
+            .containsEntry("realm tenant", "FAILED")
+            .containsEntry("failure", "IllegalStateException: broken"));
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.integration;
+
+import org.junit.jupiter.api.Test;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.ComposeContainer;
+import org.testcontainers.containers.ContainerState;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testcontainers.shaded.org.awaitility.Awaitility.await;
+
+/**
+ * Restarts its own Keycloak to form the already formed instance again, so the restart cannot affect other integration
+ * tests.
+ *
+ * @author Majlanky
+ */
+@Testcontainers
+public class CacheInvalidationIntegrationTest {
+
+    private static final String KEYCLOAK = "keycloak";
+    private static final Pattern INVALIDATIONS_SUMMARY = Pattern.compile("Forming caused (\\d+) cache invalidation events");
+
+    @Container
+    private static final ComposeContainer environment = new ComposeContainer(
+        new File("src/test/resources/integration/docker-compose.yml"))
+        .withLocalCompose(true)
+        .withEnv("PROJECT_VERSION", "1.0.0-SNAPSHOT")
+        .withExposedService(KEYCLOAK, 8080,
+            Wait.forLogMessage(".*Running the server.*", 1).withStartupTimeout(Duration.ofMinutes(5)))
+        .withLogConsumer(KEYCLOAK, outputFrame -> System.out.println(KEYCLOAK + " service> " + outputFrame.getUtf8String()));
+
+    @Test
+    void testFormingOfUnchangedDefinitionCausesNoCacheInvalidation() {
+        ContainerState container = environment.getContainerByServiceName(KEYCLOAK).orElseThrow();
+
+        //restart forms the already formed instance again with the same definition
+        DockerClientFactory.instance().client().restartContainerCmd(container.getContainerId()).exec();
+
+        await().atMost(Duration.ofMinutes(5)).until(() -> invalidationSummaries(container.getLogs()).size() >= 2);
+
+        List<Long> summaries = invalidationSummaries(container.getLogs());
+        assertThat(summaries.get(summaries.size() - 1)).as("Cache invalidations of the repeated forming").isZero();
+    }
+
+    private static List<Long> invalidationSummaries(String logs) {
+        Matcher matcher = INVALIDATIONS_SUMMARY.matcher(logs);
+        return matcher.results().map(r -> Long.parseLong(r.group(1))).toList();
+    }
+
+}
@@ -16,8 +16,10 @@
 
 package com.groocraft.keycloakform.integration;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.groocraft.keycloakform.definition.RealmDefinition;
 import com.groocraft.keycloakform.definition.deserialization.Deserialization;
+import com.groocraft.keycloakform.health.FormingHealthCheck;
 
 import org.assertj.core.api.SoftAssertions;
 import org.junit.jupiter.api.Test;
@@ -25,6 +27,7 @@ import org.keycloak.representations.idm.ClientRepresentation;
 import org.keycloak.representations.idm.ClientScopeRepresentation;
 import org.keycloak.representations.idm.ComponentExportRepresentation;
 import org.keycloak.representations.idm.ProtocolMapperRepresentation;
+import org.keycloak.util.JsonSerialization;
 import org.testcontainers.containers.ComposeContainer;
 import org.testcontainers.containers.ContainerState;
 import org.testcontainers.containers.wait.strategy.Wait;
@@ -33,15 +36,21 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.Collection;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.testcontainers.shaded.org.awaitility.Awaitility.await;
 
 @Testcontainers
 public class FormingIntegrationTest {
 
     private static final String KEYCLOAK = "keycloak";
+    private static final int MANAGEMENT_PORT = 9000;
 
     @Container
     private static final ComposeContainer environment = new ComposeContainer(
@@ -50,6 +59,7 @@ public class FormingIntegrationTest {
         .withEnv("PROJECT_VERSION", "1.0.0-SNAPSHOT")
         .withExposedService(KEYCLOAK, 8080,
             Wait.forLogMessage(".*Running the server.*", 1).withStartupTimeout(Duration.ofMinutes(5)))
+        .withExposedService(KEYCLOAK, MANAGEMENT_PORT)
         .withLogConsumer(KEYCLOAK, outputFrame -> System.out.println(KEYCLOAK + " service> " + outputFrame.getUtf8String()));
 
     @Test
@@ -170,6 +180,22 @@ public class FormingIntegrationTest {
         softly.assertAll();
     }
 
+    @Test
+    void testReadinessReportsFormingCheck() throws IOException, InterruptedException {
+        //the check is discovered only when Quarkus takes the provider jar as a bean archive
+        URI ready = URI.create("http://" + environment.getServiceHost(KEYCLOAK, MANAGEMENT_PORT) + ":"
+                               + environment.getServicePort(KEYCLOAK, MANAGEMENT_PORT) + "/health/ready");
+        HttpResponse<String> response = HttpClient.newHttpClient()
+            .send(HttpRequest.newBuilder(ready).GET().build(), HttpResponse.BodyHandlers.ofString());
+
+        JsonNode checks = JsonSerialization.mapper.readTree(response.body()).get("checks");
+        assertThat(checks).as("Readiness checks " + response.body())
+            .anySatisfy(check -> {
+                assertThat(check.get("name").asText()).isEqualTo(FormingHealthCheck.NAME);
+                assertThat(check.get("status").asText()).isEqualTo("UP");
+            });
+    }
+
     @Test
     void testExportOfUpdatedIsMatchingDefinition() throws IOException, InterruptedException {
         //FIXME
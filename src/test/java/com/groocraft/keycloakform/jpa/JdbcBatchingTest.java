@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.jpa;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.connections.jpa.JpaConnectionProvider;
+import org.keycloak.models.KeycloakSession;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import jakarta.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcBatchingTest {
+
+    @Mock KeycloakSession keycloakSession;
+    @Mock JpaConnectionProvider connectionProvider;
+    @Mock EntityManager entityManager;
+    @Mock Session session;
+
+    @Test
+    void testBatchingIsEnabledAndSessionFlushedPeriodically() {
+        when(keycloakSession.getProvider(JpaConnectionProvider.class)).thenReturn(connectionProvider);
+        when(connectionProvider.getEntityManager()).thenReturn(entityManager);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+
+        JdbcBatching batching = JdbcBatching.enable(keycloakSession, 100, 2);
+        for (int i = 0; i < 5; i++) {
+            batching.itemFormed();
+        }
+
+        verify(session).setJdbcBatchSize(100);
+        verify(session).addEventListeners(batching);
+        verify(session, times(2)).flush();
+        assertThat(batching.getFlushes()).isEqualTo(2);
+    }
+
+    @Test
+    void testBatchingIsNotEnabledWithoutJpa() {
+        when(keycloakSession.getProvider(JpaConnectionProvider.class)).thenReturn(null);
+
+        assertThat(JdbcBatching.enable(keycloakSession, 100, 2)).isNull();
+    }
+
+    @Test
+    void testExecutedBatchesAndStatementsAreCounted() {
+        JdbcBatching batching = new JdbcBatching(session, 0);
+
+        batching.jdbcExecuteBatchStart();
+        batching.jdbcExecuteStatementStart();
+        batching.jdbcExecuteStatementStart();
+        batching.itemFormed();
+
+        assertThat(batching.getExecutedBatches()).isEqualTo(1);
+        assertThat(batching.getExecutedStatements()).isEqualTo(2);
+        assertThat(batching.getFlushes()).isZero();
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.keys;
+
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class KeyPairPoolTest {
+
+    @Test
+    void testKeyPairsAreGeneratedAheadOfTheirUse() throws InterruptedException {
+        KeyPair keyPair = mock(KeyPair.class);
+        //the taken one and one ahead for every worker
+        CountDownLatch generated = new CountDownLatch(3);
+        try (KeyPairPool pool = new KeyPairPool(2, size -> {
+            generated.countDown();
+            return keyPair;
+        })) {
+            assertThat(pool.take(2048)).isSameAs(keyPair);
+
+            assertThat(generated.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    void testKeyPairsOfDifferentSizesAreNotMixed() {
+        KeyPair small = mock(KeyPair.class);
+        KeyPair large = mock(KeyPair.class);
+        try (KeyPairPool pool = new KeyPairPool(1, size -> size == 2048 ? small : large)) {
+            assertThat(pool.take(2048)).isSameAs(small);
+            assertThat(pool.take(4096)).isSameAs(large);
+            assertThat(pool.take(2048)).isSameAs(small);
+        }
+    }
+
+    @Test
+    void testFailedGenerationIsReported() {
+        try (KeyPairPool pool = new KeyPairPool(1, size -> {
+            throw new IllegalArgumentException("unsupported");
+        })) {
+            assertThatThrownBy(() -> pool.take(1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
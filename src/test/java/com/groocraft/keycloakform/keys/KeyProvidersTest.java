@@ -0,0 +1,146 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.keys;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.common.util.CertificateUtils;
+import org.keycloak.common.util.MultivaluedHashMap;
+import org.keycloak.common.util.PemUtils;
+import org.keycloak.representations.idm.ComponentExportRepresentation;
+import org.keycloak.representations.idm.RealmRepresentation;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class KeyProvidersTest {
+
+    @Mock KeyPairPool pool;
+    @Mock KeyPair keyPair;
+    @Mock PrivateKey privateKey;
+    @Mock X509Certificate certificate;
+
+    MockedStatic<PemUtils> pemUtils;
+    MockedStatic<CertificateUtils> certificateUtils;
+
+    @BeforeEach
+    void setUp() {
+        pemUtils = mockStatic(PemUtils.class);
+        certificateUtils = mockStatic(CertificateUtils.class);
+        lenient().when(pool.take(anyInt())).thenReturn(keyPair);
+        lenient().when(keyPair.getPrivate()).thenReturn(privateKey);
+        pemUtils.when(() -> PemUtils.encodeKey(privateKey)).thenReturn("private");
+        pemUtils.when(() -> PemUtils.encodeCertificate(certificate)).thenReturn("certificate");
+        certificateUtils.when(() -> CertificateUtils.generateV1SelfSignedCertificate(any(KeyPair.class), anyString()))
+            .thenReturn(certificate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pemUtils.close();
+        certificateUtils.close();
+    }
+
+    @Test
+    void testKeysAreSuppliedToGeneratedRsaProviderOfConfiguredSize() {
+        MultivaluedHashMap<String, String> config = new MultivaluedHashMap<>();
+        config.putSingle("keySize", "4096");
+
+        boolean supplied = KeyProviders.supply(KeyProviders.PROVIDER_TYPE, "rsa-generated", config, "test", pool);
+
+        assertThat(supplied).isTrue();
+        assertThat(config.getFirst("privateKey")).isEqualTo("private");
+        assertThat(config.getFirst("certificate")).isEqualTo("certificate");
+        verify(pool).take(4096);
+        certificateUtils.verify(() -> CertificateUtils.generateV1SelfSignedCertificate(keyPair, "test"));
+    }
+
+    @Test
+    void testProvidersWithKeysAndOtherComponentsAreLeftAlone() {
+        MultivaluedHashMap<String, String> config = new MultivaluedHashMap<>();
+        config.putSingle("privateKey", "existing");
+        config.putSingle("certificate", "existing");
+
+        assertThat(KeyProviders.supply(KeyProviders.PROVIDER_TYPE, "rsa-generated", config, "test", pool)).isFalse();
+        assertThat(KeyProviders.supply(KeyProviders.PROVIDER_TYPE, "hmac-generated", new MultivaluedHashMap<>(), "test",
+            pool)).isFalse();
+        assertThat(KeyProviders.supply("org.keycloak.storage.UserStorageProvider", "rsa-generated",
+            new MultivaluedHashMap<>(), "test", pool)).isFalse();
+        assertThat(config.getFirst("privateKey")).isEqualTo("existing");
+        verify(pool, never()).take(anyInt());
+    }
+
+    @Test
+    void testDefaultProvidersAreAddedToImportedRealmWithoutProviders() {
+        RealmRepresentation representation = new RealmRepresentation();
+        representation.setRealm("test");
+
+        KeyProviders.supply(representation, pool);
+
+        List<ComponentExportRepresentation> providers = representation.getComponents().get(KeyProviders.PROVIDER_TYPE);
+        assertThat(providers).extracting(ComponentExportRepresentation::getProviderId)
+            .containsExactly("rsa-generated", "rsa-enc-generated", "hmac-generated", "aes-generated");
+        assertThat(providers.get(0).getConfig().getFirst("privateKey")).isEqualTo("private");
+        assertThat(providers.get(1).getConfig().getFirst("algorithm")).isEqualTo("RSA-OAEP");
+        assertThat(providers.get(2).getConfig().getFirst("privateKey")).isNull();
+        verify(pool, times(2)).take(2048);
+    }
+
+    @Test
+    void testDeclaredProvidersOfImportedRealmAreKept() {
+        ComponentExportRepresentation declared = new ComponentExportRepresentation();
+        declared.setProviderId("rsa-generated");
+        RealmRepresentation representation = new RealmRepresentation();
+        representation.setRealm("test");
+        representation.setComponents(new MultivaluedHashMap<>());
+        representation.getComponents().add(KeyProviders.PROVIDER_TYPE, declared);
+
+        KeyProviders.supply(representation, pool);
+
+        assertThat(representation.getComponents().get(KeyProviders.PROVIDER_TYPE)).containsExactly(declared);
+        assertThat(declared.getConfig().getFirst("privateKey")).isEqualTo("private");
+    }
+
+    @Test
+    void testRealmWithLegacyKeyIsLeftToKeycloak() {
+        RealmRepresentation representation = new RealmRepresentation();
+        representation.setPrivateKey("legacy");
+
+        KeyProviders.supply(representation, pool);
+
+        assertThat(representation.getComponents()).isNull();
+        verify(pool, never()).take(anyInt());
+    }
+}
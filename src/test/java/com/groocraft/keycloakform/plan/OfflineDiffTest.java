@@ -0,0 +1,155 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.plan;
+
+import com.groocraft.keycloakform.definition.ClientDefinition;
+import com.groocraft.keycloakform.definition.RealmDefinition;
+import com.groocraft.keycloakform.definition.deserialization.Deserialization;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.keycloak.representations.idm.ClientRepresentation;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OfflineDiffTest {
+
+    OfflineDiff offlineDiff = new OfflineDiff();
+    List<RealmDefinition> definitions;
+    List<RealmDefinition> exports;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        definitions = read();
+        exports = read();
+    }
+
+    @Test
+    void testMatchingExportHasNoChanges() {
+        ReconcilePlan plan = offlineDiff.diff(definitions, exports);
+
+        assertThat(plan.isEmpty()).as(plan.toString()).isTrue();
+    }
+
+    @Test
+    void testMissingResourcesAreCreatedWithTheirSubResources() {
+        ClientRepresentation accountConsole = client(exports, "account-console");
+        realm(exports, "test").getClients().remove(accountConsole);
+
+        ReconcilePlan plan = offlineDiff.diff(definitions, exports);
+
+        assertThat(plan.getChanges()).map(PlannedChange::toString)
+            .contains("+ realm test / client account-console",
+                "+ realm test / client account-console / protocol mapper audience resolve");
+        assertThat(plan.count(PlannedChange.Operation.UPDATE)).isZero();
+        assertThat(plan.count(PlannedChange.Operation.DELETE)).isZero();
+    }
+
+    @Test
+    void testUndeclaredResourcesAreDeletedOnlyInFullSyncMode() {
+        ClientRepresentation extra = new ClientRepresentation();
+        extra.setClientId("extra");
+        realm(exports, "test").getClients().add(extra);
+        ClientRepresentation masterExtra = new ClientRepresentation();
+        masterExtra.setClientId("extra");
+        realm(exports, "master").getClients().add(masterExtra);
+
+        ReconcilePlan plan = offlineDiff.diff(definitions, exports);
+
+        assertThat(plan.getChanges()).map(PlannedChange::toString).containsExactly("- realm test / client extra");
+    }
+
+    @Test
+    void testChangedAttributesAreReported() {
+        client(exports, "account-console").setRootUrl("https://old.example.com");
+        realm(exports, "test").setDisplayName("Old name");
+
+        ReconcilePlan plan = offlineDiff.diff(definitions, exports);
+
+        assertThat(plan.getChanges()).map(PlannedChange::toString)
+            .containsExactly("~ realm test [displayName]", "~ realm test / client account-console [rootUrl]");
+    }
+
+    @Test
+    void testIgnoredResourcesAreNotCompared() {
+        client(exports, "test").setRootUrl("https://old.example.com");
+
+        ReconcilePlan plan = offlineDiff.diff(definitions, exports);
+
+        assertThat(plan.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testUndeclaredRealmIsDeletedExceptAdminRealm() {
+        RealmDefinition other = new RealmDefinition();
+        other.setRealm("other");
+        exports.add(other);
+        definitions.removeIf(r -> r.getRealm().equals("master"));
+
+        ReconcilePlan plan = offlineDiff.diff(definitions, exports);
+
+        assertThat(plan.getChanges()).map(PlannedChange::toString).containsExactly("- realm other");
+    }
+
+    @Test
+    void testCompactDefinitionMatchingServerExportHasNoChanges() throws IOException {
+        ReconcilePlan plan = offlineDiff.diff(read("export/definition.json"), read("export/test.json"));
+
+        //defaults populated by the server, built-in clients, roles and flows are not reported
+        assertThat(plan.isEmpty()).as(plan.toString()).isTrue();
+    }
+
+    @Test
+    void testCompactDefinitionChangesAgainstServerExportAreReported() throws IOException {
+        List<RealmDefinition> compact = read("export/definition.json");
+        realm(compact, "test").setDisplayName("Test");
+        client(compact, "account-console").setBaseUrl("/realms/test/console/");
+        ClientDefinition app = new ClientDefinition();
+        app.setClientId("app");
+        realm(compact, "test").getClients().add(app);
+
+        ReconcilePlan plan = offlineDiff.diff(compact, read("export/test.json"));
+
+        assertThat(plan.getChanges()).map(PlannedChange::toString)
+            .containsExactly("~ realm test [displayName]",
+                "~ realm test / client account-console [baseUrl]",
+                "+ realm test / client app");
+    }
+
+    private RealmDefinition realm(List<RealmDefinition> realms, String name) {
+        return realms.stream().filter(r -> r.getRealm().equals(name)).findFirst().orElseThrow();
+    }
+
+    private ClientRepresentation client(List<RealmDefinition> realms, String clientId) {
+        return realm(realms, "test").getClients().stream().filter(c -> c.getClientId().equals(clientId)).findFirst().orElseThrow();
+    }
+
+    private List<RealmDefinition> read() throws IOException {
+        return read("realms.json");
+    }
+
+    /**
+     * export/test.json is the unmodified output of kc.sh export
+     */
+    private List<RealmDefinition> read(String resource) throws IOException {
+        return Deserialization.getRealmsFromStream(getClass().getClassLoader().getResource(resource).openStream());
+    }
+
+}
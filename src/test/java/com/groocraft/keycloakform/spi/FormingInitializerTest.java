@@ -16,19 +16,29 @@
 
 package com.groocraft.keycloakform.spi;
 
+import com.groocraft.keycloakform.checkpoint.FormingCheckpoint;
 import com.groocraft.keycloakform.config.FormerConfig;
+import com.groocraft.keycloakform.config.ResourceFilter;
 import com.groocraft.keycloakform.definition.RealmDefinition;
 import com.groocraft.keycloakform.definition.deserialization.Deserialization;
+import com.groocraft.keycloakform.dirty.DirtyTracker;
 import com.groocraft.keycloakform.exception.DefinitionFileDeserializationException;
 import com.groocraft.keycloakform.exception.DefinitionFileReadingException;
+import com.groocraft.keycloakform.former.FormerContext;
 import com.groocraft.keycloakform.former.SyncMode;
 import com.groocraft.keycloakform.former.collection.RealmsFormer;
+import com.groocraft.keycloakform.health.FormingStatus;
 import com.groocraft.keycloakform.utils.TestFormersFactory;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.keycloak.events.admin.AdminEvent;
+import org.keycloak.events.admin.ResourceType;
+import org.keycloak.models.ClientModel;
 import org.keycloak.models.KeycloakSessionTask;
+import org.keycloak.models.RealmModel;
 import org.keycloak.models.utils.KeycloakModelUtils;
 import org.keycloak.models.utils.PostMigrationEvent;
 import org.mockito.Answers;
@@ -38,12 +48,21 @@ import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -98,6 +117,198 @@ class FormingInitializerTest {
             .map(RealmDefinition::getRealm).contains("test");
     }
 
+    @Test
+    void testAsyncFormingIsReportedAsNotReadyUntilItIsDone() throws InterruptedException {
+        when(config.getSourceFile()).thenReturn(sourceFilePath);
+        when(config.isAsync()).thenReturn(true);
+        CountDownLatch formingStarted = new CountDownLatch(1);
+        CountDownLatch formingReleased = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            formingStarted.countDown();
+            formingReleased.await();
+            return null;
+        }).when(realmsFormer).form(any(), any(), eq(SyncMode.FULL));
+
+        FormingInitializer initializer = new FormingInitializer(config, formersFactory);
+        initializer.onEvent(event);
+
+        assertThat(formingStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(FormingStatus.getInstance().isReady()).isFalse();
+        assertThat(FormingStatus.getInstance().getRealms()).containsEntry("test", FormingStatus.State.PENDING);
+
+        formingReleased.countDown();
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> FormingStatus.getInstance().isReady());
+        assertThat(FormingStatus.getInstance().getRealms()).containsEntry("test", FormingStatus.State.FORMED);
+    }
+
+    @Test
+    void testAsyncPerRealmFormingNarrowsEveryTransactionToOneRealm() {
+        when(config.getSourceFile()).thenReturn(sourceFilePath);
+        when(config.isAsync()).thenReturn(true);
+        when(config.isAsyncPerRealm()).thenReturn(true);
+        List<ResourceFilter> filters = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> filters.add(invocation.<FormerContext>getArgument(1).getFilter()))
+            .when(realmsFormer).form(any(), any(), eq(SyncMode.FULL));
+
+        FormingInitializer initializer = new FormingInitializer(config, formersFactory);
+        initializer.onEvent(event);
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> filters.size() == 2);
+        await().atMost(Duration.ofSeconds(10)).until(() -> FormingStatus.getInstance().isReady());
+        //the realm transaction forms only the realm, the last one deletes undeclared realms only
+        assertThat(filters.get(0).skips(ResourceFilter.REALM, "test")).isFalse();
+        assertThat(filters.get(0).skips(ResourceFilter.REALM, "other")).isTrue();
+        assertThat(filters.get(1).skips(ResourceFilter.REALM, "test")).isTrue();
+        assertThat(filters.get(1).skips(ResourceFilter.REALM, "other")).isFalse();
+    }
+
+    @Test
+    void testAsyncPerRealmFormingSkipsRealmsOutOfFilter() {
+        when(config.getSourceFile()).thenReturn(sourceFilePath);
+        when(config.isAsync()).thenReturn(true);
+        when(config.isAsyncPerRealm()).thenReturn(true);
+        when(config.getFilter()).thenReturn(ResourceFilter.parse("realm=tenant-*", null));
+        List<ResourceFilter> filters = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> filters.add(invocation.<FormerContext>getArgument(1).getFilter()))
+            .when(realmsFormer).form(any(), any(), eq(SyncMode.FULL));
+
+        FormingInitializer initializer = new FormingInitializer(config, formersFactory);
+        initializer.onEvent(event);
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> FormingStatus.getInstance().isReady());
+        //only the deletion of undeclared realms in the scope of the filter is left
+        assertThat(filters).singleElement().satisfies(filter -> {
+            assertThat(filter.skips(ResourceFilter.REALM, "test")).isTrue();
+            assertThat(filter.skips(ResourceFilter.REALM, "tenant-a")).isFalse();
+        });
+        assertThat(FormingStatus.getInstance().getRealms()).doesNotContainKey("test");
+    }
+
+    @Test
+    void testFormingResumesFromCheckpointOfSameDefinition(@TempDir Path directory) {
+        Path checkpointFile = directory.resolve("checkpoint.json");
+        when(config.getSourceFile()).thenReturn(sourceFilePath);
+        when(config.getCheckpointFile()).thenReturn(checkpointFile.toString());
+        FormingCheckpoint.load(checkpointFile, Path.of(sourceFilePath), ResourceFilter.ALL.toString()).realmFormed("test");
+        List<ResourceFilter> filters = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> filters.add(invocation.<FormerContext>getArgument(1).getFilter()))
+            .when(realmsFormer).form(any(), any(), eq(SyncMode.FULL));
+
+        new FormingInitializer(config, formersFactory).onEvent(event);
+
+        //only the deletion of undeclared realms is left
+        assertThat(filters).singleElement().satisfies(filter -> {
+            assertThat(filter.skips(ResourceFilter.REALM, "test")).isTrue();
+            assertThat(filter.skips(ResourceFilter.REALM, "other")).isFalse();
+        });
+        assertThat(checkpointFile).doesNotExist();
+    }
+
+    @Test
+    void testFormingFromCheckpointSkipsRealmsOutOfFilter(@TempDir Path directory) {
+        Path checkpointFile = directory.resolve("checkpoint.json");
+        when(config.getSourceFile()).thenReturn(sourceFilePath);
+        when(config.getCheckpointFile()).thenReturn(checkpointFile.toString());
+        when(config.getFilter()).thenReturn(ResourceFilter.parse("realm=tenant-*", null));
+        List<ResourceFilter> filters = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> filters.add(invocation.<FormerContext>getArgument(1).getFilter()))
+            .when(realmsFormer).form(any(), any(), eq(SyncMode.FULL));
+
+        new FormingInitializer(config, formersFactory).onEvent(event);
+
+        assertThat(filters).singleElement()
+            .satisfies(filter -> assertThat(filter.skips(ResourceFilter.REALM, "test")).isTrue());
+    }
+
+    @Test
+    void testIncrementalReconcileFormsOnlyModifiedResources() {
+        when(config.getSourceFile()).thenReturn(sourceFilePath);
+        RealmModel realm = mock(RealmModel.class);
+        ClientModel client = mock(ClientModel.class);
+        when(realm.getName()).thenReturn("test");
+        when(realm.getClientById("client-uuid")).thenReturn(client);
+        when(client.getClientId()).thenReturn("app");
+        when(event.getFactory().create().realms().getRealm("realm-id")).thenReturn(realm);
+        List<ResourceFilter> filters = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> filters.add(invocation.<FormerContext>getArgument(1).getFilter()))
+            .when(realmsFormer).form(any(), any(), eq(SyncMode.FULL));
+        DirtyTracker.getInstance().drain();
+        AdminEvent adminEvent = new AdminEvent();
+        adminEvent.setRealmId("realm-id");
+        adminEvent.setResourceType(ResourceType.PROTOCOL_MAPPER);
+        adminEvent.setResourcePath("clients/client-uuid/protocol-mappers/models/mapper-uuid");
+        DirtyTracker.getInstance().record(adminEvent);
+
+        new FormingInitializer(config, formersFactory).formDirty(event.getFactory());
+
+        assertThat(filters).singleElement().satisfies(filter -> {
+            assertThat(filter.skips(ResourceFilter.REALM, "test")).isFalse();
+            assertThat(filter.skips(ResourceFilter.REALM, "other")).isTrue();
+            assertThat(filter.skips(ResourceFilter.TYPE, ResourceFilter.CLIENTS)).isFalse();
+            assertThat(filter.skips(ResourceFilter.TYPE, ResourceFilter.FLOWS)).isTrue();
+            assertThat(filter.skips(ResourceFilter.CLIENT, "app")).isFalse();
+            assertThat(filter.skips(ResourceFilter.CLIENT, "other")).isTrue();
+        });
+        assertThat(DirtyTracker.getInstance().isEmpty()).isTrue();
+    }
+
+    @Test
+    void testIncrementalReconcileContinuesAfterFailedRealm() {
+        when(config.getSourceFile()).thenReturn(sourceFilePath);
+        RealmModel failing = mock(RealmModel.class);
+        RealmModel other = mock(RealmModel.class);
+        when(failing.getName()).thenReturn("failing");
+        when(other.getName()).thenReturn("other");
+        when(event.getFactory().create().realms().getRealm("failing-id")).thenReturn(failing);
+        when(event.getFactory().create().realms().getRealm("other-id")).thenReturn(other);
+        List<ResourceFilter> formed = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            ResourceFilter filter = invocation.<FormerContext>getArgument(1).getFilter();
+            if (!filter.skips(ResourceFilter.REALM, "failing")) {
+                throw new IllegalStateException("broken realm");
+            }
+            return formed.add(filter);
+        }).when(realmsFormer).form(any(), any(), eq(SyncMode.FULL));
+        DirtyTracker.getInstance().drain();
+        DirtyTracker.getInstance().record(adminEvent("failing-id"));
+        DirtyTracker.getInstance().record(adminEvent("other-id"));
+        FormingInitializer initializer = new FormingInitializer(config, formersFactory);
+
+        assertThatExceptionOfType(IllegalStateException.class)
+            .isThrownBy(() -> initializer.formDirty(event.getFactory()))
+            .withMessageContaining("failing-id");
+
+        assertThat(formed).singleElement()
+            .satisfies(filter -> assertThat(filter.skips(ResourceFilter.REALM, "other")).isFalse());
+        assertThat(DirtyTracker.getInstance().drain()).containsOnlyKeys("failing-id");
+    }
+
+    @Test
+    void testIncrementalReconcileKeepsTraceOfStartupForming(@TempDir Path directory) throws IOException {
+        Path traceFile = directory.resolve("trace.json");
+        when(config.getSourceFile()).thenReturn(sourceFilePath);
+        when(config.isTracing()).thenReturn(true);
+        when(config.getTracingFile()).thenReturn(traceFile.toString());
+        RealmModel realm = mock(RealmModel.class);
+        when(realm.getName()).thenReturn("test");
+        when(event.getFactory().create().realms().getRealm("realm-id")).thenReturn(realm);
+        doAnswer(invocation -> {
+            invocation.<FormerContext>getArgument(1).getTracer().startSpan("Realm test").end();
+            return null;
+        }).when(realmsFormer).form(any(), any(), eq(SyncMode.FULL));
+        DirtyTracker.getInstance().drain();
+        FormingInitializer initializer = new FormingInitializer(config, formersFactory);
+
+        initializer.onEvent(event);
+        DirtyTracker.getInstance().record(adminEvent("realm-id"));
+        initializer.formDirty(event.getFactory());
+
+        //the startup forming and the reconcile are written as separate lines
+        assertThat(Files.readAllLines(traceFile)).hasSize(2)
+            .allSatisfy(line -> assertThat(line).contains("\"Realm test\""));
+    }
+
     @Test
     void testOnEventIsThrowingWhenUnmappableDefinition() {
         when(config.getSourceFile()).thenReturn(sourceFilePath);
@@ -110,4 +321,12 @@ class FormingInitializerTest {
 
     }
 
-}
\ No newline at end of file
+    private static AdminEvent adminEvent(String realmId) {
+        AdminEvent adminEvent = new AdminEvent();
+        adminEvent.setRealmId(realmId);
+        adminEvent.setResourceType(ResourceType.GROUP);
+        adminEvent.setResourcePath("groups/group-uuid");
+        return adminEvent;
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.keycloak.util.JsonSerialization;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OtlpJsonFileTracerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testSpansAreNestedInOrderOfStarting() throws IOException {
+        File file = directory.resolve("trace.json").toFile();
+        OtlpJsonFileTracer tracer = new OtlpJsonFileTracer(file);
+
+        FormingSpan realm = tracer.startSpan("Realm test");
+        FormingSpan clients = tracer.startSpan("ClientsFormer");
+        tracer.startSpan("Client a").end();
+        tracer.startSpan("Client b").end();
+        clients.end();
+        realm.end();
+        tracer.close();
+
+        List<JsonNode> spans = readSpans(file);
+        assertThat(spans).map(s -> s.get("name").asText())
+            .containsExactly("Client a", "Client b", "ClientsFormer", "Realm test");
+        assertThat(spans.get(0).get("parentSpanId")).isEqualTo(spans.get(2).get("spanId"));
+        assertThat(spans.get(1).get("parentSpanId")).isEqualTo(spans.get(2).get("spanId"));
+        assertThat(spans.get(2).get("parentSpanId")).isEqualTo(spans.get(3).get("spanId"));
+        assertThat(spans.get(3).has("parentSpanId")).isFalse();
+        assertThat(spans).allSatisfy(s -> assertThat(s.get("attributes"))
+            .anySatisfy(a -> assertThat(a.get("key").asText()).isEqualTo(FormingSpan.DURATION)));
+    }
+
+    @Test
+    void testFullBatchIsWrittenBeforeClose() throws IOException {
+        File file = directory.resolve("trace.json").toFile();
+        OtlpJsonFileTracer tracer = new OtlpJsonFileTracer(file);
+
+        FormingSpan realm = tracer.startSpan("Realm test");
+        for (int i = 0; i < OtlpJsonFileTracer.BATCH_SIZE; i++) {
+            tracer.startSpan("Client " + i).end();
+        }
+
+        assertThat(readSpans(file)).hasSize(OtlpJsonFileTracer.BATCH_SIZE);
+
+        realm.end();
+        tracer.close();
+
+        assertThat(Files.readAllLines(file.toPath())).hasSize(2);
+        assertThat(readSpans(file)).hasSize(OtlpJsonFileTracer.BATCH_SIZE + 1);
+    }
+
+    @Test
+    void testSpansAreWrittenInOtlpJsonFormat() throws IOException {
+        File file = directory.resolve("trace.json").toFile();
+        OtlpJsonFileTracer tracer = new OtlpJsonFileTracer(file);
+
+        FormingSpan realm = tracer.startSpan("Realm test")
+            .setAttribute(FormingSpan.RESOURCE_TYPE, "RealmDefinition")
+            .setAttribute(FormingSpan.OPERATION, "update");
+        tracer.startSpan("Client a").end();
+        realm.end();
+        tracer.close();
+
+        JsonNode spans = JsonSerialization.mapper.readTree(Files.readAllLines(file.toPath()).get(0))
+            .at("/resourceSpans/0/scopeSpans/0/spans");
+        assertThat(spans).hasSize(2);
+        JsonNode client = spans.get(0);
+        JsonNode realmSpan = spans.get(1);
+        assertThat(client.get("traceId").asText()).hasSize(32).isEqualTo(realmSpan.get("traceId").asText());
+        assertThat(client.get("parentSpanId").asText()).isEqualTo(realmSpan.get("spanId").asText());
+        assertThat(realmSpan.has("parentSpanId")).isFalse();
+        assertThat(Long.parseLong(realmSpan.get("endTimeUnixNano").asText()))
+            .isGreaterThanOrEqualTo(Long.parseLong(realmSpan.get("startTimeUnixNano").asText()));
+        assertThat(realmSpan.get("attributes")).anySatisfy(a -> {
+            assertThat(a.get("key").asText()).isEqualTo(FormingSpan.OPERATION);
+            assertThat(a.at("/value/stringValue").asText()).isEqualTo("update");
+        });
+    }
+
+    private static List<JsonNode> readSpans(File file) throws IOException {
+        List<JsonNode> spans = new ArrayList<>();
+        for (String line : Files.readAllLines(file.toPath())) {
+            JsonSerialization.mapper.readTree(line).at("/resourceSpans/0/scopeSpans/0/spans").forEach(spans::add);
+        }
+        return spans;
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.updater;
+
+import com.groocraft.keycloakform.former.ChangeJournal;
+
+import org.junit.jupiter.api.Test;
+import org.keycloak.models.RoleModel;
+import org.mockito.Mockito;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MapReconcilerTest {
+
+    @Test
+    void testDeltaContainsAddedChangedAndRemovedKeys() {
+        MapReconciler.Delta delta = MapReconciler.diff(Map.of("same", "1", "changed", "1", "removed", "1"),
+            Map.of("same", "1", "changed", "2", "added", "1"));
+
+        assertThat(delta.getAdded()).containsExactly("added");
+        assertThat(delta.getChanged()).containsExactly("changed");
+        assertThat(delta.getRemoved()).containsExactly("removed");
+    }
+
+    @Test
+    void testOnlyDifferentKeysAreWritten() {
+        Map<String, String> config = new HashMap<>(Map.of("same", "1", "changed", "1", "removed", "1"));
+        ChangeJournal journal = new ChangeJournal();
+
+        boolean modified = MapReconciler.reconcile("config", config, Map.of("same", "1", "changed", "2", "added", "1"), journal);
+
+        assertThat(modified).isTrue();
+        assertThat(config).containsExactlyInAnyOrderEntriesOf(Map.of("same", "1", "changed", "2", "added", "1"));
+        assertThat(journal.getChanges()).extracting(ChangeJournal.Change::getAttribute)
+            .containsExactlyInAnyOrder("config.changed", "config.removed", "config.added");
+    }
+
+    @Test
+    void testUnchangedAttributesAreNotWritten() {
+        RoleModel role = mock(RoleModel.class);
+        when(role.getAttributes()).thenReturn(Map.of("a", List.of("1", "2")));
+        ChangeJournal journal = new ChangeJournal();
+
+        boolean modified = MapReconciler.reconcile("attributes", role.getAttributes(), Map.of("a", List.of("1", "2")),
+            role::setAttribute, role::removeAttribute, journal);
+
+        assertThat(modified).isFalse();
+        assertThat(journal.isEmpty()).isTrue();
+        verify(role, Mockito.never()).setAttribute(anyString(), any());
+        verify(role, Mockito.never()).removeAttribute(any());
+    }
+
+}
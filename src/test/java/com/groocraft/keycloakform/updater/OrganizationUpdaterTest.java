@@ -0,0 +1,188 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.groocraft.keycloakform.updater;
+
+import com.groocraft.keycloakform.definition.OrganizationDefinition;
+import com.groocraft.keycloakform.former.FormerContext;
+import com.groocraft.keycloakform.former.SyncMode;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.models.IdentityProviderModel;
+import org.keycloak.models.IdentityProviderStorageProvider;
+import org.keycloak.models.KeycloakSession;
+import org.keycloak.models.ModelException;
+import org.keycloak.models.OrganizationDomainModel;
+import org.keycloak.models.OrganizationModel;
+import org.keycloak.models.RealmModel;
+import org.keycloak.models.UserModel;
+import org.keycloak.models.UserProvider;
+import org.keycloak.organization.OrganizationProvider;
+import org.keycloak.representations.idm.IdentityProviderRepresentation;
+import org.keycloak.representations.idm.MemberRepresentation;
+import org.keycloak.representations.idm.MembershipType;
+import org.keycloak.representations.idm.OrganizationDomainRepresentation;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrganizationUpdaterTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS) KeycloakSession session;
+    @Mock OrganizationProvider provider;
+    @Mock UserProvider users;
+    @Mock RealmModel realm;
+    @Mock OrganizationModel organization;
+
+    FormerContext context;
+    OrganizationUpdater updater = new OrganizationUpdater();
+
+    @BeforeEach
+    void setUp() {
+        context = new FormerContext(session);
+        lenient().when(session.getContext().getRealm()).thenReturn(realm);
+        lenient().doReturn(provider).when(session).getProvider(OrganizationProvider.class);
+        lenient().when(session.users()).thenReturn(users);
+        lenient().when(organization.getDomains()).thenAnswer(i -> Stream.empty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDomainsAreReplacedOnlyWhenDifferent() {
+        when(organization.getDomains()).thenAnswer(i -> Stream.of(new OrganizationDomainModel("acme.com", true)));
+        OrganizationDefinition definition = definition();
+        definition.addDomain(domain("acme.com", true));
+
+        updater.update(organization, definition, context);
+
+        verify(organization, never()).setDomains(any());
+
+        OrganizationDefinition changed = definition();
+        changed.addDomain(domain("acme.com", false));
+        changed.addDomain(domain("acme.io", true));
+
+        updater.update(organization, changed, context);
+
+        ArgumentCaptor<Set<OrganizationDomainModel>> domains = ArgumentCaptor.forClass(Set.class);
+        verify(organization).setDomains(domains.capture());
+        assertThat(domains.getValue()).extracting(OrganizationDomainModel::getName, OrganizationDomainModel::isVerified)
+            .containsExactlyInAnyOrder(tuple("acme.com", false),
+                tuple("acme.io", true));
+    }
+
+    @Test
+    void testMembersAreLinkedAsDifferenceAndManagedMembersAreKept() {
+        UserModel kept = user("kept");
+        UserModel undeclared = user("undeclared");
+        UserModel managed = user("managed");
+        UserModel added = user("added");
+        when(provider.getMembersStream(any(OrganizationModel.class), any(), any(), anyInt(), anyInt()))
+            .thenAnswer(i -> Stream.of(kept, undeclared, managed));
+        when(provider.isManagedMember(organization, undeclared)).thenReturn(false);
+        when(provider.isManagedMember(organization, managed)).thenReturn(true);
+        when(users.getUserByUsername(realm, "added")).thenReturn(added);
+        OrganizationDefinition definition = definition();
+        definition.setMembers(List.of(member("kept", MembershipType.UNMANAGED),
+            member("added", MembershipType.UNMANAGED)));
+
+        updater.update(organization, definition, context);
+
+        verify(provider).addMember(organization, added);
+        verify(provider).removeMember(organization, undeclared);
+        verify(provider, never()).removeMember(organization, managed);
+        verify(provider, never()).addMember(organization, kept);
+        assertThat(context.getChangeJournal().getChanges()).hasSize(1);
+    }
+
+    @Test
+    void testUndeclaredMembersAreKeptInMergeMode() {
+        UserModel undeclared = user("undeclared");
+        UserModel added = user("added");
+        when(provider.getMembersStream(any(OrganizationModel.class), any(), any(), anyInt(), anyInt()))
+            .thenAnswer(i -> Stream.of(undeclared));
+        when(users.getUserByUsername(realm, "added")).thenReturn(added);
+        OrganizationDefinition definition = definition();
+        definition.setSyncMode(SyncMode.MERGE);
+        definition.setMembers(List.of(member("added", MembershipType.MANAGED)));
+
+        updater.update(organization, definition, context);
+
+        verify(provider).addManagedMember(organization, added);
+        verify(provider, never()).removeMember(any(), any());
+    }
+
+    @Test
+    void testMissingIdentityProviderIsRejected() {
+        IdentityProviderStorageProvider storage = mock(IdentityProviderStorageProvider.class);
+        when(session.identityProviders()).thenReturn(storage);
+        when(storage.getAllStream(any(), anyInt(), anyInt())).thenAnswer(i -> Stream.empty());
+        when(organization.getIdentityProviders()).thenAnswer(i -> Stream.<IdentityProviderModel>empty());
+        OrganizationDefinition definition = definition();
+        IdentityProviderRepresentation identityProvider = new IdentityProviderRepresentation();
+        identityProvider.setAlias("missing");
+        definition.setIdentityProviders(List.of(identityProvider));
+
+        assertThatThrownBy(() -> updater.update(organization, definition, context))
+            .isInstanceOf(ModelException.class)
+            .hasMessageContaining("missing");
+    }
+
+    private static OrganizationDefinition definition() {
+        OrganizationDefinition definition = new OrganizationDefinition();
+        definition.setAlias("acme");
+        return definition;
+    }
+
+    private static OrganizationDomainRepresentation domain(String name, boolean verified) {
+        OrganizationDomainRepresentation domain = new OrganizationDomainRepresentation(name);
+        domain.setVerified(verified);
+        return domain;
+    }
+
+    private static MemberRepresentation member(String username, MembershipType type) {
+        MemberRepresentation member = new MemberRepresentation();
+        member.setUsername(username);
+        member.setMembershipType(type);
+        return member;
+    }
+
+    private static UserModel user(String username) {
+        UserModel user = mock(UserModel.class);
+        lenient().when(user.getUsername()).thenReturn(username);
+        return user;
+    }
+
+}